@@ -0,0 +1,35 @@
+package sim.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The entry-point for the benchmarks. Accepts the usual JMH command-line
+ * options, and always attaches the GC profiler so that every benchmark also
+ * reports its allocation rate.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class Benchmarks {
+    /**
+     * Private constructor that disallows any instances of the entry-point.
+     */
+    private Benchmarks(){}
+
+    /**
+     * Runs the benchmarks selected by the provided JMH options.
+     * @param args the JMH command-line options.
+     * @throws CommandLineOptionException if the options could not be parsed.
+     * @throws RunnerException if the benchmarks could not be run.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package sim.bench;
+
+import org.openjdk.jmh.annotations.*;
+import sim.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the pull-chance queries made before every opened pack. The
+ * collections are part-way complete, as they are for most of a simulation.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CollectionBenchmark {
+    private static final int PACKS_OPENED_PER_SET = 60;
+
+    private SplittableRandom rand;
+    private SetCollection setCollection;
+    private Pack pack;
+    private PackBuffer buffer;
+    private CardCollection cardCollection;
+    private ArrayList<SetName> oneSet;
+    private ArrayList<SetName> allSets;
+    private Pack[] packChoices;
+
+    @Setup
+    public void setup(){
+        final SplittableRandom RAND = new SplittableRandom(1);
+        rand = new SplittableRandom(2);
+        buffer = new PackBuffer();
+
+        setCollection = new SetCollection(CardSets.GENETIC_APEX);
+        pack = CardSets.GENETIC_APEX.getPack(PackName.CHARIZARD);
+        for(int i = 0; i < PACKS_OPENED_PER_SET; i++){
+            setCollection.add(pack.open(RAND));
+        }
+
+        cardCollection = new CardCollection();
+        for(SetName setName : SetName.values()){
+            final ArrayList<Pack> PACKS = CardSets.get(setName).packs();
+            for(int i = 0; i < PACKS_OPENED_PER_SET; i++){
+                cardCollection.add(PACKS.get(i % PACKS.size()).open(RAND));
+            }
+        }
+
+        oneSet = new ArrayList<>(Arrays.asList(SetName.GENETIC_APEX));
+        allSets = new ArrayList<>(Arrays.asList(SetName.values()));
+        packChoices = new Pack[PackName.values().length];
+    }
+
+    @Benchmark
+    public double chanceOfPullingNewStandardCard(){
+        return setCollection.chanceOfPullingNewStandardCard(pack);
+    }
+
+    @Benchmark
+    public SetCollection openPackIntoCollection(){
+        pack.open(rand, buffer);
+        setCollection.add(buffer);
+        return setCollection;
+    }
+
+    @Benchmark
+    public ArrayList<Pack> packsHighestChanceOneSet(){
+        return cardCollection.packsHighestChanceOfPullingNewStandardCard(oneSet);
+    }
+
+    @Benchmark
+    public ArrayList<Pack> packsHighestChanceAllSets(){
+        return cardCollection.packsHighestChanceOfPullingNewStandardCard(allSets);
+    }
+
+    @Benchmark
+    public int packsHighestChanceAllSetsIntoArray(){
+        return cardCollection.packsHighestChanceOfPullingNewStandardCard(allSets, packChoices);
+    }
+}
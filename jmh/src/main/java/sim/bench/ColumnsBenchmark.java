@@ -0,0 +1,77 @@
+package sim.bench;
+
+import org.openjdk.jmh.annotations.*;
+import sim.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for sorting the raw results of many runs by every milestone,
+ * kept either as one {@code SimulationPacket} per run or as columns. The
+ * results are synthetic, drawn around the attempts of a single set.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+@State(Scope.Thread)
+public class ColumnsBenchmark {
+    @Param({"1000000"})
+    public int runs;
+
+    private SimulationPacket[] packets;
+    private SimulationPacket[] packetsToSort;
+    private RunColumns heapColumns;
+    private RunColumns offHeapColumns;
+
+    @Setup(Level.Trial)
+    public void setupPackets(){
+        final SplittableRandom RAND = new SplittableRandom(1);
+        packets = new SimulationPacket[runs];
+        for(int i = 0; i < runs; i++){
+            final int[] ATTEMPTS = new int[Milestone.values().length];
+            for(int m = 0; m < ATTEMPTS.length; m++){
+                ATTEMPTS[m] = 1 + (m + 1) * 10 + RAND.nextInt((m + 1) * 20);
+            }
+            packets[i] = new SimulationPacket(ATTEMPTS[0], ATTEMPTS[1], ATTEMPTS[2], ATTEMPTS[3], ATTEMPTS[4], ATTEMPTS[5],
+                    ATTEMPTS[6], ATTEMPTS[7], ATTEMPTS[8], ATTEMPTS[9], ATTEMPTS[10], ATTEMPTS[11], ATTEMPTS[12], ATTEMPTS[13]);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setupUnsorted(){
+        packetsToSort = packets.clone();
+        heapColumns = new RunColumns(runs, false);
+        offHeapColumns = new RunColumns(runs, true);
+        for(int i = 0; i < runs; i++){
+            heapColumns.set(i, packets[i]);
+            offHeapColumns.set(i, packets[i]);
+        }
+    }
+
+    @Benchmark
+    public SimulationPacket sortPacketsByEveryMilestone(){
+        for(Milestone milestone : Milestone.values()){
+            Arrays.parallelSort(packetsToSort, Comparator.comparingInt(milestone::of));
+        }
+        return packetsToSort[0];
+    }
+
+    @Benchmark
+    public RunColumns sortHeapColumns(){
+        heapColumns.sort();
+        return heapColumns;
+    }
+
+    @Benchmark
+    public RunColumns sortOffHeapColumns(){
+        offHeapColumns.sort();
+        return offHeapColumns;
+    }
+}
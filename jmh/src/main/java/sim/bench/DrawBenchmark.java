@@ -0,0 +1,73 @@
+package sim.bench;
+
+import org.openjdk.jmh.annotations.*;
+import sim.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for drawing rarities, building draw rates, opening packs, and
+ * building wonder picks.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DrawBenchmark {
+    private SplittableRandom rand;
+    private DrawRarityRates drawFour;
+    private DrawRarityRates drawFive;
+    private Pack pack;
+    private PackBuffer buffer;
+    private Fraction[] fifthRates;
+
+    @Setup
+    public void setup(){
+        rand = new SplittableRandom(1);
+        pack = CardSets.GENETIC_APEX.getPack(PackName.CHARIZARD);
+        buffer = new PackBuffer();
+        drawFour = pack.PACK_RARITY_RATES.DRAW_FOUR;
+        drawFive = pack.PACK_RARITY_RATES.DRAW_FIVE;
+        fifthRates = new Fraction[Rarity.values().length];
+        for(Rarity rarity : Rarity.values()){
+            fifthRates[rarity.ordinal()] = drawFive.ofRarity(rarity);
+        }
+    }
+
+    @Benchmark
+    public Rarity drawFourthSlot(){
+        return drawFour.draw(rand);
+    }
+
+    @Benchmark
+    public Rarity drawFifthSlot(){
+        return drawFive.draw(rand);
+    }
+
+    @Benchmark
+    public DrawRarityRates buildFifthSlotRates(){
+        return new DrawRarityRates(fifthRates[0], fifthRates[1], fifthRates[2], fifthRates[3], fifthRates[4],
+                fifthRates[5], fifthRates[6], fifthRates[7], fifthRates[8], fifthRates[9]);
+    }
+
+    @Benchmark
+    public OpenedPack openPack(){
+        return pack.open(rand);
+    }
+
+    @Benchmark
+    public PackBuffer openPackIntoBuffer(){
+        pack.open(rand, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public WonderPick buildWonderPick(){
+        return pack.wonderPicks().generate(rand);
+    }
+}
@@ -0,0 +1,47 @@
+package sim.bench;
+
+import org.openjdk.jmh.annotations.*;
+import sim.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for a single profile being simulated until every standard card
+ * of the set has been obtained.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class RunBenchmark {
+    @Param({"GENETIC_APEX"})
+    public SetName setName;
+
+    @Param({"true"})
+    public boolean usePackPoints;
+
+    @Param({"true"})
+    public boolean useWonderPicks;
+
+    private Simulation simulation;
+    private RandomStreams streams;
+    private long run;
+
+    @Setup
+    public void setup(){
+        simulation = new Simulation(new ArrayList<>(Arrays.asList(setName)), usePackPoints, useWonderPicks);
+        streams = new RandomStreams(1);
+        run = 0;
+    }
+
+    @Benchmark
+    public SimulationPacket runToCompletion(){
+        return simulation.run(streams.forRun(run++));
+    }
+}
@@ -1,5 +1,8 @@
 import sim.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -8,12 +11,100 @@ import java.util.*;
  * @since 0.1.0
  */
 public class Main {
+    private static final String USAGE = """
+            Usage: java -jar ptcgp-simulator.jar [options]
+            Without options, the simulator asks for each setting interactively.
+
+            Options:
+              --sets <n,n,...>       the numbers of the sets to simulate (required)
+              --runs <n>             the number of simulations to run (required unless exact or sequential)
+              --pack-points <y|n>    whether or not to use pack points (default: n)
+              --wonder-picks <y|n>   whether or not to use Wonder Picks (default: n)
+              --seed <n>             the master seed (default: random)
+              --threads <n>          the number of threads, 0 for all processors (default: 0)
+              --exact <y|n>          whether or not to solve exactly instead of simulating (default: n)
+              --variance <v>         the variance reduction: none, common, antithetic or stratified (default: none)
+              --tolerance <t>        runs until every percentile is within t attempts, or t% (default: none)
+              --strategy <s>         the strategy making every choice: greedy or random (default: greedy)
+              --format <f>           the output format: text, csv or json (default: text)
+              --output <file>        also writes the result of every run to the provided run file
+              --read <file>          reports the runs of the provided run file instead of simulating
+              --job <file>           runs every scenario of the provided job file
+              --sweep <y|n>          runs every subset of --sets, with and without pack points and Wonder Picks (default: n)
+              --compare-variance <y|n>
+                                     compares every variance reduction on each scenario (default: n)
+              --compare-strategies <s,s,...>
+                                     compares the strategies on each scenario in a single pass
+              --sensitivity <y|n>    reports the gradient of each percentile with respect to each rarity rate (default: n)
+              --help                 prints this message
+
+            Each non-blank line of a job file not starting with '#' is a scenario,
+            written with the same options. Options given on the command line are
+            used as defaults for every scenario, except --format, --job, --read,
+            --sweep, --compare-variance, --compare-strategies and --sensitivity.
+
+            Exact solutions need a single set with a single pack, without pack
+            points or Wonder Picks; they ignore --runs, --seed, --threads,
+            --variance and --tolerance.
+
+            A tolerance runs simulations in rounds until the 95% confidence
+            interval of the 5th, 50th and 95th percentiles of every milestone is
+            within the tolerance of its estimate. --runs is then the maximum
+            (default: 1000000), and the runs used and the precision are reported.
+
+            Every variance reduction other than none opens packs from streams of
+            their own, shared between variants of a scenario with the same seed.
+            A comparison reports the 95th percentile of the DDDD rarities and of
+            every standard rarity, with 95% confidence intervals, in text only.
+            Antithetic and stratified draws are experimental.
+
+            A strategy comparison runs every strategy on the same runs, opening
+            packs from shared streams, and reports the mean attempts of each
+            against the first with 95% confidence intervals, in text only.
+
+            A run file keeps the attempts of every milestone of every run, with
+            the scenario that produced them, so it can be reported again without
+            simulating. It requires a fixed number of runs, and each scenario of a
+            job file needs a file of its own. --read takes only --format.
+
+            A sweep runs every non-empty subset of --sets (default: every set),
+            each without and with pack points and Wonder Picks, sharing one pool
+            of --threads. It reports one table as text, or a row per milestone of
+            every scenario as csv or json. It cannot be combined with a job file,
+            run files, comparisons, sensitivity analyses, --pack-points,
+            --wonder-picks, --exact or --tolerance.
+
+            A sensitivity analysis scales every rarity rate of the packs of a
+            scenario by 0.9 and 1.1, renormalising its draw, and runs each variant
+            on the same stratified streams. It reports the gradient of the 50th
+            and 95th percentiles in attempts per percentage point of each rate,
+            in text only.
+            """;
+
+    private static final int MAX_SEQUENTIAL_RUNS = 1_000_000;
+    private static final List<String> COMMAND_LINE_OPTIONS = List.of("--format", "--job", "--read", "--sweep", "--compare-variance", "--compare-strategies", "--sensitivity");
+    private static final List<String> SCENARIO_OPTIONS = List.of("--sets", "--runs", "--pack-points", "--wonder-picks", "--seed", "--threads", "--exact", "--variance", "--tolerance", "--strategy", "--output");
+
     /**
      * The main method to be used by the program. Allows for minor control by
-     * the user for the execution of the simulations.
+     * the user for the execution of the simulations. When arguments are
+     * provided, the simulations are run without any prompts.
      * @param args the args used to start the program.
      */
     public static void main(String[] args) {
+        if(args.length > 0){
+            try {
+                runHeadless(args);
+            } catch (IllegalArgumentException e) {
+                System.err.println("ERROR: " + e.getMessage() + "\n\n" + USAGE);
+                System.exit(2);
+            } catch (IOException e) {
+                System.err.println("ERROR: could not read or write a file: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+
         Scanner sc = new Scanner(System.in);
 
         String setNamesPrompt = "Which sets would you like to simulate? (Enter each expansion number separated by spaces.):";
@@ -26,6 +117,8 @@ public class Main {
         String simCountPrompt = "How many simulations would you like to perform?\nEnter: ";
         String simPackPointsPrompt = "Use pack points?\nEnter: ";
         String simWonderPicksPrompt = "Use Wonder Picks?\nEnter: ";
+        String simSeedPrompt = "Which seed would you like to use? (Leave blank for a random seed.)\nEnter: ";
+        String simThreadsPrompt = "How many threads would you like to use? (Enter 0 to use all " + Runtime.getRuntime().availableProcessors() + " available processors.)\nEnter: ";
 
         System.out.print(setNamesPrompt);
         SimInputPacket simInputPacket = parseSetNums(sc.nextLine().split(" "));
@@ -66,7 +159,333 @@ public class Main {
             hasWonderPicksError = !useWonderPicks && !(wonderPicksInput.equals("n") || wonderPicksInput.equals("no"));
         }
 
-        simSet(simInputPacket.setNames, totalSims, usePackPoints, useWonderPicks);
+        System.out.print("\n" + simThreadsPrompt);
+        int threads = sc.nextInt();
+        sc.nextLine();
+        while(threads < 0){
+            System.out.print("\nInvalid number provided. Enter a non-negative value.\n" + simThreadsPrompt);
+            threads = sc.nextInt();
+            sc.nextLine();
+        }
+
+        System.out.print("\n" + simSeedPrompt);
+        String seedInput = sc.nextLine().trim();
+        RandomStreams streams = null;
+        while(streams == null){
+            try {
+                streams = seedInput.isEmpty() ? RandomStreams.unseeded() : new RandomStreams(Long.parseLong(seedInput));
+            } catch (NumberFormatException e) {
+                System.out.print("\nInvalid seed provided. Enter an integer, or leave blank.\n" + simSeedPrompt);
+                seedInput = sc.nextLine().trim();
+            }
+        }
+
+        simSet(simInputPacket.setNames, totalSims, usePackPoints, useWonderPicks, threads, streams);
+    }
+
+    /**
+     * Runs the scenario, or every scenario of the job file, described by the
+     * provided arguments, and prints the reports in the requested format.
+     * @param args the args used to start the program.
+     * @throws IOException if the job file or a run file cannot be read or
+     * written.
+     */
+    private static void runHeadless(String[] args) throws IOException {
+        final HashMap<String, String> options = parseOptions(args, true);
+        if(options.containsKey("--help")){
+            System.out.print(USAGE);
+            return;
+        }
+
+        final ReportFormat format = ReportFormat.get(options.getOrDefault("--format", "text"));
+        if(format == null){
+            throw new IllegalArgumentException("Invalid format: " + options.get("--format"));
+        }
+        if(options.containsKey("--read")){
+            if(options.size() > (options.containsKey("--format") ? 2 : 1)){
+                throw new IllegalArgumentException("--read cannot be combined with any option other than --format");
+            }
+            try (RunFileReader reader = new RunFileReader(Path.of(options.get("--read")))) {
+                System.out.print(format.header() + format.format(reader.scenario(), reader));
+            }
+            return;
+        }
+        if(parseYesNo(options.getOrDefault("--sweep", "n"), "--sweep")){
+            runSweep(options, format);
+            return;
+        }
+
+        final boolean compareVariance = parseYesNo(options.getOrDefault("--compare-variance", "n"), "--compare-variance");
+        if(compareVariance && format != ReportFormat.TEXT){
+            throw new IllegalArgumentException("--compare-variance only supports --format text");
+        }
+        final ArrayList<Strategy> compareStrategies = options.containsKey("--compare-strategies") ? parseStrategies(options.get("--compare-strategies")) : null;
+        if(compareStrategies != null && format != ReportFormat.TEXT){
+            throw new IllegalArgumentException("--compare-strategies only supports --format text");
+        }
+        if(compareStrategies != null && compareVariance){
+            throw new IllegalArgumentException("--compare-strategies cannot be combined with --compare-variance");
+        }
+        final boolean sensitivity = parseYesNo(options.getOrDefault("--sensitivity", "n"), "--sensitivity");
+        if(sensitivity && format != ReportFormat.TEXT){
+            throw new IllegalArgumentException("--sensitivity only supports --format text");
+        }
+        if(sensitivity && (compareVariance || compareStrategies != null)){
+            throw new IllegalArgumentException("--sensitivity cannot be combined with a comparison");
+        }
+
+        final ArrayList<Scenario> scenarios = new ArrayList<>();
+        final ArrayList<Path> outputs = new ArrayList<>();
+        if(options.containsKey("--job")){
+            final List<String> lines = Files.readAllLines(Path.of(options.get("--job")));
+            for(int i = 0; i < lines.size(); i++){
+                final String line = lines.get(i).trim();
+                if(!line.isEmpty() && !line.startsWith("#")){
+                    final HashMap<String, String> scenarioOptions = new HashMap<>(options);
+                    try {
+                        scenarioOptions.putAll(parseOptions(line.split("\\s+"), false));
+                        scenarios.add(toScenario(scenarioOptions));
+                        validateComparison(scenarios.get(scenarios.size() - 1), compareVariance, compareStrategies, sensitivity);
+                        outputs.add(toOutput(scenarioOptions, scenarios.get(scenarios.size() - 1), outputs, compareVariance || compareStrategies != null || sensitivity));
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Line " + (i + 1) + " of job file: " + e.getMessage(), e);
+                    }
+                }
+            }
+        } else {
+            scenarios.add(toScenario(options));
+            validateComparison(scenarios.get(0), compareVariance, compareStrategies, sensitivity);
+            outputs.add(toOutput(options, scenarios.get(0), outputs, compareVariance || compareStrategies != null || sensitivity));
+        }
+
+        //Every scenario is validated before the first one is run
+        System.out.print(format.header());
+        for(int i = 0; i < scenarios.size(); i++){
+            if(format == ReportFormat.TEXT && i > 0){
+                System.out.println();
+            }
+            if(compareVariance){
+                System.out.print(new VarianceComparison(scenarios.get(i)).report());
+            } else if(compareStrategies != null){
+                System.out.print(new StrategyComparison(scenarios.get(i), compareStrategies).report());
+            } else if(sensitivity){
+                System.out.print(new Sensitivity(scenarios.get(i), Sensitivity.DEFAULT_STEP).report());
+            } else if(outputs.get(i) != null){
+                System.out.print(format.format(scenarios.get(i), scenarios.get(i).runToFile(outputs.get(i))));
+            } else {
+                System.out.print(format.format(scenarios.get(i), scenarios.get(i).run(null)));
+            }
+            System.out.flush();
+        }
+    }
+
+    /**
+     * Runs every scenario of the grid spanned by the sets and settings of the
+     * provided options in a single sweep, and prints the reports in the
+     * requested format: one table as text, or the rows of every scenario.
+     * @param options the value of every provided option, keyed by option.
+     * @param format the format of the reports.
+     */
+    private static void runSweep(HashMap<String, String> options, ReportFormat format){
+        for(String option : List.of("--job", "--output", "--compare-variance", "--compare-strategies", "--sensitivity", "--pack-points", "--wonder-picks")){
+            if(options.containsKey(option)){
+                throw new IllegalArgumentException("--sweep cannot be combined with " + option);
+            }
+        }
+
+        final HashMap<String, String> baseOptions = new HashMap<>(options);
+        if(!baseOptions.containsKey("--sets")){
+            final ArrayList<String> numbers = new ArrayList<>();
+            for(SetName setName : SetName.values()){
+                numbers.add(String.valueOf(setName.ordinal() + 1));
+            }
+            baseOptions.put("--sets", String.join(",", numbers));
+        }
+        final Scenario base = toScenario(baseOptions);
+        final Sweep sweep = new Sweep(Sweep.grid(base), base.THREADS);
+
+        final SimulationStatistics[] statistics = sweep.run();
+        if(format == ReportFormat.TEXT){
+            System.out.print(sweep.table(statistics));
+        } else {
+            final ArrayList<Scenario> scenarios = sweep.scenarios();
+            System.out.print(format.header());
+            for(int i = 0; i < scenarios.size(); i++){
+                System.out.print(format.format(scenarios.get(i), statistics[i]));
+            }
+        }
+        System.out.flush();
+    }
+
+    /**
+     * Checks whether the provided scenario can be run by the requested
+     * comparison or sensitivity analysis, if any.
+     * @param scenario the scenario to be checked.
+     * @param compareVariance whether or not variance reductions are compared.
+     * @param compareStrategies the strategies to be compared, or {@code null}
+     * if strategies are not compared.
+     * @param sensitivity whether or not the sensitivity to the rarity rates
+     * is analyzed.
+     */
+    private static void validateComparison(Scenario scenario, boolean compareVariance, ArrayList<Strategy> compareStrategies, boolean sensitivity){
+        if(compareVariance){
+            VarianceComparison.validate(scenario);
+        }
+        if(compareStrategies != null){
+            StrategyComparison.validate(scenario, compareStrategies);
+        }
+        if(sensitivity){
+            Sensitivity.validate(scenario, Sensitivity.DEFAULT_STEP);
+        }
+    }
+
+    /**
+     * Returns the run file the provided scenario writes, if any.
+     * @param options the value of every option of the scenario, keyed by
+     * option.
+     * @param scenario the scenario described by the options.
+     * @param outputs the run files of the scenarios before it, which it must
+     * not share.
+     * @param isComparison whether or not the scenario is run by a comparison
+     * or sensitivity analysis.
+     * @return the run file of the scenario, or {@code null} if it writes
+     * none.
+     */
+    private static Path toOutput(HashMap<String, String> options, Scenario scenario, ArrayList<Path> outputs, boolean isComparison){
+        if(!options.containsKey("--output")){
+            return null;
+        }
+        if(isComparison){
+            throw new IllegalArgumentException("--output cannot be combined with a comparison or sensitivity analysis");
+        }
+        if(scenario.EXACT || scenario.isSequential()){
+            throw new IllegalArgumentException("--output requires a fixed number of runs, without --exact or --tolerance");
+        }
+
+        final Path output = Path.of(options.get("--output")).toAbsolutePath().normalize();
+        if(outputs.contains(output)){
+            throw new IllegalArgumentException("Repeated run file: " + options.get("--output"));
+        }
+
+        return output;
+    }
+
+    /**
+     * Parses the provided comma-separated strategy names.
+     * @param value the names to be parsed.
+     * @return the named strategies, in order.
+     */
+    private static ArrayList<Strategy> parseStrategies(String value){
+        final ArrayList<Strategy> strategies = new ArrayList<>();
+        for(String name : value.split(",")){
+            final Strategy strategy = Strategies.get(name.trim());
+            if(strategy == null){
+                throw new IllegalArgumentException("Invalid strategy: " + name);
+            }
+            strategies.add(strategy);
+        }
+
+        return strategies;
+    }
+
+    /**
+     * Parses the provided tokens as pairs of options and values.
+     * @param tokens the tokens to be parsed.
+     * @param isCommandLine whether or not the tokens are the arguments of the
+     * program, rather than a line of a job file.
+     * @return the value of every provided option, keyed by option.
+     */
+    private static HashMap<String, String> parseOptions(String[] tokens, boolean isCommandLine){
+        final HashMap<String, String> options = new HashMap<>();
+        for(int i = 0; i < tokens.length; i++){
+            final String option = tokens[i];
+            if(isCommandLine && option.equals("--help")){
+                options.put(option, "");
+                continue;
+            }
+            if(!SCENARIO_OPTIONS.contains(option) && !(isCommandLine && COMMAND_LINE_OPTIONS.contains(option))){
+                throw new IllegalArgumentException("Unknown option: " + option);
+            }
+            if(i + 1 == tokens.length){
+                throw new IllegalArgumentException("Missing value for option: " + option);
+            }
+            if(options.put(option, tokens[++i]) != null){
+                throw new IllegalArgumentException("Repeated option: " + option);
+            }
+        }
+
+        return options;
+    }
+
+    /**
+     * Returns the scenario described by the provided options.
+     * @param options the value of every provided option, keyed by option.
+     * @return the scenario described by the provided options.
+     */
+    private static Scenario toScenario(HashMap<String, String> options){
+        if(!options.containsKey("--sets")){
+            throw new IllegalArgumentException("Missing option: --sets");
+        }
+        final SimInputPacket simInputPacket = parseSetNums(options.get("--sets").split(","));
+        if(simInputPacket.setNames.isEmpty()){
+            throw new IllegalArgumentException(simInputPacket.errMsg);
+        }
+
+        final boolean exact = parseYesNo(options.getOrDefault("--exact", "n"), "--exact");
+        final StoppingRule stoppingRule = options.containsKey("--tolerance") ? StoppingRule.parse(options.get("--tolerance")) : null;
+        if(!exact && stoppingRule == null && !options.containsKey("--runs")){
+            throw new IllegalArgumentException("Missing option: --runs");
+        }
+        final int totalSims = exact ? 0 : parseInt(options.getOrDefault("--runs", String.valueOf(MAX_SEQUENTIAL_RUNS)), "--runs");
+        if(!exact && totalSims < 1){
+            throw new IllegalArgumentException("Invalid number of runs. Enter a positive value.");
+        }
+
+        final int threads = parseInt(options.getOrDefault("--threads", "0"), "--threads");
+        if(threads < 0){
+            throw new IllegalArgumentException("Invalid number of threads. Enter a non-negative value.");
+        }
+
+        final VarianceReduction variance = VarianceReduction.get(options.getOrDefault("--variance", "none"));
+        if(variance == null){
+            throw new IllegalArgumentException("Invalid variance reduction: " + options.get("--variance"));
+        }
+
+        final Strategy strategy = Strategies.get(options.getOrDefault("--strategy", Strategies.GREEDY.name()));
+        if(strategy == null){
+            throw new IllegalArgumentException("Invalid strategy: " + options.get("--strategy"));
+        }
+
+        final RandomStreams streams = options.containsKey("--seed") ? new RandomStreams(parseLong(options.get("--seed"), "--seed")) : RandomStreams.unseeded();
+
+        return new Scenario(simInputPacket.setNames, totalSims, parseYesNo(options.getOrDefault("--pack-points", "n"), "--pack-points"), parseYesNo(options.getOrDefault("--wonder-picks", "n"), "--wonder-picks"), streams, threads, exact, variance, stoppingRule, strategy);
+    }
+
+    private static int parseInt(String value, String option){
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer for option " + option + ": " + value);
+        }
+    }
+
+    private static long parseLong(String value, String option){
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer for option " + option + ": " + value);
+        }
+    }
+
+    private static boolean parseYesNo(String value, String option){
+        final String input = value.trim().toLowerCase();
+        if(input.equals("y") || input.equals("yes") || input.equals("true")){
+            return true;
+        } else if(input.equals("n") || input.equals("no") || input.equals("false")){
+            return false;
+        }
+
+        throw new IllegalArgumentException("Invalid value for option " + option + ". Enter \"y\" or \"n\".");
     }
 
     private static SimInputPacket parseSetNums(String[] input){
@@ -112,305 +531,19 @@ public class Main {
      * @param totalSims the total number of simulations to be run.
      * @param usePackPoints whether or not to use pack points.
      * @param useWonderPicks whether or not to use Wonder Picks.
+     * @param threads the number of threads on which to run the simulations.
+     * A value less than {@code 1} uses every available processor.
+     * @param streams the random number streams from which each simulation
+     * draws.
      */
-    private static void simSet(ArrayList<SetName> setNames, int totalSims, boolean usePackPoints, boolean useWonderPicks){
-        final Random RAND = new Random();
+    private static void simSet(ArrayList<SetName> setNames, int totalSims, boolean usePackPoints, boolean useWonderPicks, int threads, RandomStreams streams){
+        final Scenario scenario = new Scenario(setNames, totalSims, usePackPoints, useWonderPicks, streams, threads);
 
-        final SimulationPacket[] attempts = new SimulationPacket[totalSims];
-
-        Profile profile;
-        int forD, forDD, forDDD, forDDDD, for100P, for10P, for20P, for30P, for40P, for50P, for60P, for70P, for80P, for90P;
-        ArrayList<Pack> packs;
-
-        int progress = 0;
-        int compProgress;
+        System.out.println("Seed: " + streams.MASTER_SEED);
         System.out.println("0.0%");
-        for(int i = 0; i < attempts.length; i++){
-            profile = new Profile("player");
-            forD = forDD = forDDD = forDDDD = for100P = for10P = for20P = for30P = for40P = for50P = for60P = for70P = for80P = for90P = 0;
-
-            while(!profile.hasAllStandardCards(setNames) && for100P != Integer.MAX_VALUE){
-                if(for100P != 0){
-                    profile.simulateHourJump(12);
-                }
-
-                while(profile.hasPacksAvailable() && for100P != Integer.MAX_VALUE){
-                    for100P++;
-                    if(!profile.hasAllCardsOfRarity(setNames, Rarity.D)){
-                        forD++;
-                    }
-                    if(!profile.hasAllCardsOfRarity(setNames, Rarity.DD)){
-                        forDD++;
-                    }
-                    if(!profile.hasAllCardsOfRarity(setNames, Rarity.DDD)){
-                        forDDD++;
-                    }
-                    if(!profile.hasAllCardsOfRarity(setNames, Rarity.DDDD)){
-                        forDDDD++;
-                    }
-                    if(profile.standardObtainedPercentage(setNames) < 10){
-                        for10P = for100P;
-                    }
-                    if(profile.standardObtainedPercentage(setNames) < 20){
-                        for20P = for100P;
-                    }
-                    if(profile.standardObtainedPercentage(setNames) < 30){
-                        for30P = for100P;
-                    }
-                    if(profile.standardObtainedPercentage(setNames) < 40){
-                        for40P = for100P;
-                    }
-                    if(profile.standardObtainedPercentage(setNames) < 50){
-                        for50P = for100P;
-                    }
-                    if(profile.standardObtainedPercentage(setNames) < 60){
-                        for60P = for100P;
-                    }
-                    if(profile.standardObtainedPercentage(setNames) < 70){
-                        for70P = for100P;
-                    }
-                    if(profile.standardObtainedPercentage(setNames) < 80){
-                        for80P = for100P;
-                    }
-                    if(profile.standardObtainedPercentage(setNames) < 90){
-                        for90P = for100P;
-                    }
-
-                    packs = profile.packsHighestChanceOfPullingNewStandardCard(setNames);
-
-                    profile.openPack(packs.get(RAND.nextInt(packs.size())));
-                }
-
-                if(useWonderPicks){
-                    WonderPick wonderPick;
-                    ArrayList<WonderPick> wonderPicks = new ArrayList<>();
-                    ArrayList<Double> newDDDDProbFactors = new ArrayList<>();
-                    ArrayList<Double> newDDDProbFactors = new ArrayList<>();
-                    ArrayList<Double> newDDProbFactors = new ArrayList<>();
-                    ArrayList<Double> newDProbFactors = new ArrayList<>();
-                    ArrayList<Double> newCardProbFactors = new ArrayList<>();
-                    int newD, newDD, newDDD, newDDDD;
-                    for(int j = 0; j < 12; j++){
-                        SetName wonderPickSetName = setNames.get(RAND.nextInt(setNames.size()));
-                        wonderPick = new WonderPick(CardSets.get(wonderPickSetName).packs().get(RAND.nextInt(CardSets.get(wonderPickSetName).packCount())));
-                        wonderPicks.add(wonderPick);
-                        newD = newDD = newDDD = newDDDD = 0;
-                        for(Card card : wonderPick.cards()){
-                            if(!profile.hasCard(wonderPickSetName, card)){
-                                if(card.RARITY.equals(Rarity.D)){
-                                    newD++;
-                                } else if(card.RARITY.equals(Rarity.DD)){
-                                    newDD++;
-                                } else if(card.RARITY.equals(Rarity.DDD)){
-                                    newDDD++;
-                                } else if(card.RARITY.equals(Rarity.DDDD)){
-                                    newDDDD++;
-                                }
-                            }
-                        }
-                        newDDDDProbFactors.add(newDDDD * .20 / (1 - Math.pow(1 - profile.chanceOfPullingNewCardOfRarity(wonderPick.PACK, Rarity.DDDD), wonderPick.STAMINA)));
-                        newDDDProbFactors.add(newDDD * .20 / (1 - Math.pow(1 - profile.chanceOfPullingNewCardOfRarity(wonderPick.PACK, Rarity.DDD), wonderPick.STAMINA)));
-                        newDDProbFactors.add(newDD * .20 / (1 - Math.pow(1 - profile.chanceOfPullingNewCardOfRarity(wonderPick.PACK, Rarity.DD), wonderPick.STAMINA)));
-                        newDProbFactors.add(newD * .20 / (1 - Math.pow(1 - profile.chanceOfPullingNewCardOfRarity(wonderPick.PACK, Rarity.D), wonderPick.STAMINA)));
-                        newCardProbFactors.add(
-                                (newDDDDProbFactors.get(j) * newDDDD
-                                        + newDDDProbFactors.get(j) * newDDD
-                                        + newDDProbFactors.get(j) * newDD
-                                        + newDProbFactors.get(j) * newD
-                                ) / 5);
-                    }
-
-                    WonderPick wonderPickSelection;
-                    if(profile.wonderStamina() >= 5){
-                        int indexOfLargest = 0;
-                        for(int j = 1; j < wonderPicks.size(); j++){
-                            if(newCardProbFactors.get(j) > newCardProbFactors.get(indexOfLargest)){
-                                indexOfLargest = j;
-                            }
-                        }
-                        wonderPickSelection = wonderPicks.get(indexOfLargest);
-                    } else if(!profile.hasAllCardsOfRarity(setNames, Rarity.DDDD)){
-                        if(profile.wonderStamina() >= Rarity.DDDD.WONDER_STAMINA_COST){
-                            int indexOfLargest = -1;
-                            for(int j = 0; j < wonderPicks.size(); j++){
-                                boolean hasDDDD = false;
-                                for(Card card : wonderPicks.get(j).cards()){
-                                    if(card.RARITY.equals(Rarity.DDDD)){
-                                        hasDDDD = true;
-                                        break;
-                                    }
-                                }
-                                if(hasDDDD && (indexOfLargest == -1 || newDDDDProbFactors.get(j) > newDDDDProbFactors.get(indexOfLargest))){
-                                    indexOfLargest = j;
-                                }
-                            }
-                            wonderPickSelection = indexOfLargest > -1 ? wonderPicks.get(indexOfLargest) : null;
-                        } else {
-                            wonderPickSelection = null;
-                        }
-                    } else if(!profile.hasAllCardsOfRarity(setNames, Rarity.DDD)){
-                        if(profile.wonderStamina() >= Rarity.DDD.WONDER_STAMINA_COST){
-                            int indexOfLargest = -1;
-                            for(int j = 0; j < wonderPicks.size(); j++){
-                                boolean hasDDD = false;
-                                for(Card card : wonderPicks.get(j).cards()){
-                                    if(card.RARITY.equals(Rarity.DDD)){
-                                        hasDDD = true;
-                                        break;
-                                    }
-                                }
-                                if(hasDDD && (indexOfLargest == -1 || newDDDProbFactors.get(j) > newDDDProbFactors.get(indexOfLargest))){
-                                    indexOfLargest = j;
-                                }
-                            }
-                            wonderPickSelection = indexOfLargest > -1 ? wonderPicks.get(indexOfLargest) : null;
-                        } else {
-                            wonderPickSelection = null;
-                        }
-                    } else if(!profile.hasAllCardsOfRarity(setNames, Rarity.DD)){
-                        if(profile.wonderStamina() >= Rarity.DD.WONDER_STAMINA_COST){
-                            int indexOfLargest = -1;
-                            for(int j = 0; j < wonderPicks.size(); j++){
-                                boolean hasDD = false;
-                                for(Card card : wonderPicks.get(j).cards()){
-                                    if(card.RARITY.equals(Rarity.DD)){
-                                        hasDD = true;
-                                        break;
-                                    }
-                                }
-                                if(hasDD && (indexOfLargest == -1 || newDDProbFactors.get(j) > newDDProbFactors.get(indexOfLargest))){
-                                    indexOfLargest = j;
-                                }
-                            }
-                            wonderPickSelection = indexOfLargest > -1 ? wonderPicks.get(indexOfLargest) : null;
-                        } else {
-                            wonderPickSelection = null;
-                        }
-                    } else if(!profile.hasAllCardsOfRarity(setNames, Rarity.D)){
-                        if(profile.wonderStamina() >= Rarity.D.WONDER_STAMINA_COST){
-                            int indexOfLargest = -1;
-                            for(int j = 0; j < wonderPicks.size(); j++){
-                                boolean hasD = false;
-                                for(Card card : wonderPicks.get(j).cards()){
-                                    if(card.RARITY.equals(Rarity.D)){
-                                        hasD = true;
-                                        break;
-                                    }
-                                }
-                                if(hasD && (indexOfLargest == -1 || newDProbFactors.get(j) > newDProbFactors.get(indexOfLargest))){
-                                    indexOfLargest = j;
-                                }
-                            }
-                            wonderPickSelection = indexOfLargest > -1 ? wonderPicks.get(indexOfLargest) : null;
-                        } else {
-                            wonderPickSelection = null;
-                        }
-                    } else {
-                        wonderPickSelection = null;
-                    }
-
-                    if(wonderPickSelection != null){
-                        profile.selectWonderPick(wonderPickSelection);
-                    }
-                }
-
-                if(usePackPoints){
-                    for(SetName setName : setNames){
-                        if(profile.packPoints(setName) == 2500){
-                            // Find the pack with the lowest probability of drawing a new card
-                            ArrayList<Pack> possibilities = profile.packsLowestChanceOfPullingNewStandardCard(setName);
-                            Pack pack = possibilities.get(RAND.nextInt(possibilities.size()));
-
-                            ArrayList<Pair<Rarity, Double>> rarityChances = new ArrayList<>();
-                            rarityChances.add(new Pair<>(Rarity.DDDD, profile.chanceOfPullingNewCardOfRarity(pack, Rarity.DDDD)));
-                            rarityChances.add(new Pair<>(Rarity.DDD, profile.chanceOfPullingNewCardOfRarity(pack, Rarity.DDD)));
-                            rarityChances.add(new Pair<>(Rarity.DD, profile.chanceOfPullingNewCardOfRarity(pack, Rarity.DD)));
-                            rarityChances.add(new Pair<>(Rarity.D, profile.chanceOfPullingNewCardOfRarity(pack, Rarity.D)));
-
-                            rarityChances.sort(Comparator.comparingDouble(a -> a.VAL));
-
-                            ArrayList<Card> cards = profile.unobtainedCardsOfRarity(pack, rarityChances.get(0).KEY);
-
-                            for(int j = 0; j < cards.size();){
-                                if(cards.get(j).isSpecialUnlock()){
-                                    cards.remove(j);
-                                } else {
-                                    j++;
-                                }
-                            }
-
-                            Card card = cards.get(RAND.nextInt(cards.size()));
-                            profile.buyCard(setName, card);
-                        } else {
-                            ArrayList<Card> unobtainedStandardCards = profile.unobtainedStandardCards(setName);
-
-                            int neededPackPoints = 0;
-                            for(Card card : unobtainedStandardCards){
-                                if(card.packPoints() != -1){
-                                    neededPackPoints += card.packPoints();
-                                }
-                            }
-
-                            if(neededPackPoints <= profile.packPoints(setName)){
-                                for(Card card : unobtainedStandardCards){
-                                    profile.buyCard(setName, card);
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-
-            attempts[i] = new SimulationPacket(for10P, for20P, for30P, for40P, for50P, for60P, for70P, for80P, for90P, for100P, forD, forDD, forDDD, forDDDD);
-
-            compProgress = (i + 1) * 1000 / totalSims;
-            if(compProgress > progress){
-                progress = compProgress;
-                System.out.println(progress / 10 + "." + progress % 10 + "%");
-            }
-        }
-
-        Arrays.sort(attempts, Comparator.comparingInt(a -> a.ATTEMPTS_FOR_10_PERCENT_OF_STANDARDS));
-        System.out.println("\nAttempts for 10% of Standard Rarities:\n5th Percentile: " + attempts[attempts.length/20-1].ATTEMPTS_FOR_10_PERCENT_OF_STANDARDS + "\n50th Percentile: " + attempts[attempts.length/2-1].ATTEMPTS_FOR_10_PERCENT_OF_STANDARDS + "\n95th Percentile: " + attempts[attempts.length/20*19-1].ATTEMPTS_FOR_10_PERCENT_OF_STANDARDS);
-
-        Arrays.sort(attempts, Comparator.comparingInt(a -> a.ATTEMPTS_FOR_20_PERCENT_OF_STANDARDS));
-        System.out.println("\nAttempts for 20% of Standard Rarities:\n5th Percentile: " + attempts[attempts.length/20-1].ATTEMPTS_FOR_20_PERCENT_OF_STANDARDS + "\n50th Percentile: " + attempts[attempts.length/2-1].ATTEMPTS_FOR_20_PERCENT_OF_STANDARDS + "\n95th Percentile: " + attempts[attempts.length/20*19-1].ATTEMPTS_FOR_20_PERCENT_OF_STANDARDS);
-
-        Arrays.sort(attempts, Comparator.comparingInt(a -> a.ATTEMPTS_FOR_30_PERCENT_OF_STANDARDS));
-        System.out.println("\nAttempts for 30% of Standard Rarities:\n5th Percentile: " + attempts[attempts.length/20-1].ATTEMPTS_FOR_30_PERCENT_OF_STANDARDS + "\n50th Percentile: " + attempts[attempts.length/2-1].ATTEMPTS_FOR_30_PERCENT_OF_STANDARDS + "\n95th Percentile: " + attempts[attempts.length/20*19-1].ATTEMPTS_FOR_30_PERCENT_OF_STANDARDS);
-
-        Arrays.sort(attempts, Comparator.comparingInt(a -> a.ATTEMPTS_FOR_40_PERCENT_OF_STANDARDS));
-        System.out.println("\nAttempts for 40% of Standard Rarities:\n5th Percentile: " + attempts[attempts.length/20-1].ATTEMPTS_FOR_40_PERCENT_OF_STANDARDS + "\n50th Percentile: " + attempts[attempts.length/2-1].ATTEMPTS_FOR_40_PERCENT_OF_STANDARDS + "\n95th Percentile: " + attempts[attempts.length/20*19-1].ATTEMPTS_FOR_40_PERCENT_OF_STANDARDS);
-
-        Arrays.sort(attempts, Comparator.comparingInt(a -> a.ATTEMPTS_FOR_50_PERCENT_OF_STANDARDS));
-        System.out.println("\nAttempts for 50% of Standard Rarities:\n5th Percentile: " + attempts[attempts.length/20-1].ATTEMPTS_FOR_50_PERCENT_OF_STANDARDS + "\n50th Percentile: " + attempts[attempts.length/2-1].ATTEMPTS_FOR_50_PERCENT_OF_STANDARDS + "\n95th Percentile: " + attempts[attempts.length/20*19-1].ATTEMPTS_FOR_50_PERCENT_OF_STANDARDS);
-
-        Arrays.sort(attempts, Comparator.comparingInt(a -> a.ATTEMPTS_FOR_60_PERCENT_OF_STANDARDS));
-        System.out.println("\nAttempts for 60% of Standard Rarities:\n5th Percentile: " + attempts[attempts.length/20-1].ATTEMPTS_FOR_60_PERCENT_OF_STANDARDS + "\n50th Percentile: " + attempts[attempts.length/2-1].ATTEMPTS_FOR_60_PERCENT_OF_STANDARDS + "\n95th Percentile: " + attempts[attempts.length/20*19-1].ATTEMPTS_FOR_60_PERCENT_OF_STANDARDS);
-
-        Arrays.sort(attempts, Comparator.comparingInt(a -> a.ATTEMPTS_FOR_70_PERCENT_OF_STANDARDS));
-        System.out.println("\nAttempts for 70% of Standard Rarities:\n5th Percentile: " + attempts[attempts.length/20-1].ATTEMPTS_FOR_70_PERCENT_OF_STANDARDS + "\n50th Percentile: " + attempts[attempts.length/2-1].ATTEMPTS_FOR_70_PERCENT_OF_STANDARDS + "\n95th Percentile: " + attempts[attempts.length/20*19-1].ATTEMPTS_FOR_70_PERCENT_OF_STANDARDS);
-
-        Arrays.sort(attempts, Comparator.comparingInt(a -> a.ATTEMPTS_FOR_80_PERCENT_OF_STANDARDS));
-        System.out.println("\nAttempts for 80% of Standard Rarities:\n5th Percentile: " + attempts[attempts.length/20-1].ATTEMPTS_FOR_80_PERCENT_OF_STANDARDS + "\n50th Percentile: " + attempts[attempts.length/2-1].ATTEMPTS_FOR_80_PERCENT_OF_STANDARDS + "\n95th Percentile: " + attempts[attempts.length/20*19-1].ATTEMPTS_FOR_80_PERCENT_OF_STANDARDS);
-
-        Arrays.sort(attempts, Comparator.comparingInt(a -> a.ATTEMPTS_FOR_90_PERCENT_OF_STANDARDS));
-        System.out.println("\nAttempts for 90% of Standard Rarities:\n5th Percentile: " + attempts[attempts.length/20-1].ATTEMPTS_FOR_90_PERCENT_OF_STANDARDS + "\n50th Percentile: " + attempts[attempts.length/2-1].ATTEMPTS_FOR_90_PERCENT_OF_STANDARDS + "\n95th Percentile: " + attempts[attempts.length/20*19-1].ATTEMPTS_FOR_90_PERCENT_OF_STANDARDS);
-
-        Arrays.sort(attempts, Comparator.comparingInt(a -> a.ATTEMPTS_FOR_100_PERCENT_OF_STANDARDS));
-        System.out.println("\nAttempts for 100% Standard Rarities:\n5th Percentile: " + attempts[attempts.length/20-1].ATTEMPTS_FOR_100_PERCENT_OF_STANDARDS + "\n50th Percentile: " + attempts[attempts.length/2-1].ATTEMPTS_FOR_100_PERCENT_OF_STANDARDS + "\n95th Percentile: " + attempts[attempts.length/20*19-1].ATTEMPTS_FOR_100_PERCENT_OF_STANDARDS);
-
-        Arrays.sort(attempts, Comparator.comparingInt(a -> a.ATTEMPTS_FOR_ALL_D_RARITIES));
-        System.out.println("\nAttempts for D Rarities:\n5th Percentile: " + attempts[attempts.length/20-1].ATTEMPTS_FOR_ALL_D_RARITIES + "\n50th Percentile: " + attempts[attempts.length/2-1].ATTEMPTS_FOR_ALL_D_RARITIES + "\n95th Percentile: " + attempts[attempts.length/20*19-1].ATTEMPTS_FOR_ALL_D_RARITIES);
-
-        Arrays.sort(attempts, Comparator.comparingInt(a -> a.ATTEMPTS_FOR_ALL_DD_RARITIES));
-        System.out.println("\nAttempts for DD Rarities:\n5th Percentile: " + attempts[attempts.length/20-1].ATTEMPTS_FOR_ALL_DD_RARITIES + "\n50th Percentile: " + attempts[attempts.length/2-1].ATTEMPTS_FOR_ALL_DD_RARITIES + "\n95th Percentile: " + attempts[attempts.length/20*19-1].ATTEMPTS_FOR_ALL_DD_RARITIES);
-
-        Arrays.sort(attempts, Comparator.comparingInt(a -> a.ATTEMPTS_FOR_ALL_DDD_RARITIES));
-        System.out.println("\nAttempts for DDD Rarities:\n5th Percentile: " + attempts[attempts.length/20-1].ATTEMPTS_FOR_ALL_DDD_RARITIES + "\n50th Percentile: " + attempts[attempts.length/2-1].ATTEMPTS_FOR_ALL_DDD_RARITIES + "\n95th Percentile: " + attempts[attempts.length/20*19-1].ATTEMPTS_FOR_ALL_DDD_RARITIES);
+        final MilestoneStatistics statistics = scenario.run((progress) -> System.out.println(progress / 10 + "." + progress % 10 + "%"));
 
-        Arrays.sort(attempts, Comparator.comparingInt(a -> a.ATTEMPTS_FOR_ALL_DDDD_RARITIES));
-        System.out.println("\nAttempts for DDDD Rarities:\n5th Percentile: " + attempts[attempts.length/20-1].ATTEMPTS_FOR_ALL_DDDD_RARITIES + "\n50th Percentile: " + attempts[attempts.length/2-1].ATTEMPTS_FOR_ALL_DDDD_RARITIES + "\n95th Percentile: " + attempts[attempts.length/20*19-1].ATTEMPTS_FOR_ALL_DDDD_RARITIES);
+        System.out.print(ReportFormat.percentiles(statistics));
     }
 
     private static final class SimInputPacket {
@@ -15,6 +15,9 @@ public abstract class Card {
     public final Rarity RARITY;
     private final boolean IS_PACK_EXCLUSIVE;
 
+    //package-private; the dense index of the card within its set, assigned by CardSet
+    int setIndex = -1;
+
     /**
      * Instantiates an instance of {@code Card}, with the provided card
      * number, card type, name, rarity, and the names of the packs within
@@ -1,7 +1,6 @@
 package sim;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 
 /**
  * An instance of this class is used to represent a card collection made up
@@ -10,19 +9,44 @@ import java.util.HashMap;
  * @since 0.1.0
  */
 public final class CardCollection {
-    private final HashMap<SetName, SetCollection> SET_COLLECTIONS = new HashMap<>();
+    //Indexed by set name ordinal
+    private final SetCollection[] SET_COLLECTIONS = new SetCollection[SetName.values().length];
 
     /**
      * Instantiates and instance of {@code CardCollection}.
      */
     public CardCollection(){
-        this.SET_COLLECTIONS.put(SetName.GENETIC_APEX, new SetCollection(CardSets.GENETIC_APEX));
-        this.SET_COLLECTIONS.put(SetName.MYTHICAL_ISLAND, new SetCollection(CardSets.MYTHICAL_ISLAND));
-        this.SET_COLLECTIONS.put(SetName.SPACE_TIME_SMACKDOWN, new SetCollection(CardSets.SPACE_TIME_SMACKDOWN));
-        this.SET_COLLECTIONS.put(SetName.TRIUMPHANT_LIGHT, new SetCollection(CardSets.TRIUMPHANT_LIGHT));
-        this.SET_COLLECTIONS.put(SetName.SHINING_REVELRY, new SetCollection(CardSets.SHINING_REVELRY));
-        this.SET_COLLECTIONS.put(SetName.CELESTIAL_GUARDIANS, new SetCollection(CardSets.CELESTIAL_GUARDIANS));
-        this.SET_COLLECTIONS.put(SetName.EXTRADIMENSIONAL_CRISIS, new SetCollection(CardSets.EXTRADIMENSIONAL_CRISIS));
+        this(RateTables.PUBLISHED);
+    }
+
+    /**
+     * Instantiates and instance of {@code CardCollection}, whose sets are
+     * drawn with the provided rate tables.
+     * @param rateTables the rate tables of the sets of the instance.
+     */
+    public CardCollection(RateTables rateTables){
+        for(SetName setName : SetName.values()){
+            this.SET_COLLECTIONS[setName.ordinal()] = new SetCollection(rateTables.cardSet(setName));
+        }
+    }
+
+    /**
+     * Returns the set with the provided name, as collected by the instance.
+     * @param setName the name of the set.
+     * @return the set with the provided name.
+     */
+    public CardSet cardSet(SetName setName){
+        return of(setName).CARD_SET;
+    }
+
+    /**
+     * Helper method that returns the collection of the set with the provided
+     * name.
+     * @param setName the name of the set.
+     * @return the collection of the set with the provided name.
+     */
+    private SetCollection of(SetName setName){
+        return SET_COLLECTIONS[setName.ordinal()];
     }
 
     /**
@@ -32,7 +56,19 @@ public final class CardCollection {
      * to the instance.
      */
     public boolean add(OpenedPack openedPack){
-        SET_COLLECTIONS.get(openedPack.PACK.SET_NAME).add(openedPack);
+        of(openedPack.PACK.SET_NAME).add(openedPack);
+
+        return true;
+    }
+
+    /**
+     * Adds the cards of the provided buffer to the instance.
+     * @param buffer the buffer whose cards are to be added to the instance.
+     * @return {@code true}, as the cards are always successfully added to the
+     * instance.
+     */
+    public boolean add(PackBuffer buffer){
+        of(buffer.pack().SET_NAME).add(buffer);
 
         return true;
     }
@@ -46,7 +82,7 @@ public final class CardCollection {
      * name.
      */
     public int packPointsFor(SetName setName){
-        return SET_COLLECTIONS.get(setName).packPoints();
+        return of(setName).packPoints();
     }
 
     /**
@@ -59,7 +95,7 @@ public final class CardCollection {
      * card not being purchasable.
      */
     public boolean buyCard(SetName setName, Card card){
-        return SET_COLLECTIONS.get(setName).buyCard(card);
+        return of(setName).buyCard(card);
     }
 
     /**
@@ -71,7 +107,7 @@ public final class CardCollection {
      * insufficient wonder pick stamina.
      */
     public Card selectWonderPick(WonderPick wonderPick){
-        return this.SET_COLLECTIONS.get(wonderPick.PACK.SET_NAME).selectWonderPick(wonderPick);
+        return of(wonderPick.PACK.SET_NAME).selectWonderPick(wonderPick);
     }
 
     /**
@@ -83,7 +119,7 @@ public final class CardCollection {
      * the provided name.
      */
     public double completeObtainedPercentage(SetName setName){
-        return this.SET_COLLECTIONS.get(setName).completeObtainedPercentage();
+        return of(setName).completeObtainedPercentage();
     }
 
     public double completeObtainedPercentage(ArrayList<SetName> setNames){
@@ -91,8 +127,8 @@ public final class CardCollection {
         int total = 0;
 
         for(SetName setName : setNames){
-            obtained += this.SET_COLLECTIONS.get(setName).completeObtained();
-            total += this.SET_COLLECTIONS.get(setName).completeTotal();
+            obtained += of(setName).completeObtained();
+            total += of(setName).completeTotal();
         }
 
         return obtained * 100d / total;
@@ -107,7 +143,7 @@ public final class CardCollection {
      * the provided name.
      */
     public double standardObtainedPercentage(SetName setName){
-        return this.SET_COLLECTIONS.get(setName).standardObtainedPercentage();
+        return of(setName).standardObtainedPercentage();
     }
 
     public double standardObtainedPercentage(ArrayList<SetName> setNames){
@@ -115,8 +151,8 @@ public final class CardCollection {
         int total = 0;
 
         for(SetName setName : setNames){
-            obtained += this.SET_COLLECTIONS.get(setName).standardObtained();
-            total += this.SET_COLLECTIONS.get(setName).standardTotal();
+            obtained += of(setName).standardObtained();
+            total += of(setName).standardTotal();
         }
 
         return obtained * 100d / total;
@@ -131,7 +167,7 @@ public final class CardCollection {
      * provided name.
      */
     public double rareObtainedPercentage(SetName setName){
-        return this.SET_COLLECTIONS.get(setName).rareObtainedPercentage();
+        return of(setName).rareObtainedPercentage();
     }
 
     public double rareObtainedPercentage(ArrayList<SetName> setNames){
@@ -139,8 +175,8 @@ public final class CardCollection {
         int total = 0;
 
         for(SetName setName : setNames){
-            obtained += this.SET_COLLECTIONS.get(setName).rareObtained();
-            total += this.SET_COLLECTIONS.get(setName).rareTotal();
+            obtained += of(setName).rareObtained();
+            total += of(setName).rareTotal();
         }
 
         return obtained * 100d / total;
@@ -156,7 +192,7 @@ public final class CardCollection {
      * within the set with the provided name.
      */
     public double rarityObtainedPercentage(SetName setName, Rarity rarity){
-        return this.SET_COLLECTIONS.get(setName).rarityObtained(rarity);
+        return of(setName).rarityObtained(rarity);
     }
 
     public double rarityObtainedPercentage(ArrayList<SetName> setNames, Rarity rarity){
@@ -164,8 +200,8 @@ public final class CardCollection {
         int total = 0;
 
         for(SetName setName : setNames){
-            obtained += this.SET_COLLECTIONS.get(setName).rarityObtained(rarity);
-            total += this.SET_COLLECTIONS.get(setName).rarityTotal(rarity);
+            obtained += of(setName).rarityObtained(rarity);
+            total += of(setName).rarityTotal(rarity);
         }
 
         return obtained * 100d / total;
@@ -179,7 +215,7 @@ public final class CardCollection {
      * set. Else, {@code false}.
      */
     public boolean hasAllCards(SetName setName){
-        return this.SET_COLLECTIONS.get(setName).hasAllCards();
+        return of(setName).hasAllCards();
     }
 
     public boolean hasAllCards(ArrayList<SetName> setNames){
@@ -200,7 +236,7 @@ public final class CardCollection {
      * provided set. Else, {@code false}.
      */
     public boolean hasAllStandardCards(SetName setName){
-        return this.SET_COLLECTIONS.get(setName).hasAllStandardCards();
+        return of(setName).hasAllStandardCards();
     }
 
     public boolean hasAllStandardCards(ArrayList<SetName> setNames){
@@ -221,7 +257,7 @@ public final class CardCollection {
      * provided set. Else, {@code false}.
      */
     public boolean hasAllRareCards(SetName setName){
-        return this.SET_COLLECTIONS.get(setName).hasAllRareCards();
+        return of(setName).hasAllRareCards();
     }
 
     public boolean hasAllRareCards(ArrayList<SetName> setNames){
@@ -243,7 +279,7 @@ public final class CardCollection {
      * obtained in the provided set. Else, {@code false}.
      */
     public boolean hasAllCardsOfRarity(SetName setName, Rarity rarity){
-        return this.SET_COLLECTIONS.get(setName).hasAllCardsOfRarity(rarity);
+        return of(setName).hasAllCardsOfRarity(rarity);
     }
 
     public boolean hasAllCardsOfRarity(ArrayList<SetName> setNames, Rarity rarity){
@@ -264,7 +300,7 @@ public final class CardCollection {
      * pack. Else, {@code false}.
      */
     public boolean hasAllCards(Pack pack){
-        return this.SET_COLLECTIONS.get(pack.SET_NAME).hasAllCards(pack);
+        return of(pack.SET_NAME).hasAllCards(pack);
     }
 
     /**
@@ -275,7 +311,7 @@ public final class CardCollection {
      * provided pack. Else, {@code false}.
      */
     public boolean hasAllStandardCards(Pack pack){
-        return this.SET_COLLECTIONS.get(pack.SET_NAME).hasAllStandardCards(pack);
+        return of(pack.SET_NAME).hasAllStandardCards(pack);
     }
 
     /**
@@ -286,7 +322,7 @@ public final class CardCollection {
      * provided pack. Else, {@code false}.
      */
     public boolean hasAllRareCards(Pack pack){
-        return this.SET_COLLECTIONS.get(pack.SET_NAME).hasAllRareCards(pack);
+        return of(pack.SET_NAME).hasAllRareCards(pack);
     }
 
     /**
@@ -298,7 +334,7 @@ public final class CardCollection {
      * obtained in the provided pack. Else, {@code false}.
      */
     public boolean hasAllCardsOfRarity(Pack pack, Rarity rarity){
-        return this.SET_COLLECTIONS.get(pack.SET_NAME).hasAllCardsOfRarity(pack, rarity);
+        return of(pack.SET_NAME).hasAllCardsOfRarity(pack, rarity);
     }
 
     /**
@@ -308,14 +344,14 @@ public final class CardCollection {
      * @return the packs that have the highest chance of pulling a new card.
      */
     public ArrayList<Pack> packsHighestChanceOfPullingNewCard(SetName setName){
-        return this.SET_COLLECTIONS.get(setName).packsHighestChanceOfPullingNewCard();
+        return of(setName).packsHighestChanceOfPullingNewCard();
     }
 
     public ArrayList<Pack> packsHighestChanceOfPullingNewCard(ArrayList<SetName> setNames){
         return ProbabilityAnalysis.reduceToHighestChance(
             new ArrayList<>(){{
                 for(SetName setName : setNames){
-                    addAll(SET_COLLECTIONS.get(setName).packsCompletePullChances());
+                    addAll(of(setName).packsCompletePullChances());
                 }
             }}
         );
@@ -329,19 +365,51 @@ public final class CardCollection {
      * standard card.
      */
     public ArrayList<Pack> packsHighestChanceOfPullingNewStandardCard(SetName setName){
-        return this.SET_COLLECTIONS.get(setName).packsHighestChanceOfPullingNewStandardCard();
+        return of(setName).packsHighestChanceOfPullingNewStandardCard();
     }
 
     public ArrayList<Pack> packsHighestChanceOfPullingNewStandardCard(ArrayList<SetName> setNames){
         return ProbabilityAnalysis.reduceToHighestChance(
             new ArrayList<>(){{
                 for(SetName setName : setNames){
-                    addAll(SET_COLLECTIONS.get(setName).packsStandardPullChances());
+                    addAll(of(setName).packsStandardPullChances());
                 }
             }}
         );
     }
 
+    /**
+     * Fills the provided array with the packs that have the highest chance of
+     * pulling a new standard card, in the same order as {@link
+     * #packsHighestChanceOfPullingNewStandardCard(ArrayList)}, without
+     * allocating. The cached chances are compared in a single pass.
+     * @param setNames the names of the sets to be checked.
+     * @param packs the array to receive the packs, with room for every pack
+     * of the sets.
+     * @return the number of packs written to the array.
+     */
+    public int packsHighestChanceOfPullingNewStandardCard(ArrayList<SetName> setNames, Pack[] packs){
+        int count = 0;
+        double highest = 0;
+        for(int i = 0; i < setNames.size(); i++){
+            final SetCollection SET_COLLECTION = of(setNames.get(i));
+            for(int j = 0; j < SET_COLLECTION.CARD_SET.packCount(); j++){
+                final Pack PACK = SET_COLLECTION.CARD_SET.packAt(j);
+                final double CHANCE = SET_COLLECTION.chanceOfPullingNewStandardCard(PACK);
+                final int COMPARISON = count == 0 ? 1 : Double.compare(CHANCE, highest);
+                if(COMPARISON > 0){
+                    count = 0;
+                    highest = CHANCE;
+                }
+                if(COMPARISON >= 0){
+                    packs[count++] = PACK;
+                }
+            }
+        }
+
+        return count;
+    }
+
     /**
      * Returns an {@code ArrayList} with the packs that have the highest
      * chance of pulling a new rare card.
@@ -350,14 +418,14 @@ public final class CardCollection {
      * card.
      */
     public ArrayList<Pack> packsHighestChanceOfPullingNewRareCard(SetName setName){
-        return this.SET_COLLECTIONS.get(setName).packsHighestChanceOfPullingNewRareCard();
+        return of(setName).packsHighestChanceOfPullingNewRareCard();
     }
 
     public ArrayList<Pack> packsHighestChanceOfPullingNewRareCard(ArrayList<SetName> setNames){
         return ProbabilityAnalysis.reduceToHighestChance(
             new ArrayList<>(){{
                 for(SetName setName : setNames){
-                    addAll(SET_COLLECTIONS.get(setName).packsRarePullChances());
+                    addAll(of(setName).packsRarePullChances());
                 }
             }}
         );
@@ -372,14 +440,14 @@ public final class CardCollection {
      * the provided rarity.
      */
     public ArrayList<Pack> packsHighestChanceOfPullingNewCardOfRarity(SetName setName, Rarity rarity){
-        return this.SET_COLLECTIONS.get(setName).packsHighestChanceOfPullingNewCardOfRarity(rarity);
+        return of(setName).packsHighestChanceOfPullingNewCardOfRarity(rarity);
     }
 
     public ArrayList<Pack> packsHighestChanceOfPullingNewCardOfRarity(ArrayList<SetName> setNames, Rarity rarity){
         return ProbabilityAnalysis.reduceToHighestChance(
             new ArrayList<>(){{
                 for(SetName setName : setNames){
-                    addAll(SET_COLLECTIONS.get(setName).packsRarityPullChances(rarity));
+                    addAll(of(setName).packsRarityPullChances(rarity));
                 }
             }}
         );
@@ -392,14 +460,14 @@ public final class CardCollection {
      * @return the packs that have the lowest chance of pulling a new card.
      */
     public ArrayList<Pack> packsLowestChanceOfPullingNewCard(SetName setName){
-        return this.SET_COLLECTIONS.get(setName).packsLowestChanceOfPullingNewCard();
+        return of(setName).packsLowestChanceOfPullingNewCard();
     }
 
     public ArrayList<Pack> packsLowestChanceOfPullingNewCard(ArrayList<SetName> setNames){
         return ProbabilityAnalysis.reduceToLowestChance(
             new ArrayList<>(){{
                 for(SetName setName : setNames){
-                    addAll(SET_COLLECTIONS.get(setName).packsCompletePullChances());
+                    addAll(of(setName).packsCompletePullChances());
                 }
             }}
         );
@@ -413,14 +481,14 @@ public final class CardCollection {
      * card.
      */
     public ArrayList<Pack> packsLowestChanceOfPullingNewStandardCard(SetName setName){
-        return this.SET_COLLECTIONS.get(setName).packsLowestChanceOfPullingNewStandardCard();
+        return of(setName).packsLowestChanceOfPullingNewStandardCard();
     }
 
     public ArrayList<Pack> packsLowestChanceOfPullingNewStandardCard(ArrayList<SetName> setNames){
         return ProbabilityAnalysis.reduceToLowestChance(
             new ArrayList<>(){{
                 for(SetName setName : setNames){
-                    addAll(SET_COLLECTIONS.get(setName).packsStandardPullChances());
+                    addAll(of(setName).packsStandardPullChances());
                 }
             }}
         );
@@ -434,14 +502,14 @@ public final class CardCollection {
      * card.
      */
     public ArrayList<Pack> packsLowestChanceOfPullingNewRareCard(SetName setName){
-        return this.SET_COLLECTIONS.get(setName).packsLowestChanceOfPullingNewRareCard();
+        return of(setName).packsLowestChanceOfPullingNewRareCard();
     }
 
     public ArrayList<Pack> packsLowestChanceOfPullingNewRareCard(ArrayList<SetName> setNames){
         return ProbabilityAnalysis.reduceToLowestChance(
             new ArrayList<>(){{
                 for(SetName setName : setNames){
-                    addAll(SET_COLLECTIONS.get(setName).packsRarePullChances());
+                    addAll(of(setName).packsRarePullChances());
                 }
             }}
         );
@@ -456,14 +524,14 @@ public final class CardCollection {
      * the provided rarity.
      */
     public ArrayList<Pack> packsLowestChanceOfPullingNewCardOfRarity(SetName setName, Rarity rarity){
-        return this.SET_COLLECTIONS.get(setName).packsLowestChanceOfPullingNewCardOfRarity(rarity);
+        return of(setName).packsLowestChanceOfPullingNewCardOfRarity(rarity);
     }
 
     public ArrayList<Pack> packsLowestChanceOfPullingNewCardOfRarity(ArrayList<SetName> setNames, Rarity rarity){
         return ProbabilityAnalysis.reduceToLowestChance(
             new ArrayList<>(){{
                 for(SetName setName : setNames){
-                    addAll(SET_COLLECTIONS.get(setName).packsRarityPullChances(rarity));
+                    addAll(of(setName).packsRarityPullChances(rarity));
                 }
             }}
         );
@@ -478,7 +546,7 @@ public final class CardCollection {
      * false}.
      */
     public boolean hasCard(SetName setName, Card card){
-        return SET_COLLECTIONS.get(setName).hasCard(card);
+        return of(setName).hasCard(card);
     }
 
     /**
@@ -490,7 +558,7 @@ public final class CardCollection {
      * the provided rarity from the provided pack.
      */
     public double chanceOfPullingNewCardOfRarity(Pack pack, Rarity rarity){
-        return SET_COLLECTIONS.get(pack.SET_NAME).chanceOfPullingNewCardOfRarity(pack, rarity);
+        return of(pack.SET_NAME).chanceOfPullingNewCardOfRarity(pack, rarity);
     }
 
     /**
@@ -501,7 +569,7 @@ public final class CardCollection {
      * obtained.
      */
     public ArrayList<Card> obtainedCards(SetName setName){
-        return SET_COLLECTIONS.get(setName).obtainedCards();
+        return of(setName).obtainedCards();
     }
 
     /**
@@ -512,7 +580,7 @@ public final class CardCollection {
      * have been obtained.
      */
     public ArrayList<Card> obtainedStandardCards(SetName setName){
-        return SET_COLLECTIONS.get(setName).obtainedStandardCards();
+        return of(setName).obtainedStandardCards();
     }
 
     /**
@@ -523,7 +591,7 @@ public final class CardCollection {
      * been obtained.
      */
     public ArrayList<Card> obtainedRareCards(SetName setName){
-        return SET_COLLECTIONS.get(setName).obtainedRareCards();
+        return of(setName).obtainedRareCards();
     }
 
     /**
@@ -535,7 +603,7 @@ public final class CardCollection {
      * have been obtained.
      */
     public ArrayList<Card> obtainedCardsOfRarity(Pack pack, Rarity rarity){
-        return SET_COLLECTIONS.get(pack.SET_NAME).obtainedCardsOfRarity(pack, rarity);
+        return of(pack.SET_NAME).obtainedCardsOfRarity(pack, rarity);
     }
 
     /**
@@ -546,7 +614,17 @@ public final class CardCollection {
      * been obtained.
      */
     public ArrayList<Card> unobtainedCards(SetName setName){
-        return SET_COLLECTIONS.get(setName).unobtainedCards();
+        return of(setName).unobtainedCards();
+    }
+
+    /**
+     * Returns the planner of the pack point purchases of the set with the
+     * provided name.
+     * @param setName the name of the set.
+     * @return the planner of the pack point purchases of the set.
+     */
+    public PackPointPlanner packPointPlanner(SetName setName){
+        return of(setName).packPointPlanner();
     }
 
     /**
@@ -557,7 +635,7 @@ public final class CardCollection {
      * have not yet been obtained.
      */
     public ArrayList<Card> unobtainedStandardCards(SetName setName){
-        return SET_COLLECTIONS.get(setName).unobtainedStandardCards();
+        return of(setName).unobtainedStandardCards();
     }
 
     /**
@@ -568,7 +646,7 @@ public final class CardCollection {
      * not yet been obtained.
      */
     public ArrayList<Card> unobtainedRareCards(SetName setName){
-        return SET_COLLECTIONS.get(setName).unobtainedRareCards();
+        return of(setName).unobtainedRareCards();
     }
 
     /**
@@ -580,6 +658,6 @@ public final class CardCollection {
      * have not yet been obtained.
      */
     public ArrayList<Card> unobtainedCardsOfRarity(Pack pack, Rarity rarity){
-        return SET_COLLECTIONS.get(pack.SET_NAME).unobtainedCardsOfRarity(pack, rarity);
+        return of(pack.SET_NAME).unobtainedCardsOfRarity(pack, rarity);
     }
 }
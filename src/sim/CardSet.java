@@ -1,6 +1,7 @@
 package sim;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 
 /**
@@ -10,18 +11,29 @@ import java.util.HashMap;
  */
 public final class CardSet {
     public final SetName SET_NAME;
+    public final PackRarityRates PACK_RARITY_RATES;
 
     //package-private
     final Card[] CARDS;
+    final int WORDS;
+    final long[] STANDARD_MASK;
+    final long[] RARE_MASK;
+    final long[][] RARITY_MASKS;
+    final long[][] PACK_MASKS;
+    final long[][] PACK_STANDARD_MASKS;
+    final long[][] PACK_RARE_MASKS;
+    final long[][] PACK_EXCLUSIVE_MASKS;
+    final long[][][] PACK_RARITY_MASKS;
+    final int[] SPECIAL_INDICES;
+    final SpecialUnlock[] SPECIAL_PREDICATES;
+    final long[][] SPECIAL_DEPENDENCY_MASKS;
     private final int STANDARD_COUNT;
     private final int RARE_COUNT;
-    private final HashMap<Rarity, Integer> RARITY_TOTAL = new HashMap<>(){{
-        for(Rarity rarity : Rarity.values()){
-            put(rarity, 0);
-        }
-    }};
+    private final int[] RARITY_TOTAL = new int[Rarity.values().length];
 
-    private final HashMap<PackName, Pack> PACKS = new HashMap<>();
+    //In the order provided, so that seeded simulations pick the same packs between runs
+    private final Pack[] PACKS;
+    private final Pack[] PACKS_BY_NAME = new Pack[PackName.values().length];
 
     private final HashMap<Card, SpecialUnlock> SPECIAL_UNLOCKS = new HashMap<>();
 
@@ -37,46 +49,174 @@ public final class CardSet {
     public CardSet(SetName setName, PackName[] packNames, PackRarityRates packRarityRates,
                    Card[] cards, HashMap<Card, SpecialUnlock> specialUnlocks) {
         this.SET_NAME = setName;
+        this.PACK_RARITY_RATES = packRarityRates;
 
         int standardCount = 0;
         this.CARDS = new Card[cards.length];
         for(int i = 0; i < this.CARDS.length; i++){
+            if(cards[i].setIndex != -1){
+                throw new SetConstructionError("card cannot be a member of more than one set, or appear twice in a set: " + cards[i].CARD_NUM + " " + cards[i].NAME);
+            }
+            cards[i].setIndex = i;
             this.CARDS[i] = cards[i];
             if(this.CARDS[i].RARITY.ordinal() < Rarity.S.ordinal()){
                 standardCount++;
             }
-            RARITY_TOTAL.replace(this.CARDS[i].RARITY, RARITY_TOTAL.get(this.CARDS[i].RARITY) + 1);
+            RARITY_TOTAL[this.CARDS[i].RARITY.ordinal()]++;
         }
         this.STANDARD_COUNT = standardCount;
         this.RARE_COUNT = this.CARDS.length - this.STANDARD_COUNT;
 
-        for(PackName packName : packNames){
-            this.PACKS.put(
-                    packName,
-                    new Pack(
-                            packName,
-                            this.SET_NAME,
-                            packRarityRates,
-                            new ArrayList<>(){{
-                                for (Card card : CARDS) {
-                                    if (card.isIn(packName)) {
-                                        add(card);
-                                    }
-                                }
-                            }}
-                    )
-            );
+        //Masks are kept for every pack name, so that packs of other sets simply match no cards
+        final int RARITIES = Rarity.values().length;
+        final int PACK_NAMES = PackName.values().length;
+        this.WORDS = (this.CARDS.length + 63) >>> 6;
+        this.STANDARD_MASK = new long[WORDS];
+        this.RARE_MASK = new long[WORDS];
+        this.RARITY_MASKS = new long[RARITIES][WORDS];
+        this.PACK_MASKS = new long[PACK_NAMES][WORDS];
+        this.PACK_STANDARD_MASKS = new long[PACK_NAMES][WORDS];
+        this.PACK_RARE_MASKS = new long[PACK_NAMES][WORDS];
+        this.PACK_EXCLUSIVE_MASKS = new long[PACK_NAMES][WORDS];
+        this.PACK_RARITY_MASKS = new long[PACK_NAMES][RARITIES][WORDS];
+        for(int i = 0; i < this.CARDS.length; i++){
+            final int WORD = i >>> 6;
+            final long BIT = 1L << i;
+            final Card CARD = this.CARDS[i];
+            final boolean IS_STANDARD = CARD.isStandardRarity();
+            (IS_STANDARD ? this.STANDARD_MASK : this.RARE_MASK)[WORD] |= BIT;
+            this.RARITY_MASKS[CARD.RARITY.ordinal()][WORD] |= BIT;
+            if(CARD.PACK_NAMES != null){
+                for(PackName packName : CARD.PACK_NAMES){
+                    final int PACK = packName.ordinal();
+                    this.PACK_MASKS[PACK][WORD] |= BIT;
+                    (IS_STANDARD ? this.PACK_STANDARD_MASKS : this.PACK_RARE_MASKS)[PACK][WORD] |= BIT;
+                    this.PACK_RARITY_MASKS[PACK][CARD.RARITY.ordinal()][WORD] |= BIT;
+                    if(CARD.isExclusivelyIn(packName)){
+                        this.PACK_EXCLUSIVE_MASKS[PACK][WORD] |= BIT;
+                    }
+                }
+            }
         }
 
+        this.PACKS = new Pack[packNames.length];
+        buildPacks(packNames);
+
         for(Card card : specialUnlocks.keySet()){
-            if(card.isSpecialUnlock()){
-                this.SPECIAL_UNLOCKS.put(card, specialUnlocks.get(card));
-            } else {
+            if(!card.isSpecialUnlock()){
                 throw new SetConstructionError("set cannot have a special unlock for a card that is not a special unlock: " + card.CARD_NUM + " " + card.NAME);
+            } else if(indexOf(card) == -1){
+                throw new SetConstructionError("set cannot have a special unlock for a card outside of the set: " + card.CARD_NUM + " " + card.NAME);
+            }
+            this.SPECIAL_UNLOCKS.put(card, specialUnlocks.get(card));
+        }
+
+        //Special unlocks are kept in set order, each with the cards whose first copy can change its result
+        this.SPECIAL_INDICES = new int[this.SPECIAL_UNLOCKS.size()];
+        int specials = 0;
+        for(int i = 0; i < this.CARDS.length; i++){
+            if(this.SPECIAL_UNLOCKS.containsKey(this.CARDS[i])){
+                this.SPECIAL_INDICES[specials++] = i;
+            }
+        }
+        this.SPECIAL_PREDICATES = new SpecialUnlock[specials];
+        this.SPECIAL_DEPENDENCY_MASKS = new long[specials][WORDS];
+        for(int i = 0; i < specials; i++){
+            this.SPECIAL_PREDICATES[i] = this.SPECIAL_UNLOCKS.get(this.CARDS[this.SPECIAL_INDICES[i]]);
+            for(int j = 0; j < this.CARDS.length; j++){
+                if(this.SPECIAL_PREDICATES[i].dependsOn(this.CARDS[j])){
+                    this.SPECIAL_DEPENDENCY_MASKS[i][j >>> 6] |= 1L << j;
+                }
             }
         }
     }
 
+    /**
+     * Private constructor that copies the provided set with the provided
+     * pack rarity rates. The copy shares the cards, masks and special unlocks
+     * of the provided set, and only its packs are built anew.
+     * @param cardSet the set to be copied.
+     * @param packRarityRates the rarity rates of the packs of the copy.
+     */
+    private CardSet(CardSet cardSet, PackRarityRates packRarityRates){
+        this.SET_NAME = cardSet.SET_NAME;
+        this.PACK_RARITY_RATES = packRarityRates;
+        this.CARDS = cardSet.CARDS;
+        this.WORDS = cardSet.WORDS;
+        this.STANDARD_MASK = cardSet.STANDARD_MASK;
+        this.RARE_MASK = cardSet.RARE_MASK;
+        this.RARITY_MASKS = cardSet.RARITY_MASKS;
+        this.PACK_MASKS = cardSet.PACK_MASKS;
+        this.PACK_STANDARD_MASKS = cardSet.PACK_STANDARD_MASKS;
+        this.PACK_RARE_MASKS = cardSet.PACK_RARE_MASKS;
+        this.PACK_EXCLUSIVE_MASKS = cardSet.PACK_EXCLUSIVE_MASKS;
+        this.PACK_RARITY_MASKS = cardSet.PACK_RARITY_MASKS;
+        this.SPECIAL_INDICES = cardSet.SPECIAL_INDICES;
+        this.SPECIAL_PREDICATES = cardSet.SPECIAL_PREDICATES;
+        this.SPECIAL_DEPENDENCY_MASKS = cardSet.SPECIAL_DEPENDENCY_MASKS;
+        this.STANDARD_COUNT = cardSet.STANDARD_COUNT;
+        this.RARE_COUNT = cardSet.RARE_COUNT;
+        System.arraycopy(cardSet.RARITY_TOTAL, 0, this.RARITY_TOTAL, 0, this.RARITY_TOTAL.length);
+        this.SPECIAL_UNLOCKS.putAll(cardSet.SPECIAL_UNLOCKS);
+
+        final PackName[] PACK_NAMES = new PackName[cardSet.PACKS.length];
+        for(int i = 0; i < PACK_NAMES.length; i++){
+            PACK_NAMES[i] = cardSet.PACKS[i].NAME;
+        }
+        this.PACKS = new Pack[PACK_NAMES.length];
+        buildPacks(PACK_NAMES);
+    }
+
+    /**
+     * (package-private) Returns a copy of the instance whose packs are drawn
+     * with the provided pack rarity rates. Intended to be used only by
+     * {@code RateTables} in order for it to swap rate tables without
+     * rebuilding the cards of a set.
+     * @param packRarityRates the rarity rates of the packs of the copy.
+     * @return the instance itself, if it already uses the provided rates.
+     * Else, a copy using the provided rates.
+     */
+    CardSet withRates(PackRarityRates packRarityRates){
+        return packRarityRates == PACK_RARITY_RATES ? this : new CardSet(this, packRarityRates);
+    }
+
+    /**
+     * Helper method that builds the packs of the provided names, in the
+     * order provided, from the cards of the instance and its pack rarity
+     * rates.
+     * @param packNames the names of the packs within the set.
+     */
+    private void buildPacks(PackName[] packNames){
+        for(int i = 0; i < packNames.length; i++){
+            final PackName packName = packNames[i];
+            this.PACKS[i] = new Pack(
+                    packName,
+                    this.SET_NAME,
+                    this.PACK_RARITY_RATES,
+                    new ArrayList<>(){{
+                        for (Card card : CARDS) {
+                            if (card.isIn(packName)) {
+                                add(card);
+                            }
+                        }
+                    }}
+            );
+            this.PACKS_BY_NAME[packName.ordinal()] = this.PACKS[i];
+        }
+    }
+
+    /**
+     * (package-private) Returns the dense index of the provided card within
+     * the set.
+     * @param card the card to be found.
+     * @return the index of the card within the set, if it is a member of the
+     * set. Else, {@code -1}.
+     */
+    int indexOf(Card card){
+        final int INDEX = card.setIndex;
+        return INDEX > -1 && INDEX < this.CARDS.length && this.CARDS[INDEX] == card ? INDEX : -1;
+    }
+
     /**
      * Returns the total number of cards within the complete set.
      * @return the total number of cards within the complete set.
@@ -107,7 +247,7 @@ public final class CardSet {
      * @return the total number of cards of the provided rarity.
      */
     public int rarityTotal(Rarity rarity){
-        return this.RARITY_TOTAL.get(rarity);
+        return this.RARITY_TOTAL[rarity.ordinal()];
     }
 
     /**
@@ -116,7 +256,17 @@ public final class CardSet {
      * @return the pack with the provided pack name.
      */
     public Pack getPack(PackName packName){
-        return this.PACKS.get(packName);
+        return this.PACKS_BY_NAME[packName.ordinal()];
+    }
+
+    /**
+     * Returns the pack at the provided position within the set, in the order
+     * of {@link #packs()}.
+     * @param index the position of the pack to be obtained.
+     * @return the pack at the provided position within the set.
+     */
+    public Pack packAt(int index){
+        return this.PACKS[index];
     }
 
     /**
@@ -124,7 +274,7 @@ public final class CardSet {
      * @return all packs within the set.
      */
     public ArrayList<Pack> packs(){
-        return new ArrayList<>(PACKS.values());
+        return new ArrayList<>(Arrays.asList(PACKS));
     }
 
     /**
@@ -132,7 +282,7 @@ public final class CardSet {
      * @return the total number of packs within the set.
      */
     public int packCount(){
-        return PACKS.size();
+        return PACKS.length;
     }
 
     /**
@@ -1,5 +1,6 @@
 package sim;
 
+import java.util.Arrays;
 import java.util.HashMap;
 
 /**
@@ -10,7 +11,7 @@ import java.util.HashMap;
 public final class CardSets {
     private static final CreatureCard MEW_A1_283 = new CreatureCard(283, Creature.MEW, CreatureCardType.STANDARD, Rarity.SSS, null);
 
-    private static final PackRarityRates STANDARD_PACK_RARITY_RATES = new PackRarityRates(
+    public static final PackRarityRates STANDARD_PACK_RARITY_RATES = new PackRarityRates(
         new DrawRarityRates(
             Fraction.ONE,
             Fraction.ZERO,
@@ -73,7 +74,7 @@ public final class CardSets {
         )
     );
 
-    private static final PackRarityRates SHINY_PACK_RARITY_RATES = new PackRarityRates(
+    public static final PackRarityRates SHINY_PACK_RARITY_RATES = new PackRarityRates(
         new DrawRarityRates(
             Fraction.ONE,
             Fraction.ZERO,
@@ -429,28 +430,8 @@ public final class CardSets {
             new CreatureCard(286, Creature.MEWTWO, CreatureCardType.EX, Rarity.C, new PackName[]{PackName.CHARIZARD, PackName.MEWTWO, PackName.PIKACHU})
         },
         new HashMap<>(){{
-            put(MEW_A1_283, (setCollection) -> {
-                HashMap<Creature, Integer> count = new HashMap<>();
-
-                for(Card card : setCollection.CARD_SET.CARDS){
-                    if(card instanceof CreatureCard creatureCard){
-                        if(count.containsKey(creatureCard.CREATURE)){
-                            count.replace(creatureCard.CREATURE, count.get(creatureCard.CREATURE) +  setCollection.cardCount(card));
-                        } else {
-                            count.put(creatureCard.CREATURE, setCollection.cardCount(card));
-                        }
-                    }
-                }
-
-                Creature[] creatures = Creature.values();
-                for(int i = 0; i < 151; i++){
-                    if(count.get(creatures[0]) == 0){
-                        return false;
-                    }
-                }
-
-                return true;
-            });
+            //Mew is unlocked by obtaining every other creature of the Kanto region
+            put(MEW_A1_283, SpecialUnlock.allCreaturesObtained(Arrays.copyOfRange(Creature.values(), Creature.BULBASAUR.ordinal(), Creature.MEW.ordinal())));
         }}
     );
 
@@ -1350,15 +1331,17 @@ public final class CardSets {
         new HashMap<>()
     );
 
-    private static final HashMap<SetName, CardSet> CARD_SETS = new HashMap<>(){{
-        put(SetName.GENETIC_APEX, GENETIC_APEX);
-        put(SetName.MYTHICAL_ISLAND, MYTHICAL_ISLAND);
-        put(SetName.SPACE_TIME_SMACKDOWN, SPACE_TIME_SMACKDOWN);
-        put(SetName.TRIUMPHANT_LIGHT, TRIUMPHANT_LIGHT);
-        put(SetName.SHINING_REVELRY, SHINING_REVELRY);
-        put(SetName.CELESTIAL_GUARDIANS, CELESTIAL_GUARDIANS);
-        put(SetName.EXTRADIMENSIONAL_CRISIS, EXTRADIMENSIONAL_CRISIS);
-    }};
+    //Indexed by set name ordinal
+    private static final CardSet[] CARD_SETS = new CardSet[SetName.values().length];
+    static {
+        CARD_SETS[SetName.GENETIC_APEX.ordinal()] = GENETIC_APEX;
+        CARD_SETS[SetName.MYTHICAL_ISLAND.ordinal()] = MYTHICAL_ISLAND;
+        CARD_SETS[SetName.SPACE_TIME_SMACKDOWN.ordinal()] = SPACE_TIME_SMACKDOWN;
+        CARD_SETS[SetName.TRIUMPHANT_LIGHT.ordinal()] = TRIUMPHANT_LIGHT;
+        CARD_SETS[SetName.SHINING_REVELRY.ordinal()] = SHINING_REVELRY;
+        CARD_SETS[SetName.CELESTIAL_GUARDIANS.ordinal()] = CELESTIAL_GUARDIANS;
+        CARD_SETS[SetName.EXTRADIMENSIONAL_CRISIS.ordinal()] = EXTRADIMENSIONAL_CRISIS;
+    }
 
     /**
      * Private constructor that disallows any instances of the utility class.
@@ -1371,6 +1354,6 @@ public final class CardSets {
      * @return the set associated with the provided set name.
      */
     public static CardSet get(SetName setName){
-        return CARD_SETS.get(setName);
+        return CARD_SETS[setName.ordinal()];
     }
 }
@@ -0,0 +1,102 @@
+package sim;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * (package-private) An instance of this class is used to draw cards with
+ * antithetic or stratified draws. {@code Pack.pullControlled} takes one
+ * uniform number from {@link #nextDrawUniform()} for every card it draws,
+ * and uses that one number to pick both the rarity and the card within it.
+ * Each run has one instance for the slots of its packs, chosen once by its
+ * {@code Profile}, and another for the cards of its Wonder Picks. Those
+ * uniform numbers are taken according to a {@code VarianceReduction}, and
+ * every other random number from a plain stream:
+ * <ul>
+ * <li>{@link VarianceReduction#ANTITHETIC}: both runs of a pair share a
+ * stream of uniform numbers, and the second run uses their complements.</li>
+ * <li>{@link VarianceReduction#STRATIFIED}: the runs of a block form a Latin
+ * hypercube. For every draw, each run of the block takes its uniform number
+ * from a different stratum of {@code [0, 1)}, with a separate random
+ * assignment of strata to runs per draw.</li>
+ * </ul>
+ * Each run on its own still draws every card with its exact probability.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+final class ControlledDrawRandom implements RandomGenerator {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final SplittableRandom RAND;
+    private final SplittableRandom UNIFORMS;
+    private final VarianceReduction REDUCTION;
+    private final boolean COMPLEMENT;
+    private final long BLOCK_KEY;
+    private final int POSITION;
+    private long draws;
+
+    /**
+     * (package-private) Instantiates an instance of {@code
+     * ControlledDrawRandom}. Intended to be used only by {@code
+     * RandomStreams}.
+     * @param RAND the stream of every random number other than the uniform
+     * numbers of card draws.
+     * @param UNIFORMS the stream from which the uniform numbers of card
+     * draws are derived.
+     * @param REDUCTION the variance-reduction technique.
+     * @param COMPLEMENT whether or not to take the complement of every
+     * uniform number, for the second run of an antithetic pair.
+     * @param BLOCK_KEY the key of the strata assignments of the block of the
+     * run, for stratified runs.
+     * @param POSITION the position of the run within its block, for
+     * stratified runs.
+     */
+    ControlledDrawRandom(final SplittableRandom RAND, final SplittableRandom UNIFORMS, final VarianceReduction REDUCTION,
+                         final boolean COMPLEMENT, final long BLOCK_KEY, final int POSITION){
+        this.RAND = RAND;
+        this.UNIFORMS = UNIFORMS;
+        this.REDUCTION = REDUCTION;
+        this.COMPLEMENT = COMPLEMENT;
+        this.BLOCK_KEY = BLOCK_KEY;
+        this.POSITION = POSITION;
+        this.draws = 0;
+    }
+
+    @Override
+    public long nextLong(){
+        return RAND.nextLong();
+    }
+
+    @Override
+    public int nextInt(int bound){
+        return RAND.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong(long bound){
+        return RAND.nextLong(bound);
+    }
+
+    /**
+     * (package-private) Returns the uniform number of the next card draw.
+     * Intended to be used only by {@code Pack}, which picks both the rarity
+     * and the card of the draw from it.
+     * @return a uniform number from {@code 0} to {@code 1}.
+     */
+    double nextDrawUniform(){
+        final double UNIFORM = UNIFORMS.nextDouble();
+        final long DRAW = draws++;
+        if(REDUCTION == VarianceReduction.ANTITHETIC){
+            return COMPLEMENT ? 1 - UNIFORM : UNIFORM;
+        }
+        if(REDUCTION != VarianceReduction.STRATIFIED){
+            return UNIFORM;
+        }
+
+        //A keyed bijection of the positions of a block assigns each run its stratum for this draw
+        final int STRATA = REDUCTION.UNIT_SIZE;
+        final long KEY = RandomStreams.mix(BLOCK_KEY + (DRAW + 1) * GOLDEN_GAMMA);
+        final int STRATUM = (int) ((((POSITION ^ KEY) * (KEY >>> 32 | 1)) + (KEY >>> 16)) & (STRATA - 1));
+        return (STRATUM + UNIFORM) / STRATA;
+    }
+}
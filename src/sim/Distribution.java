@@ -0,0 +1,30 @@
+package sim;
+
+/**
+ * An instance of this class is used to describe the distribution of the
+ * attempts needed to reach a {@code Milestone}, whether estimated from
+ * simulations or computed exactly.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public interface Distribution {
+    /**
+     * Returns the provided percentile of the distribution: the smallest value
+     * whose cumulative probability is at least the percentile.
+     * @param percent the percentile, from {@code 0} to {@code 100}.
+     * @return the provided percentile of the distribution.
+     */
+    int percentile(double percent);
+
+    /**
+     * Returns the mean of the distribution.
+     * @return the mean of the distribution.
+     */
+    double mean();
+
+    /**
+     * Returns the standard deviation of the distribution.
+     * @return the standard deviation of the distribution.
+     */
+    double standardDeviation();
+}
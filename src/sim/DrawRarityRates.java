@@ -1,7 +1,7 @@
 package sim;
 
-import java.util.HashMap;
-import java.util.Random;
+import java.math.BigInteger;
+import java.util.random.RandomGenerator;
 
 /**
  * An instance of this class is used to represent the draw rate of the
@@ -11,13 +11,29 @@ import java.util.Random;
  * @since 0.1.0
  */
 public final class DrawRarityRates {
-    private final HashMap<Rarity, Fraction> RATES = new HashMap<>();
+    public static final long REWEIGHT_SCALE = 1000;
+    public static final long APPROXIMATE_TOTAL_WEIGHT = 1L << 52;
+
+    private static final Rarity[] RARITIES = Rarity.values();
+
+    private final Fraction[] RATES = new Fraction[RARITIES.length];
     private final long TOTAL_WEIGHT;
-    private final HashMap<Rarity, Long> CUTOFFS = new HashMap<>();
+    private final long[] WEIGHTS;
+    private final long[] CUMULATIVE_WEIGHTS;
+    private final Rarity[] OUTCOMES;
+    private final Rarity[] ALIASES;
+    private final long[] THRESHOLDS;
+    private final long ROLL_BOUND;
 
     /**
      * Instantiates an instance of {@code DrawRarityRates}, with the provided
      * draw rates for each rarity.
+     * <p>
+     * The draw is exact whenever the lcm of the denominators times the
+     * number of rarities fits in a {@code long}. Otherwise, the cumulative
+     * rates are rounded down to multiples of one part in {@link
+     * #APPROXIMATE_TOTAL_WEIGHT}, so every probability drawn is within
+     * 2<sup>-51</sup> of its rate.
      * @param D draw rate for a {@code Rarity} of {@code D}.
      * @param DD draw rate for a {@code Rarity} of {@code DD}.
      * @param DDD draw rate for a {@code Rarity} of {@code DDD}.
@@ -34,40 +50,96 @@ public final class DrawRarityRates {
                            final Fraction S, final Fraction SS,
                            final Fraction SSS, final Fraction R,
                            final Fraction RR, final Fraction C){
-        this.RATES.put(Rarity.D, D);
-        this.RATES.put(Rarity.DD, DD);
-        this.RATES.put(Rarity.DDD, DDD);
-        this.RATES.put(Rarity.DDDD, DDDD);
-        this.RATES.put(Rarity.S, S);
-        this.RATES.put(Rarity.SS, SS);
-        this.RATES.put(Rarity.SSS, SSS);
-        this.RATES.put(Rarity.R, R);
-        this.RATES.put(Rarity.RR, RR);
-        this.RATES.put(Rarity.C, C);
-
-        this.TOTAL_WEIGHT = Fraction.lcm(
-            RATES.get(Rarity.D),
-            RATES.get(Rarity.DD),
-            RATES.get(Rarity.DDD),
-            RATES.get(Rarity.DDDD),
-            RATES.get(Rarity.S),
-            RATES.get(Rarity.SS),
-            RATES.get(Rarity.SSS),
-            RATES.get(Rarity.R),
-            RATES.get(Rarity.RR),
-            RATES.get(Rarity.C)
-        );
-
-        this.CUTOFFS.put(Rarity.D, D.NUM * (this.TOTAL_WEIGHT / D.DEN));
-        this.CUTOFFS.put(Rarity.DD, this.CUTOFFS.get(Rarity.D) + (DD.NUM * (this.TOTAL_WEIGHT / DD.DEN)));
-        this.CUTOFFS.put(Rarity.DDD, this.CUTOFFS.get(Rarity.DD) + (DDD.NUM * (this.TOTAL_WEIGHT / DDD.DEN)));
-        this.CUTOFFS.put(Rarity.DDDD, this.CUTOFFS.get(Rarity.DDD) + (DDDD.NUM * (this.TOTAL_WEIGHT / DDDD.DEN)));
-        this.CUTOFFS.put(Rarity.S, this.CUTOFFS.get(Rarity.DDDD) + (S.NUM * (this.TOTAL_WEIGHT / S.DEN)));
-        this.CUTOFFS.put(Rarity.SS, this.CUTOFFS.get(Rarity.S) + (SS.NUM * (this.TOTAL_WEIGHT / SS.DEN)));
-        this.CUTOFFS.put(Rarity.SSS, this.CUTOFFS.get(Rarity.SS) + (SSS.NUM * (this.TOTAL_WEIGHT / SSS.DEN)));
-        this.CUTOFFS.put(Rarity.R, this.CUTOFFS.get(Rarity.SSS) + (R.NUM * (this.TOTAL_WEIGHT / R.DEN)));
-        this.CUTOFFS.put(Rarity.RR, this.CUTOFFS.get(Rarity.R) + (RR.NUM * (this.TOTAL_WEIGHT / RR.DEN)));
-        this.CUTOFFS.put(Rarity.C, this.CUTOFFS.get(Rarity.RR) + (C.NUM * (this.TOTAL_WEIGHT / C.DEN)));
+        this.RATES[Rarity.D.ordinal()] = D;
+        this.RATES[Rarity.DD.ordinal()] = DD;
+        this.RATES[Rarity.DDD.ordinal()] = DDD;
+        this.RATES[Rarity.DDDD.ordinal()] = DDDD;
+        this.RATES[Rarity.S.ordinal()] = S;
+        this.RATES[Rarity.SS.ordinal()] = SS;
+        this.RATES[Rarity.SSS.ordinal()] = SSS;
+        this.RATES[Rarity.R.ordinal()] = R;
+        this.RATES[Rarity.RR.ordinal()] = RR;
+        this.RATES[Rarity.C.ordinal()] = C;
+
+        final BigInteger EXACT_TOTAL = Fraction.bigLcm(D, DD, DDD, DDDD, S, SS, SSS, R, RR, C);
+        final boolean EXACT = EXACT_TOTAL.compareTo(BigInteger.valueOf(Long.MAX_VALUE / RARITIES.length)) <= 0;
+        this.TOTAL_WEIGHT = EXACT ? EXACT_TOTAL.longValue() : APPROXIMATE_TOTAL_WEIGHT;
+
+        //Each rarity owns the slice of [0, TOTAL_WEIGHT) between its cutoffs; any remainder falls to C
+        this.WEIGHTS = new long[RARITIES.length];
+        final BigInteger TOTAL = BigInteger.valueOf(this.TOTAL_WEIGHT);
+        BigInteger exactCutoff = BigInteger.ZERO;
+        long cutoff = 0;
+        for(int i = 0; i < RARITIES.length; i++){
+            final Fraction RATE = this.RATES[i];
+            if(RATE.NUM > 0){
+                exactCutoff = exactCutoff.add(BigInteger.valueOf(RATE.NUM).multiply(EXACT_TOTAL.divide(BigInteger.valueOf(RATE.DEN))));
+                final long NEXT = exactCutoff.multiply(TOTAL).divide(EXACT_TOTAL).min(TOTAL).longValue();
+                if(NEXT > cutoff){
+                    WEIGHTS[i] = NEXT - cutoff;
+                    cutoff = NEXT;
+                }
+            }
+        }
+        WEIGHTS[Rarity.C.ordinal()] += this.TOTAL_WEIGHT - cutoff;
+
+        this.CUMULATIVE_WEIGHTS = new long[RARITIES.length];
+        long cumulative = 0;
+        for(int i = 0; i < RARITIES.length; i++){
+            cumulative += WEIGHTS[i];
+            this.CUMULATIVE_WEIGHTS[i] = cumulative;
+        }
+
+        int outcomes = 0;
+        for(long weight : WEIGHTS){
+            if(weight > 0){
+                outcomes++;
+            }
+        }
+
+        this.OUTCOMES = new Rarity[outcomes];
+        this.ALIASES = new Rarity[outcomes];
+        this.THRESHOLDS = new long[outcomes];
+        this.ROLL_BOUND = Math.multiplyExact(this.TOTAL_WEIGHT, (long) outcomes);
+
+        //Vose's alias method, kept in integers: every bucket holds exactly TOTAL_WEIGHT
+        final long[] SCALED = new long[outcomes];
+        final int[] SMALL = new int[outcomes];
+        final int[] LARGE = new int[outcomes];
+        int smallSize = 0;
+        int largeSize = 0;
+        int bucket = 0;
+        for(int i = 0; i < RARITIES.length; i++){
+            if(WEIGHTS[i] > 0){
+                this.OUTCOMES[bucket] = RARITIES[i];
+                this.ALIASES[bucket] = RARITIES[i];
+                SCALED[bucket] = Math.multiplyExact(WEIGHTS[i], (long) outcomes);
+                if(SCALED[bucket] < this.TOTAL_WEIGHT){
+                    SMALL[smallSize++] = bucket;
+                } else {
+                    LARGE[largeSize++] = bucket;
+                }
+                bucket++;
+            }
+        }
+        while(smallSize > 0 && largeSize > 0){
+            final int LESS = SMALL[--smallSize];
+            final int MORE = LARGE[--largeSize];
+            this.THRESHOLDS[LESS] = SCALED[LESS];
+            this.ALIASES[LESS] = this.OUTCOMES[MORE];
+            SCALED[MORE] -= this.TOTAL_WEIGHT - SCALED[LESS];
+            if(SCALED[MORE] < this.TOTAL_WEIGHT){
+                SMALL[smallSize++] = MORE;
+            } else {
+                LARGE[largeSize++] = MORE;
+            }
+        }
+        while(largeSize > 0){
+            this.THRESHOLDS[LARGE[--largeSize]] = this.TOTAL_WEIGHT;
+        }
+        while(smallSize > 0){
+            this.THRESHOLDS[SMALL[--smallSize]] = this.TOTAL_WEIGHT;
+        }
     }
 
     /**
@@ -76,24 +148,146 @@ public final class DrawRarityRates {
      * @return the draw rate of the provided rarity.
      */
     public Fraction ofRarity(Rarity rarity){
-        return RATES.get(rarity);
+        return RATES[rarity.ordinal()];
     }
 
     /**
-     * Returns a random {@code Rarity} based on the weights of the draw rates
-     * of the instance.
-     * @return a random {@code Rarity}.
+     * Returns the probability with which {@link #draw(RandomGenerator)}
+     * returns the provided rarity. This is the draw rate of the rarity,
+     * except where the draw rates do not sum to one, as any remainder is
+     * drawn as {@code C}.
+     * @param rarity the rarity for which to obtain the probability of.
+     * @return the probability of drawing the provided rarity.
+     */
+    public double chanceOf(Rarity rarity){
+        return (double) WEIGHTS[rarity.ordinal()] / TOTAL_WEIGHT;
+    }
+
+    /**
+     * (package-private) Returns the draw rates of the instance given that
+     * the rarity drawn can be offered by a {@code WonderPick}: every rarity
+     * without a Wonder Pick stamina cost is dropped, and the probability of
+     * every other is divided by their sum. Intended to be used only by
+     * {@code WonderPickGenerator} in order for it to draw valid Wonder Picks
+     * without rejecting any.
+     * @return the conditional draw rates, or {@code null} if no rarity that
+     * can be offered is ever drawn.
+     */
+    DrawRarityRates givenWonderPick(){
+        long eligibleWeight = 0;
+        for(Rarity rarity : RARITIES){
+            if(rarity.WONDER_STAMINA_COST != null){
+                eligibleWeight += WEIGHTS[rarity.ordinal()];
+            }
+        }
+        if(eligibleWeight == 0){
+            return null;
+        }
+
+        final Fraction[] CONDITIONAL = new Fraction[RARITIES.length];
+        for(Rarity rarity : RARITIES){
+            CONDITIONAL[rarity.ordinal()] = rarity.WONDER_STAMINA_COST == null || WEIGHTS[rarity.ordinal()] == 0
+                    ? Fraction.ZERO
+                    : Fraction.reduce(new Fraction(WEIGHTS[rarity.ordinal()], eligibleWeight));
+        }
+
+        return new DrawRarityRates(CONDITIONAL[0], CONDITIONAL[1], CONDITIONAL[2], CONDITIONAL[3], CONDITIONAL[4],
+                CONDITIONAL[5], CONDITIONAL[6], CONDITIONAL[7], CONDITIONAL[8], CONDITIONAL[9]);
+    }
+
+    /**
+     * Returns the draw rates of the instance with the probability of the
+     * provided rarity scaled by the provided factor, renormalised so that
+     * the probabilities still sum to one. Every other rarity keeps its
+     * share of the rest. The weights are refined by {@link #REWEIGHT_SCALE}
+     * before the weight of the rarity is rounded, so small factors are kept
+     * closely; the probability actually drawn is given by {@link
+     * #chanceOf(Rarity)} of the result.
+     * @param rarity the rarity whose probability is to be scaled.
+     * @param factor the factor by which to scale the weight of the rarity.
+     * @return the renormalised draw rates.
+     * @throws IllegalArgumentException if the factor is not positive, or the
+     * rarity is never drawn.
+     * @throws ArithmeticException if the refined weights overflow.
      */
-    public Rarity draw(){
-        final long ROLL = new Random().nextLong(TOTAL_WEIGHT);
+    public DrawRarityRates reweighted(Rarity rarity, double factor){
+        if(!(factor > 0)){
+            throw new IllegalArgumentException("factor must be positive: " + factor);
+        }
+        if(WEIGHTS[rarity.ordinal()] == 0){
+            throw new IllegalArgumentException("rarity is never drawn: " + rarity.name());
+        }
 
-        final Rarity[] RARITIES = Rarity.values();
+        final long[] SCALED = new long[RARITIES.length];
+        long total = 0;
         for(int i = 0; i < RARITIES.length; i++){
-            if(ROLL < CUTOFFS.get(RARITIES[i]) && this.RATES.get(RARITIES[i]).NUM > 0){
-                return RARITIES[i];
+            SCALED[i] = Math.multiplyExact(WEIGHTS[i], REWEIGHT_SCALE);
+            if(i == rarity.ordinal()){
+                SCALED[i] = Math.max(1, Math.round(SCALED[i] * factor));
             }
+            total = Math.addExact(total, SCALED[i]);
+        }
+
+        final Fraction[] REWEIGHTED = new Fraction[RARITIES.length];
+        for(int i = 0; i < RARITIES.length; i++){
+            REWEIGHTED[i] = SCALED[i] == 0 ? Fraction.ZERO : Fraction.reduce(new Fraction(SCALED[i], total));
         }
 
-        return Rarity.C;
+        return new DrawRarityRates(REWEIGHTED[0], REWEIGHTED[1], REWEIGHTED[2], REWEIGHTED[3], REWEIGHTED[4],
+                REWEIGHTED[5], REWEIGHTED[6], REWEIGHTED[7], REWEIGHTED[8], REWEIGHTED[9]);
+    }
+
+    /**
+     * Returns a random {@code Rarity} based on the weights of the draw rates
+     * of the instance. The draw takes constant time, using alias tables
+     * built when the instance was constructed.
+     * @param rand the random number generator used for the draw.
+     * @return a random {@code Rarity}.
+     */
+    public Rarity draw(RandomGenerator rand){
+        if(OUTCOMES.length == 1){
+            return OUTCOMES[0];
+        }
+
+        //A single roll picks both the bucket and the position within it
+        final long ROLL = rand.nextLong(ROLL_BOUND);
+        final int BUCKET = (int) (ROLL / TOTAL_WEIGHT);
+
+        return ROLL - BUCKET * TOTAL_WEIGHT < THRESHOLDS[BUCKET] ? OUTCOMES[BUCKET] : ALIASES[BUCKET];
+    }
+
+    /**
+     * Returns the {@code Rarity} at the provided position of the cumulative
+     * draw rates of the instance, in the order of {@code Rarity}. A uniformly
+     * random position draws every rarity with its probability, and a smaller
+     * position never draws a later rarity than a larger one, which is what
+     * antithetic and stratified draws rely upon.
+     * @param uniform the position, from {@code 0} to {@code 1}.
+     * @return the {@code Rarity} at the provided position.
+     */
+    public Rarity draw(double uniform){
+        final long ROLL = Math.min(TOTAL_WEIGHT - 1, Math.max(0, (long) (uniform * TOTAL_WEIGHT)));
+        int i = 0;
+        while(ROLL >= CUMULATIVE_WEIGHTS[i]){
+            i++;
+        }
+
+        return RARITIES[i];
+    }
+
+    /**
+     * Returns the position of the provided uniform number within the slice
+     * of the cumulative draw rates belonging to the provided rarity, such
+     * that a uniform number drawing the rarity through {@link #draw(double)}
+     * leaves a position that is itself uniform.
+     * @param rarity the rarity drawn by the uniform number.
+     * @param uniform the uniform number, from {@code 0} to {@code 1}.
+     * @return the position within the slice of the rarity, from {@code 0}
+     * to {@code 1}.
+     */
+    public double positionWithin(Rarity rarity, double uniform){
+        final long END = CUMULATIVE_WEIGHTS[rarity.ordinal()];
+        final long START = END - WEIGHTS[rarity.ordinal()];
+        return Math.min(1, Math.max(0, (uniform * TOTAL_WEIGHT - START) / WEIGHTS[rarity.ordinal()]));
     }
 }
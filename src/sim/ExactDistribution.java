@@ -0,0 +1,93 @@
+package sim;
+
+/**
+ * An instance of this class is used to hold the exact distribution of the
+ * attempts needed to reach a {@code Milestone}, as computed by an {@code
+ * ExactSolver}. The distribution is stored as its cumulative probabilities,
+ * up to the first number of attempts past which the remaining probability is
+ * negligible.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class ExactDistribution implements Distribution {
+    private final double[] CDF;
+    private final double MEAN;
+    private final double STANDARD_DEVIATION;
+
+    /**
+     * (package-private) Instantiates an instance of {@code ExactDistribution}.
+     * Intended to be used only by {@code ExactSolver}.
+     * @param CDF the probability of having reached the milestone by each
+     * number of attempts, where the last entry is within the solver's
+     * tolerance of one.
+     */
+    ExactDistribution(final double[] CDF){
+        this.CDF = CDF;
+
+        //E[T] = sum P(T > n) and E[T^2] = sum (2n + 1) P(T > n)
+        double mean = 0;
+        double secondMoment = 0;
+        for(int n = 0; n < CDF.length; n++){
+            final double TAIL = 1 - CDF[n];
+            mean += TAIL;
+            secondMoment += (2d * n + 1) * TAIL;
+        }
+        this.MEAN = mean;
+        this.STANDARD_DEVIATION = Math.sqrt(Math.max(0, secondMoment - mean * mean));
+    }
+
+    /**
+     * Returns the probability of having reached the milestone within the
+     * provided number of attempts.
+     * @param attempts the number of attempts.
+     * @return the probability of having reached the milestone within the
+     * provided number of attempts.
+     */
+    public double cdf(int attempts){
+        if(attempts < 0){
+            return 0;
+        }
+
+        return attempts < CDF.length ? CDF[attempts] : CDF[CDF.length - 1];
+    }
+
+    /**
+     * Returns the largest number of attempts solved for, past which the
+     * remaining probability is within the solver's tolerance.
+     * @return the largest number of attempts solved for.
+     */
+    public int maxAttempts(){
+        return CDF.length - 1;
+    }
+
+    @Override
+    public int percentile(double percent){
+        final double TARGET = percent / 100;
+        for(int n = 0; n < CDF.length; n++){
+            if(CDF[n] >= TARGET){
+                return n;
+            }
+        }
+
+        return CDF.length - 1;
+    }
+
+    /**
+     * Returns the mean of the distribution.
+     * @return the mean of the distribution.
+     */
+    @Override
+    public double mean(){
+        return MEAN;
+    }
+
+    /**
+     * Returns the standard deviation of the distribution. Being exact, this
+     * is the population standard deviation.
+     * @return the standard deviation of the distribution.
+     */
+    @Override
+    public double standardDeviation(){
+        return STANDARD_DEVIATION;
+    }
+}
@@ -0,0 +1,311 @@
+package sim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * An instance of this class is used to compute the exact distribution of
+ * every {@code Milestone}, rather than estimating it from simulations. The
+ * solver propagates the probability of every collection state, which is the
+ * number of cards still missing of each standard rarity, one draw at a time.
+ * <p>
+ * The number of states is the product of one more than the card count of
+ * each standard rarity, so only a single set opened from a single pack
+ * holding every standard card of the set, without pack points or Wonder
+ * Picks, is supported. Every other scenario must be simulated.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class ExactSolver {
+    private static final double TOLERANCE = 1e-12;
+    private static final double NEGLIGIBLE = 1e-30;
+    private static final int MAX_STATES = 10_000_000;
+    private static final int MAX_PACKS = 100_000;
+    private static final Rarity[] STANDARD_RARITIES = {Rarity.D, Rarity.DD, Rarity.DDD, Rarity.DDDD};
+    private static final Milestone[] MILESTONES = Milestone.values();
+
+    public final SetName SET_NAME;
+    private final int STANDARD_TOTAL;
+    private final int[] TOTALS = new int[STANDARD_RARITIES.length];
+    private final int[] STRIDES = new int[STANDARD_RARITIES.length];
+    private final int STATES;
+    private final int[][] MISSING;
+    private final int[] UNREACHED;
+    private final double[][] SLOT_CHANCES = new double[PackBuffer.SIZE][STANDARD_RARITIES.length];
+    private final int[][] SLOT_RARITIES = new int[PackBuffer.SIZE][];
+    private final double[] SLOT_OTHER_CHANCES = new double[PackBuffer.SIZE];
+
+    /**
+     * Instantiates an instance of {@code ExactSolver}, with the provided
+     * sets and options.
+     * @param setNames the names of the sets to be collected.
+     * @param usePackPoints whether or not to use pack points.
+     * @param useWonderPicks whether or not to use Wonder Picks.
+     * @throws IllegalArgumentException if the provided scenario cannot be
+     * solved exactly.
+     */
+    public ExactSolver(ArrayList<SetName> setNames, boolean usePackPoints, boolean useWonderPicks){
+        this(setNames, usePackPoints, useWonderPicks, RateTables.PUBLISHED);
+    }
+
+    /**
+     * Instantiates an instance of {@code ExactSolver}, with the provided
+     * sets, options and rate tables.
+     * @param setNames the names of the sets to be collected.
+     * @param usePackPoints whether or not to use pack points.
+     * @param useWonderPicks whether or not to use Wonder Picks.
+     * @param rateTables the rate tables the pack of the set is drawn with.
+     * @throws IllegalArgumentException if the provided scenario cannot be
+     * solved exactly.
+     */
+    public ExactSolver(ArrayList<SetName> setNames, boolean usePackPoints, boolean useWonderPicks, RateTables rateTables){
+        if(setNames.size() != 1){
+            throw new IllegalArgumentException("exact solutions require exactly one set: " + setNames.size());
+        }
+        if(usePackPoints || useWonderPicks){
+            throw new IllegalArgumentException("exact solutions do not support pack points or Wonder Picks");
+        }
+
+        final CardSet CARD_SET = rateTables.cardSet(setNames.get(0));
+        if(CARD_SET.packCount() != 1){
+            throw new IllegalArgumentException("exact solutions require a set with a single pack: "
+                    + CARD_SET.SET_NAME.VAL + " has " + CARD_SET.packCount());
+        }
+
+        final Pack PACK = CARD_SET.packAt(0);
+        long states = 1;
+        for(int i = 0; i < STANDARD_RARITIES.length; i++){
+            if(PACK.cardsOf(STANDARD_RARITIES[i]) != CARD_SET.rarityTotal(STANDARD_RARITIES[i])){
+                throw new IllegalArgumentException("exact solutions require every standard card of "
+                        + CARD_SET.SET_NAME.VAL + " to be in its pack");
+            }
+            this.TOTALS[i] = CARD_SET.rarityTotal(STANDARD_RARITIES[i]);
+            states *= this.TOTALS[i] + 1;
+        }
+        if(states > MAX_STATES){
+            throw new IllegalArgumentException("exact solutions support at most " + MAX_STATES + " states: "
+                    + CARD_SET.SET_NAME.VAL + " has " + states);
+        }
+
+        this.SET_NAME = CARD_SET.SET_NAME;
+        this.STANDARD_TOTAL = CARD_SET.standardTotal();
+        this.STATES = (int) states;
+
+        //A state is the missing count of each standard rarity, with the last rarity varying fastest
+        int stride = 1;
+        for(int i = STANDARD_RARITIES.length - 1; i >= 0; i--){
+            this.STRIDES[i] = stride;
+            stride *= this.TOTALS[i] + 1;
+        }
+
+        this.MISSING = new int[STANDARD_RARITIES.length][this.STATES];
+        this.UNREACHED = new int[this.STATES];
+        final int[] MISSING_OF_STATE = new int[STANDARD_RARITIES.length];
+        for(int state = 0; state < this.STATES; state++){
+            int missing = 0;
+            for(int i = 0; i < STANDARD_RARITIES.length; i++){
+                MISSING_OF_STATE[i] = state / this.STRIDES[i] % (this.TOTALS[i] + 1);
+                this.MISSING[i][state] = MISSING_OF_STATE[i];
+                missing += MISSING_OF_STATE[i];
+            }
+            for(Milestone milestone : MILESTONES){
+                if(!reached(milestone, MISSING_OF_STATE, this.STANDARD_TOTAL - missing)){
+                    this.UNREACHED[state] |= 1 << milestone.ordinal();
+                }
+            }
+        }
+
+        final DrawRarityRates[] DRAWS = {
+                PACK.PACK_RARITY_RATES.DRAW_ONE,
+                PACK.PACK_RARITY_RATES.DRAW_TWO,
+                PACK.PACK_RARITY_RATES.DRAW_THREE,
+                PACK.PACK_RARITY_RATES.DRAW_FOUR,
+                PACK.PACK_RARITY_RATES.DRAW_FIVE
+        };
+        for(int slot = 0; slot < PackBuffer.SIZE; slot++){
+            int drawn = 0;
+            for(Rarity rarity : Rarity.values()){
+                if(rarity.ordinal() < STANDARD_RARITIES.length){
+                    this.SLOT_CHANCES[slot][rarity.ordinal()] = DRAWS[slot].chanceOf(rarity);
+                    if(DRAWS[slot].chanceOf(rarity) > 0){
+                        drawn++;
+                    }
+                } else {
+                    this.SLOT_OTHER_CHANCES[slot] += DRAWS[slot].chanceOf(rarity);
+                }
+            }
+
+            //Only the standard rarities a slot can draw are visited when propagating it
+            this.SLOT_RARITIES[slot] = new int[drawn];
+            for(int i = 0, j = 0; i < STANDARD_RARITIES.length; i++){
+                if(this.SLOT_CHANCES[slot][i] > 0){
+                    this.SLOT_RARITIES[slot][j++] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of collection states propagated by the instance.
+     * @return the number of collection states propagated by the instance.
+     */
+    public int states(){
+        return STATES;
+    }
+
+    /**
+     * Computes the exact distribution of every milestone, opening packs
+     * until the probability of any milestone not yet being reached is
+     * negligible.
+     * @return the exact distribution of every milestone.
+     * @throws IllegalStateException if some milestone is still likely to be
+     * unreached after the maximum number of packs.
+     */
+    public ExactStatistics solve(){
+        double[] current = new double[STATES];
+        double[] next = new double[STATES];
+        current[STATES - 1] = 1;
+
+        final double[][] CDFS = new double[MILESTONES.length][];
+        final double[] TAILS = new double[MILESTONES.length];
+        int length = 64;
+        for(int i = 0; i < CDFS.length; i++){
+            CDFS[i] = new double[length];
+        }
+
+        int packs = 0;
+        while(true){
+            final int PENDING = tails(current, TAILS);
+            if(packs == length){
+                length *= 2;
+                for(int i = 0; i < CDFS.length; i++){
+                    CDFS[i] = Arrays.copyOf(CDFS[i], length);
+                }
+            }
+            for(int i = 0; i < CDFS.length; i++){
+                CDFS[i][packs] = 1 - TAILS[i];
+            }
+
+            if(PENDING == 0){
+                break;
+            }
+            if(packs == MAX_PACKS){
+                throw new IllegalStateException("exact solution of " + SET_NAME.VAL
+                        + " did not converge within " + MAX_PACKS + " packs");
+            }
+
+            for(int slot = 0; slot < PackBuffer.SIZE; slot++){
+                draw(current, next, slot);
+                final double[] SWAP = current;
+                current = next;
+                next = SWAP;
+            }
+            packs++;
+        }
+
+        final ExactDistribution[] DISTRIBUTIONS = new ExactDistribution[MILESTONES.length];
+        for(int i = 0; i < DISTRIBUTIONS.length; i++){
+            DISTRIBUTIONS[i] = new ExactDistribution(Arrays.copyOf(CDFS[i], packs + 1));
+        }
+
+        return new ExactStatistics(DISTRIBUTIONS);
+    }
+
+    /**
+     * Helper method that propagates the probability of every state through
+     * a single draw of the provided slot. States whose probability is
+     * negligible are dropped, which keeps the long tail of a solve from
+     * visiting states that can no longer matter; the probability dropped
+     * over a whole solve stays far below the tolerance.
+     * @param from the probability of every state before the draw.
+     * @param to the array to receive the probability of every state after
+     * the draw.
+     * @param slot the draw ordinal, from {@code 0} to {@link PackBuffer#SIZE}
+     * exclusive.
+     */
+    private void draw(double[] from, double[] to, int slot){
+        Arrays.fill(to, 0);
+        final double[] CHANCES = SLOT_CHANCES[slot];
+        final int[] RARITIES = SLOT_RARITIES[slot];
+        for(int state = 0; state < STATES; state++){
+            final double MASS = from[state];
+            if(MASS < NEGLIGIBLE){
+                continue;
+            }
+
+            //A card of a rarity is new with the fraction of that rarity still missing
+            double stay = SLOT_OTHER_CHANCES[slot];
+            for(int i : RARITIES){
+                final int MISSING_OF_RARITY = MISSING[i][state];
+                if(MISSING_OF_RARITY == 0){
+                    stay += CHANCES[i];
+                } else {
+                    final double NEW = CHANCES[i] * MISSING_OF_RARITY / TOTALS[i];
+                    to[state - STRIDES[i]] += MASS * NEW;
+                    stay += CHANCES[i] - NEW;
+                }
+            }
+            to[state] += MASS * stay;
+        }
+    }
+
+    /**
+     * Helper method that sums, per milestone, the probability of the states
+     * that have not yet reached it.
+     * @param mass the probability of every state.
+     * @param tails the array to receive the probability of each milestone,
+     * indexed by ordinal, not yet being reached.
+     * @return the number of milestones whose probability of not yet being
+     * reached is above the tolerance.
+     */
+    private int tails(double[] mass, double[] tails){
+        Arrays.fill(tails, 0);
+        for(int state = 0; state < STATES; state++){
+            if(mass[state] == 0){
+                continue;
+            }
+
+            for(int bits = UNREACHED[state]; bits != 0; bits &= bits - 1){
+                tails[Integer.numberOfTrailingZeros(bits)] += mass[state];
+            }
+        }
+
+        int pending = 0;
+        for(double tail : tails){
+            if(tail > TOLERANCE){
+                pending++;
+            }
+        }
+
+        return pending;
+    }
+
+    /**
+     * Helper method that determines whether a state has reached the provided
+     * milestone, exactly as a {@code Simulation} decides it.
+     * @param milestone the milestone to be checked.
+     * @param missing the missing count of each standard rarity.
+     * @param obtained the number of standard cards obtained.
+     * @return {@code true}, if the state has reached the milestone. Else,
+     * {@code false}.
+     */
+    private boolean reached(Milestone milestone, int[] missing, int obtained){
+        final double PERCENTAGE = obtained * 100d / STANDARD_TOTAL;
+        return switch(milestone) {
+            case TEN_PERCENT_OF_STANDARDS -> PERCENTAGE >= 10;
+            case TWENTY_PERCENT_OF_STANDARDS -> PERCENTAGE >= 20;
+            case THIRTY_PERCENT_OF_STANDARDS -> PERCENTAGE >= 30;
+            case FORTY_PERCENT_OF_STANDARDS -> PERCENTAGE >= 40;
+            case FIFTY_PERCENT_OF_STANDARDS -> PERCENTAGE >= 50;
+            case SIXTY_PERCENT_OF_STANDARDS -> PERCENTAGE >= 60;
+            case SEVENTY_PERCENT_OF_STANDARDS -> PERCENTAGE >= 70;
+            case EIGHTY_PERCENT_OF_STANDARDS -> PERCENTAGE >= 80;
+            case NINETY_PERCENT_OF_STANDARDS -> PERCENTAGE >= 90;
+            case ALL_STANDARDS -> obtained == STANDARD_TOTAL;
+            case ALL_D_RARITIES -> missing[Rarity.D.ordinal()] == 0;
+            case ALL_DD_RARITIES -> missing[Rarity.DD.ordinal()] == 0;
+            case ALL_DDD_RARITIES -> missing[Rarity.DDD.ordinal()] == 0;
+            case ALL_DDDD_RARITIES -> missing[Rarity.DDDD.ordinal()] == 0;
+        };
+    }
+}
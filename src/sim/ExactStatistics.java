@@ -0,0 +1,30 @@
+package sim;
+
+/**
+ * An instance of this class is used to hold one {@code ExactDistribution}
+ * per {@code Milestone}, as computed by an {@code ExactSolver}.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class ExactStatistics implements MilestoneStatistics {
+    private final ExactDistribution[] DISTRIBUTIONS;
+
+    /**
+     * (package-private) Instantiates an instance of {@code ExactStatistics}.
+     * Intended to be used only by {@code ExactSolver}.
+     * @param DISTRIBUTIONS the distributions, indexed by milestone ordinal.
+     */
+    ExactStatistics(final ExactDistribution[] DISTRIBUTIONS){
+        this.DISTRIBUTIONS = DISTRIBUTIONS;
+    }
+
+    /**
+     * Returns the exact distribution of the provided milestone.
+     * @param milestone the milestone to be obtained.
+     * @return the exact distribution of the provided milestone.
+     */
+    @Override
+    public ExactDistribution of(Milestone milestone){
+        return this.DISTRIBUTIONS[milestone.ordinal()];
+    }
+}
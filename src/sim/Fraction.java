@@ -1,7 +1,13 @@
 package sim;
 
+import java.math.BigInteger;
+
 /**
- * An instance of this class is used to represent a fraction.
+ * An instance of this class is used to represent a fraction. Arithmetic is
+ * done in {@code long} while it cannot overflow; an intermediate value that
+ * would overflow is instead computed with {@code BigInteger}, and only a
+ * result that cannot be represented in {@code long} throws an {@code
+ * ArithmeticException}.
  * @author Michael Dillinger
  * @since 0.1.0
  */
@@ -33,8 +39,7 @@ public final class Fraction {
      * Else, {@code false}.
      */
     public boolean isLessThan(Fraction comp){
-        long lcm = lcm(DEN, comp.DEN);
-        return (NUM * (lcm / DEN)) < (comp.NUM * (lcm / comp.DEN));
+        return compare(comp) < 0;
     }
 
     /**
@@ -45,8 +50,7 @@ public final class Fraction {
      * Else, {@code false}.
      */
     public boolean isGreaterThan(Fraction comp){
-        long lcm = lcm(DEN, comp.DEN);
-        return (NUM * (lcm / DEN)) > (comp.NUM * (lcm / comp.DEN));
+        return compare(comp) > 0;
     }
 
     /**
@@ -57,8 +61,7 @@ public final class Fraction {
      * {@code false}.
      */
     public boolean isEqualTo(Fraction comp){
-        long lcm = lcm(DEN, comp.DEN);
-        return (NUM * (lcm / DEN)) == (comp.NUM * (lcm / comp.DEN));
+        return compare(comp) == 0;
     }
 
     /**
@@ -69,8 +72,7 @@ public final class Fraction {
      * comparison. Else, {@code false}.
      */
     public boolean isLessThanOrEqualTo(Fraction comp){
-        long lcm = lcm(DEN, comp.DEN);
-        return (NUM * (lcm / DEN)) <= (comp.NUM * (lcm / comp.DEN));
+        return compare(comp) <= 0;
     }
 
     /**
@@ -81,8 +83,7 @@ public final class Fraction {
      * comparison. Else, {@code false}.
      */
     public boolean isGreaterThanOrEqualTo(Fraction comp){
-        long lcm = lcm(DEN, comp.DEN);
-        return (NUM * (lcm / DEN)) <= (comp.NUM * (lcm / comp.DEN));
+        return compare(comp) >= 0;
     }
 
     /**
@@ -93,8 +94,24 @@ public final class Fraction {
      * Else, {@code false}.
      */
     public boolean isNotEqual(Fraction comp){
-        long lcm = lcm(DEN, comp.DEN);
-        return (NUM * (lcm / DEN)) != (comp.NUM * (lcm / comp.DEN));
+        return compare(comp) != 0;
+    }
+
+    /**
+     * Helper function that compares the value of the instance to the value of
+     * the provided fraction by cross-multiplying, falling back to {@code
+     * BigInteger} if either product would overflow.
+     * @param comp the value against which the instance is to be compared.
+     * @return a negative value, zero, or a positive value as the instance is
+     * less than, equal to, or greater than the comparison.
+     */
+    private int compare(Fraction comp){
+        final int SIGN = Long.signum(DEN) * Long.signum(comp.DEN);
+        try {
+            return SIGN * Long.compare(Math.multiplyExact(NUM, comp.DEN), Math.multiplyExact(comp.NUM, DEN));
+        } catch (ArithmeticException e) {
+            return SIGN * big(NUM).multiply(big(comp.DEN)).compareTo(big(comp.NUM).multiply(big(DEN)));
+        }
     }
 
     /**
@@ -103,12 +120,22 @@ public final class Fraction {
      * @return a fraction representing the sum of all of the provided values.
      */
     public static Fraction add(Fraction... fractions){
-        long lcm = lcm(fractions);
-        long num = 0;
-        for(Fraction fraction : fractions){
-            num += fraction.NUM * (lcm / fraction.DEN);
+        try {
+            long lcm = lcm(fractions);
+            long num = 0;
+            for(Fraction fraction : fractions){
+                num = Math.addExact(num, Math.multiplyExact(fraction.NUM, lcm / fraction.DEN));
+            }
+            return reduce(num, lcm);
+        } catch (ArithmeticException e) {
+            BigInteger num = BigInteger.ZERO;
+            BigInteger den = BigInteger.ONE;
+            for(Fraction fraction : fractions){
+                num = num.multiply(big(fraction.DEN)).add(big(fraction.NUM).multiply(den));
+                den = den.multiply(big(fraction.DEN));
+            }
+            return reduce(num, den);
         }
-        return reduce(new Fraction(num, lcm));
     }
 
     /**
@@ -121,7 +148,18 @@ public final class Fraction {
     public static Fraction multiply(Fraction... fractions){
         Fraction product = fractions[0];
         for(int i = 1; i < fractions.length; i++){
-            product = reduce(new Fraction(product.NUM * fractions[i].NUM, product.DEN * fractions[i].DEN));
+            //Cancelling across the two fractions first keeps the products as small as possible
+            final long GCD1 = gcd(product.NUM, fractions[i].DEN);
+            final long GCD2 = gcd(fractions[i].NUM, product.DEN);
+            final long NUM1 = GCD1 == 0 ? product.NUM : product.NUM / GCD1;
+            final long DEN2 = GCD1 == 0 ? fractions[i].DEN : fractions[i].DEN / GCD1;
+            final long NUM2 = GCD2 == 0 ? fractions[i].NUM : fractions[i].NUM / GCD2;
+            final long DEN1 = GCD2 == 0 ? product.DEN : product.DEN / GCD2;
+            try {
+                product = reduce(Math.multiplyExact(NUM1, NUM2), Math.multiplyExact(DEN1, DEN2));
+            } catch (ArithmeticException e) {
+                product = reduce(big(NUM1).multiply(big(NUM2)), big(DEN1).multiply(big(DEN2)));
+            }
         }
         return product;
     }
@@ -135,8 +173,13 @@ public final class Fraction {
      * subtracted from the minuend.
      */
     public static Fraction subtract(Fraction minuend, Fraction subtrahend){
-        long lcm = lcm(minuend.DEN, subtrahend.DEN);
-        return reduce(new Fraction((minuend.NUM * (lcm / minuend.DEN)) - (subtrahend.NUM * (lcm / subtrahend.DEN)), lcm));
+        try {
+            long lcm = lcm(minuend.DEN, subtrahend.DEN);
+            return reduce(Math.subtractExact(Math.multiplyExact(minuend.NUM, lcm / minuend.DEN), Math.multiplyExact(subtrahend.NUM, lcm / subtrahend.DEN)), lcm);
+        } catch (ArithmeticException e) {
+            return reduce(big(minuend.NUM).multiply(big(subtrahend.DEN)).subtract(big(subtrahend.NUM).multiply(big(minuend.DEN))),
+                    big(minuend.DEN).multiply(big(subtrahend.DEN)));
+        }
     }
 
     /**
@@ -148,10 +191,16 @@ public final class Fraction {
      * the provided power.
      */
     public static Fraction pow(Fraction base, long power){
-        if(power > -1){
-            return Fraction.reduce(new Fraction((long) Math.pow(base.NUM, power), (long) Math.pow(base.DEN, power)));
+        if(Math.abs(power) > Integer.MAX_VALUE){
+            throw new ArithmeticException("power out of range: " + power);
         }
-        return Fraction.reduce(new Fraction((long) Math.pow(base.DEN, -power), (long) Math.pow(base.NUM, -power)));
+
+        //A reduced base stays reduced when raised to a power
+        final Fraction REDUCED = reduce(base);
+        final int EXPONENT = (int) Math.abs(power);
+        final BigInteger NUM = big(REDUCED.NUM).pow(EXPONENT);
+        final BigInteger DEN = big(REDUCED.DEN).pow(EXPONENT);
+        return power > -1 ? reduce(NUM, DEN) : reduce(DEN, NUM);
     }
 
     /**
@@ -160,6 +209,8 @@ public final class Fraction {
      * @param fractions the values from which to find the lcm.
      * @return the least common multiple for the denominators of the provided
      * values.
+     * @throws ArithmeticException if the lcm does not fit in a {@code long};
+     * {@link #bigLcm(Fraction...)} gives it exactly at any size.
      */
     public static long lcm(Fraction... fractions){
         long result = 1;
@@ -169,6 +220,25 @@ public final class Fraction {
         return result;
     }
 
+    /**
+     * Returns the least common multiple for the denominators of the provided
+     * values as a {@code BigInteger}, which never overflows.
+     * @param fractions the values from which to find the lcm.
+     * @return the least common multiple for the denominators of the provided
+     * values.
+     */
+    public static BigInteger bigLcm(Fraction... fractions){
+        BigInteger result = BigInteger.ONE;
+        for(Fraction fraction : fractions){
+            if(fraction.DEN == 0){
+                return BigInteger.ZERO;
+            }
+            final BigInteger DEN = big(fraction.DEN).abs();
+            result = result.divide(result.gcd(DEN)).multiply(DEN);
+        }
+        return result;
+    }
+
     /**
      * Helper function that returns the least common multiple for two values.
      * @param num1 the first value to be compared.
@@ -176,33 +246,49 @@ public final class Fraction {
      * @return the least common multiple for two values.
      */
     private static long lcm(long num1, long num2){
-        return Math.abs(num1 * num2) / gcd(num1, num2);
+        if(num1 == 0 || num2 == 0){
+            return 0;
+        }
+
+        //Dividing before multiplying keeps every intermediate value no larger than the lcm
+        return Math.absExact(Math.multiplyExact(num1 / gcd(num1, num2), num2));
     }
 
     /**
      * Helper function that returns the greatest common divisor for two
-     * values.
+     * values, using the binary gcd algorithm: common factors of two are
+     * counted once, and the odd parts are reduced by subtraction and shifts,
+     * in time logarithmic in the values.
      * @param num1 the first value to be compared.
      * @param num2 the second value to be compared.
-     * @return the greatest common divisor for two values.
+     * @return the non-negative greatest common divisor for two values.
      */
     private static long gcd(long num1, long num2){
-        if(num1 == 0){
-            return num2;
-        } else if(num2 == 0){
-            return num1;
-        } else if(num1 == num2){
-            return num1;
+        if(num1 == Long.MIN_VALUE || num2 == Long.MIN_VALUE){
+            return big(num1).gcd(big(num2)).longValueExact();
+        }
+
+        long a = Math.abs(num1);
+        long b = Math.abs(num2);
+        if(a == 0){
+            return b;
+        } else if(b == 0){
+            return a;
         }
 
-        long cut = num1 > num2 ? num2/2 : num1/2;
-        for(long i = cut; i > 1 ; i--){
-            if(num1 % i == 0 && num2 % i == 0){
-                return i;
+        final int SHIFT = Long.numberOfTrailingZeros(a | b);
+        a >>= Long.numberOfTrailingZeros(a);
+        while(b != 0){
+            b >>= Long.numberOfTrailingZeros(b);
+            if(a > b){
+                final long SWAP = a;
+                a = b;
+                b = SWAP;
             }
+            b -= a;
         }
 
-        return 1;
+        return a << SHIFT;
     }
 
     /**
@@ -226,18 +312,47 @@ public final class Fraction {
             num = 0;
         } else if(num == 0){
             den = 1;
-        } else if(num % den == 0){
-            num /= den;
-            den = 1;
-        } else if(den % num == 0){
-            den /= num;
-            num = 1;
         } else {
-            long gcd = gcd(num, den);
-            num /= gcd;
-            den /= gcd;
+            final long GCD = gcd(num, den);
+            num /= GCD;
+            den /= GCD;
         }
-        return new Fraction(num,den);
+        return new Fraction(num, den);
+    }
+
+    /**
+     * Helper function that returns the value of a fraction having been
+     * reduced, where the numerator or denominator may not fit in a {@code
+     * long} until reduced.
+     * @param num the numerator of the fraction.
+     * @param den the denominator of the fraction.
+     * @return the value of a fraction having been reduced.
+     * @throws ArithmeticException if the reduced fraction does not fit in
+     * {@code long} values.
+     */
+    private static Fraction reduce(BigInteger num, BigInteger den){
+        if(den.signum() == 0){
+            return new Fraction(0, 0);
+        } else if(num.signum() == 0){
+            return new Fraction(0, 1);
+        }
+
+        final BigInteger GCD = num.gcd(den);
+        try {
+            return new Fraction(num.divide(GCD).longValueExact(), den.divide(GCD).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new ArithmeticException("fraction out of range: " + num.divide(GCD) + "/" + den.divide(GCD));
+        }
+    }
+
+    /**
+     * Helper function that returns the provided value as a {@code
+     * BigInteger}.
+     * @param value the value to be converted.
+     * @return the provided value as a {@code BigInteger}.
+     */
+    private static BigInteger big(long value){
+        return BigInteger.valueOf(value);
     }
 
     /**
@@ -0,0 +1,85 @@
+package sim;
+
+import java.util.ArrayList;
+import java.util.random.RandomGenerator;
+
+/**
+ * An instance of this class is used to make the choices the simulator has
+ * always made. Packs are opened from those most likely to hold a new
+ * standard card. Wonder Picks are selected by the chance of a new card per
+ * stamina, narrowed to the rarest incomplete rarity once stamina runs low.
+ * Pack points buy the rarity least likely to be pulled once they reach their
+ * cap, and otherwise buy the rest of a set once they can.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class GreedyStrategy implements Strategy {
+    private static final int PACK_POINT_CAP = 2500;
+    private static final Rarity[] CASCADE = {Rarity.DDDD, Rarity.DDD, Rarity.DD, Rarity.D};
+
+    /**
+     * (package-private) Instantiates an instance of {@code GreedyStrategy}.
+     * Intended to be used only by {@code Strategies}.
+     */
+    GreedyStrategy(){
+    }
+
+    @Override
+    public String name(){
+        return "greedy";
+    }
+
+    @Override
+    public Pack choosePack(Profile profile, ArrayList<SetName> setNames, RandomGenerator rand){
+        final Pack[] PACKS = profile.packChoices();
+        return PACKS[rand.nextInt(profile.packsHighestChanceOfPullingNewStandardCard(setNames, PACKS))];
+    }
+
+    @Override
+    public WonderPick chooseWonderPick(Profile profile, ArrayList<SetName> setNames, ArrayList<WonderPick> offers, RandomGenerator rand){
+        final WonderPickEvaluator EVALUATOR = new WonderPickEvaluator(profile, offers);
+        if(profile.wonderStamina() >= 5){
+            return EVALUATOR.bestOffer();
+        }
+
+        //With little stamina, only the rarest incomplete rarity is pursued
+        for(Rarity rarity : CASCADE){
+            if(!profile.hasAllCardsOfRarity(setNames, rarity)){
+                return profile.wonderStamina() >= rarity.WONDER_STAMINA_COST ? EVALUATOR.bestOfferWith(rarity) : null;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public void spendPackPoints(Profile profile, SetName setName, RandomGenerator rand){
+        final PackPointPlanner PLANNER = profile.packPointPlanner(setName);
+        if(profile.packPoints(setName) == PACK_POINT_CAP){
+            // Find the pack with the lowest probability of drawing a new card
+            final ArrayList<Pack> POSSIBILITIES = profile.packsLowestChanceOfPullingNewStandardCard(setName);
+            final Pack PACK = POSSIBILITIES.get(rand.nextInt(POSSIBILITIES.size()));
+
+            //The rarity least likely to be pulled is bought, the first in cascade order on ties, among those not yet complete
+            Rarity leastLikely = null;
+            double lowestChance = 0;
+            for(Rarity rarity : CASCADE){
+                if(PLANNER.unobtainedCount(PACK, rarity) > 0){
+                    final double CHANCE = profile.chanceOfPullingNewCardOfRarity(PACK, rarity);
+                    if(leastLikely == null || CHANCE < lowestChance){
+                        leastLikely = rarity;
+                        lowestChance = CHANCE;
+                    }
+                }
+            }
+
+            if(leastLikely != null){
+                profile.buyCard(setName, PLANNER.unobtainedAt(PACK, leastLikely, rand.nextInt(PLANNER.unobtainedCount(PACK, leastLikely))));
+            }
+        } else if(PLANNER.neededPackPoints() > 0 && PLANNER.neededPackPoints() <= profile.packPoints(setName)){
+            for(Card card : profile.unobtainedStandardCards(setName)){
+                profile.buyCard(setName, card);
+            }
+        }
+    }
+}
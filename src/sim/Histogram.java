@@ -0,0 +1,190 @@
+package sim;
+
+import java.util.Arrays;
+
+/**
+ * An instance of this class is used to record an exact distribution of
+ * non-negative integer values. Values are counted rather than stored, so
+ * memory depends only on the largest value recorded, and percentiles, the
+ * mean and the standard deviation are answered in time proportional to that
+ * value.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class Histogram implements Distribution {
+    private long[] counts;
+    private long count;
+    private int max;
+
+    /**
+     * Instantiates an empty instance of {@code Histogram}.
+     */
+    public Histogram(){
+        this.counts = new long[64];
+        this.count = 0;
+        this.max = -1;
+    }
+
+    /**
+     * Records a single occurrence of the provided value.
+     * @param value the non-negative value to be recorded.
+     */
+    public void record(int value){
+        record(value, 1);
+    }
+
+    /**
+     * Records the provided number of occurrences of the provided value.
+     * @param value the non-negative value to be recorded.
+     * @param occurrences the number of occurrences to be recorded.
+     */
+    public void record(int value, long occurrences){
+        if(value < 0){
+            throw new IllegalArgumentException("histogram values cannot be negative: " + value);
+        }
+        if(value >= counts.length){
+            counts = Arrays.copyOf(counts, Math.max(value + 1, counts.length * 2));
+        }
+        counts[value] += occurrences;
+        count += occurrences;
+        if(value > max){
+            max = value;
+        }
+    }
+
+    /**
+     * Adds every occurrence recorded by the provided histogram to the
+     * instance.
+     * @param other the histogram to be merged into the instance.
+     */
+    public void merge(Histogram other){
+        for(int i = 0; i <= other.max; i++){
+            if(other.counts[i] != 0){
+                record(i, other.counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the total number of recorded occurrences.
+     * @return the total number of recorded occurrences.
+     */
+    public long count(){
+        return count;
+    }
+
+    /**
+     * Returns the number of occurrences recorded for the provided value.
+     * @param value the value to be checked.
+     * @return the number of occurrences recorded for the provided value.
+     */
+    public long countOf(int value){
+        return value > -1 && value <= max ? counts[value] : 0;
+    }
+
+    /**
+     * Returns the number of occurrences recorded for values no larger than
+     * the provided value.
+     * @param value the value to be checked.
+     * @return the number of occurrences recorded for values no larger than
+     * the provided value.
+     */
+    public long countAtMost(int value){
+        long seen = 0;
+        for(int i = 0; i <= Math.min(value, max); i++){
+            seen += counts[i];
+        }
+
+        return seen;
+    }
+
+    /**
+     * Returns the smallest recorded value.
+     * @return the smallest recorded value, or {@code -1} if nothing has been
+     * recorded.
+     */
+    public int min(){
+        for(int i = 0; i <= max; i++){
+            if(counts[i] != 0){
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     * @return the largest recorded value, or {@code -1} if nothing has been
+     * recorded.
+     */
+    public int max(){
+        return max;
+    }
+
+    /**
+     * Returns the value of the provided rank, counting from the smallest
+     * recorded value.
+     * @param rank the rank of the value, from {@code 1} to {@link #count()}.
+     * @return the value of the provided rank.
+     */
+    public int valueAtRank(long rank){
+        if(rank < 1 || rank > count){
+            throw new IllegalArgumentException("rank must be between 1 and " + count + ": " + rank);
+        }
+
+        long seen = 0;
+        for(int i = 0; i <= max; i++){
+            seen += counts[i];
+            if(seen >= rank){
+                return i;
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * Returns the provided percentile of the recorded values, using the
+     * nearest-rank method.
+     * @param percent the percentile, from {@code 0} to {@code 100}.
+     * @return the provided percentile of the recorded values.
+     */
+    @Override
+    public int percentile(double percent){
+        return valueAtRank(Math.max(1, Math.min(count, (long) Math.ceil(percent * count / 100))));
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     * @return the mean of the recorded values.
+     */
+    @Override
+    public double mean(){
+        double sum = 0;
+        for(int i = 0; i <= max; i++){
+            sum += (double) i * counts[i];
+        }
+
+        return sum / count;
+    }
+
+    /**
+     * Returns the sample standard deviation of the recorded values.
+     * @return the sample standard deviation of the recorded values.
+     */
+    @Override
+    public double standardDeviation(){
+        if(count < 2){
+            return 0;
+        }
+
+        final double MEAN = mean();
+        double sumOfSquares = 0;
+        for(int i = 0; i <= max; i++){
+            sumOfSquares += (i - MEAN) * (i - MEAN) * counts[i];
+        }
+
+        return Math.sqrt(sumOfSquares / (count - 1));
+    }
+}
@@ -0,0 +1,58 @@
+package sim;
+
+/**
+ * An instance of this enum is used to represent a milestone recorded by a
+ * {@code SimulationPacket}.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public enum Milestone {
+    TEN_PERCENT_OF_STANDARDS("10% of Standard Rarities"),
+    TWENTY_PERCENT_OF_STANDARDS("20% of Standard Rarities"),
+    THIRTY_PERCENT_OF_STANDARDS("30% of Standard Rarities"),
+    FORTY_PERCENT_OF_STANDARDS("40% of Standard Rarities"),
+    FIFTY_PERCENT_OF_STANDARDS("50% of Standard Rarities"),
+    SIXTY_PERCENT_OF_STANDARDS("60% of Standard Rarities"),
+    SEVENTY_PERCENT_OF_STANDARDS("70% of Standard Rarities"),
+    EIGHTY_PERCENT_OF_STANDARDS("80% of Standard Rarities"),
+    NINETY_PERCENT_OF_STANDARDS("90% of Standard Rarities"),
+    ALL_STANDARDS("100% Standard Rarities"),
+    ALL_D_RARITIES("D Rarities"),
+    ALL_DD_RARITIES("DD Rarities"),
+    ALL_DDD_RARITIES("DDD Rarities"),
+    ALL_DDDD_RARITIES("DDDD Rarities");
+
+    public final String VAL;
+
+    /**
+     * Instantiates an instance of {@code Milestone}, with the provided value.
+     * @param VAL the description of the milestone.
+     */
+    Milestone(final String VAL){
+        this.VAL = VAL;
+    }
+
+    /**
+     * Returns the attempts recorded for the instance by the provided packet.
+     * @param packet the packet from which to obtain the attempts.
+     * @return the attempts recorded for the instance by the provided packet.
+     */
+    public int of(SimulationPacket packet){
+        return switch(this) {
+            case TEN_PERCENT_OF_STANDARDS -> packet.ATTEMPTS_FOR_10_PERCENT_OF_STANDARDS;
+            case TWENTY_PERCENT_OF_STANDARDS -> packet.ATTEMPTS_FOR_20_PERCENT_OF_STANDARDS;
+            case THIRTY_PERCENT_OF_STANDARDS -> packet.ATTEMPTS_FOR_30_PERCENT_OF_STANDARDS;
+            case FORTY_PERCENT_OF_STANDARDS -> packet.ATTEMPTS_FOR_40_PERCENT_OF_STANDARDS;
+            case FIFTY_PERCENT_OF_STANDARDS -> packet.ATTEMPTS_FOR_50_PERCENT_OF_STANDARDS;
+            case SIXTY_PERCENT_OF_STANDARDS -> packet.ATTEMPTS_FOR_60_PERCENT_OF_STANDARDS;
+            case SEVENTY_PERCENT_OF_STANDARDS -> packet.ATTEMPTS_FOR_70_PERCENT_OF_STANDARDS;
+            case EIGHTY_PERCENT_OF_STANDARDS -> packet.ATTEMPTS_FOR_80_PERCENT_OF_STANDARDS;
+            case NINETY_PERCENT_OF_STANDARDS -> packet.ATTEMPTS_FOR_90_PERCENT_OF_STANDARDS;
+            case ALL_STANDARDS -> packet.ATTEMPTS_FOR_100_PERCENT_OF_STANDARDS;
+            case ALL_D_RARITIES -> packet.ATTEMPTS_FOR_ALL_D_RARITIES;
+            case ALL_DD_RARITIES -> packet.ATTEMPTS_FOR_ALL_DD_RARITIES;
+            case ALL_DDD_RARITIES -> packet.ATTEMPTS_FOR_ALL_DDD_RARITIES;
+            case ALL_DDDD_RARITIES -> packet.ATTEMPTS_FOR_ALL_DDDD_RARITIES;
+        };
+    }
+}
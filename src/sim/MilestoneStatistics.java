@@ -0,0 +1,16 @@
+package sim;
+
+/**
+ * An instance of this class is used to provide a {@code Distribution} for
+ * every {@code Milestone} of a {@code Scenario}.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public interface MilestoneStatistics {
+    /**
+     * Returns the distribution of the provided milestone.
+     * @param milestone the milestone to be obtained.
+     * @return the distribution of the provided milestone.
+     */
+    Distribution of(Milestone milestone);
+}
@@ -1,6 +1,7 @@
 package sim;
 
 import java.util.ArrayList;
+import java.util.random.RandomGenerator;
 
 /**
  * An instance of this class is used to represent the results of an opened
@@ -15,13 +16,14 @@ public final class OpenedPack {
     /**
      * Instantiates an instance of {@code OpenedPack} of the provided pack.
      * @param pack the pack to be opened.
+     * @param rand the random number generator used to draw the cards.
      */
-    public OpenedPack(Pack pack){
+    public OpenedPack(Pack pack, RandomGenerator rand){
         this.PACK = pack;
 
-        this.CARDS = new ArrayList<>();
-        for(int i = 0; i < 5; i++){
-            this.CARDS.add(pack.pull(i));
+        this.CARDS = new ArrayList<>(PackBuffer.SIZE);
+        for(int i = 0; i < PackBuffer.SIZE; i++){
+            this.CARDS.add(pack.pull(i, rand));
         }
     }
 
@@ -32,4 +34,14 @@ public final class OpenedPack {
     public ArrayList<Card> cards(){
         return new ArrayList<>(this.CARDS);
     }
+
+    /**
+     * (package-private) Returns the card of the provided draw ordinal,
+     * without copying the cards of the instance.
+     * @param ordinal the draw ordinal of the card.
+     * @return the card of the provided draw ordinal.
+     */
+    Card card(int ordinal){
+        return this.CARDS.get(ordinal);
+    }
 }
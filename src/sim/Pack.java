@@ -1,8 +1,7 @@
 package sim;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * An instance of this class is used to represent a pack of cards.
@@ -13,15 +12,11 @@ public final class Pack {
     public final PackName NAME;
     public final SetName SET_NAME;
     public final PackRarityRates PACK_RARITY_RATES;
-    private final Random RAND = new Random();
-    private final HashMap<Rarity, ArrayList<Card>> CARDS = new HashMap<>(){{
-        for(Rarity rarity : Rarity.values()){
-            put(rarity, new ArrayList<>());
-        }
-    }};
+    private final Card[][] CARDS_BY_RARITY;
     private final int TOTAL_CARDS;
     private final int STANDARD_CARDS;
     private final int RARE_CARDS;
+    private final WonderPickGenerator WONDER_PICK_GENERATOR;
 
     /**
      * Instantiates an instance of {@code Pack}, with the provided pack name,
@@ -43,8 +38,9 @@ public final class Pack {
 
         int standardCards = 0;
         int rareCards = 0;
+        final int[] RARITY_COUNTS = new int[Rarity.values().length];
         for(int i = 0; i < CARDS.size(); i++){
-            this.CARDS.get(CARDS.get(i).RARITY).add(CARDS.get(i));
+            RARITY_COUNTS[CARDS.get(i).RARITY.ordinal()]++;
             if(CARDS.get(i).isStandardRarity()){
                 standardCards++;
             } else {
@@ -52,9 +48,20 @@ public final class Pack {
             }
         }
 
+        this.CARDS_BY_RARITY = new Card[RARITY_COUNTS.length][];
+        for(int i = 0; i < RARITY_COUNTS.length; i++){
+            this.CARDS_BY_RARITY[i] = new Card[RARITY_COUNTS[i]];
+            RARITY_COUNTS[i] = 0;
+        }
+        for(int i = 0; i < CARDS.size(); i++){
+            final int RARITY = CARDS.get(i).RARITY.ordinal();
+            this.CARDS_BY_RARITY[RARITY][RARITY_COUNTS[RARITY]++] = CARDS.get(i);
+        }
+
         this.TOTAL_CARDS = CARDS.size();
         this.STANDARD_CARDS = standardCards;
         this.RARE_CARDS = rareCards;
+        this.WONDER_PICK_GENERATOR = new WonderPickGenerator(this);
     }
 
     /**
@@ -90,33 +97,112 @@ public final class Pack {
      * within the instance.
      */
     public int cardsOf(Rarity rarity){
-        return CARDS.get(rarity).size();
+        return CARDS_BY_RARITY[rarity.ordinal()].length;
+    }
+
+    /**
+     * (package-private) Returns a copy of the possible cards of the provided
+     * rarity contained within the instance, in order of the set. Intended to
+     * be used only by {@code PackPointPlanner}.
+     * @param rarity the rarity of the cards.
+     * @return the possible cards of the provided rarity.
+     */
+    Card[] cardsOfRarity(Rarity rarity){
+        return CARDS_BY_RARITY[rarity.ordinal()].clone();
     }
 
     /**
      * Returns a random opened pack of the instance.
+     * @param rand the random number generator used to draw the cards.
      * @return a random opened pack of the instance.
      */
-    public OpenedPack open(){
-        return new OpenedPack(this);
+    public OpenedPack open(RandomGenerator rand){
+        return new OpenedPack(this, rand);
+    }
+
+    /**
+     * Opens the instance into the provided buffer, replacing its contents.
+     * Draws exactly as {@link #open(RandomGenerator)} does, without
+     * allocating.
+     * @param rand the random number generator used to draw the cards.
+     * @param buffer the buffer to receive the cards.
+     */
+    public void open(RandomGenerator rand, PackBuffer buffer){
+        buffer.fill(this, rand);
+    }
+
+    /**
+     * Returns the generator of the Wonder Picks of the instance.
+     * @return the generator of the Wonder Picks of the instance.
+     */
+    public WonderPickGenerator wonderPicks(){
+        return WONDER_PICK_GENERATOR;
+    }
+
+    /**
+     * (package-private) Returns the draw rates of the provided draw ordinal.
+     * Intended to be used only by this class and {@code
+     * WonderPickGenerator}.
+     * @param ordinal the draw ordinal, from {@code 0} to {@code 4}.
+     * @return the draw rates of the provided draw ordinal.
+     */
+    DrawRarityRates drawRarityRates(int ordinal){
+        return PACK_RARITY_RATES.draw(ordinal);
     }
 
     /**
      * (package-private) Helper method to obtain a random rarity of the
      * provided draw ordinal. Intended to be used only by {@code OpenedPack}
-     * in order for it to draw its cards.
+     * and {@code PackBuffer} in order for them to draw their cards.
      * @param ordinal the ordinal for which to obtain the random rarity for.
+     * @param rand the random number generator used for the draw.
      * @return a random rarity of the provided draw ordinal.
      */
-    Card pull(int ordinal){
-        final Rarity RARITY = switch(ordinal) {
-            case 0 -> PACK_RARITY_RATES.DRAW_ONE.draw();
-            case 1 -> PACK_RARITY_RATES.DRAW_TWO.draw();
-            case 2 -> PACK_RARITY_RATES.DRAW_THREE.draw();
-            case 3 -> PACK_RARITY_RATES.DRAW_FOUR.draw();
-            default -> PACK_RARITY_RATES.DRAW_FIVE.draw();
-        };
-
-        return CARDS.get(RARITY).get(RAND.nextInt(cardsOf(RARITY)));
+    Card pull(int ordinal, RandomGenerator rand){
+        return pull(drawRarityRates(ordinal), rand);
+    }
+
+    /**
+     * (package-private) Helper method to obtain a random card of the
+     * provided draw ordinal, from a controlled draw. Intended to be used only
+     * by {@code PackBuffer}.
+     * @param ordinal the ordinal for which to obtain the random card for.
+     * @param rand the controlled draws of the run.
+     * @return a random card of the provided draw ordinal.
+     */
+    Card pullControlled(int ordinal, ControlledDrawRandom rand){
+        return pullControlled(drawRarityRates(ordinal), rand);
+    }
+
+    /**
+     * (package-private) Helper method to obtain a random card of a rarity
+     * drawn from the provided draw rates. Intended to be used only by this
+     * class and {@code WonderPickGenerator}, whose draw rates are
+     * conditioned on a valid Wonder Pick.
+     * @param draw the draw rates of the rarity.
+     * @param rand the random number generator used for the draw.
+     * @return a random card of a rarity drawn from the provided draw rates.
+     */
+    Card pull(DrawRarityRates draw, RandomGenerator rand){
+        final Rarity RARITY = draw.draw(rand);
+        final Card[] CARDS = CARDS_BY_RARITY[RARITY.ordinal()];
+        return CARDS[rand.nextInt(CARDS.length)];
+    }
+
+    /**
+     * (package-private) Helper method to obtain a random card of a rarity
+     * drawn from the provided draw rates, by the inverse of the cumulative
+     * draw rates. A single uniform number picks both the rarity and the
+     * card, so antithetic and stratified draws cover both. Intended to be
+     * used only by this class and {@code WonderPickGenerator}.
+     * @param draw the draw rates of the rarity.
+     * @param rand the controlled draws of the run.
+     * @return a random card of a rarity drawn from the provided draw rates.
+     */
+    Card pullControlled(DrawRarityRates draw, ControlledDrawRandom rand){
+        final double UNIFORM = rand.nextDrawUniform();
+        final Rarity RARITY = draw.draw(UNIFORM);
+        final Card[] CARDS = CARDS_BY_RARITY[RARITY.ordinal()];
+        return CARDS[Math.min(CARDS.length - 1, (int) (draw.positionWithin(RARITY, UNIFORM) * CARDS.length))];
     }
 }
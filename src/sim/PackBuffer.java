@@ -0,0 +1,64 @@
+package sim;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * An instance of this class is used to hold the cards of an opened pack
+ * without allocating. A single instance is meant to be refilled for every
+ * pack opened, so it is only valid until the next call to
+ * {@link Pack#open(RandomGenerator, PackBuffer)}.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class PackBuffer {
+    public static final int SIZE = 5;
+
+    private final Card[] CARDS = new Card[SIZE];
+    private Pack pack;
+
+    /**
+     * Returns the pack most recently opened into the instance.
+     * @return the pack most recently opened into the instance, or {@code
+     * null} if no pack has been opened into it.
+     */
+    public Pack pack(){
+        return pack;
+    }
+
+    /**
+     * Returns the card of the provided draw ordinal.
+     * @param ordinal the draw ordinal, from {@code 0} to {@link #SIZE}
+     * exclusive.
+     * @return the card of the provided draw ordinal.
+     */
+    public Card card(int ordinal){
+        return CARDS[ordinal];
+    }
+
+    /**
+     * (package-private) Replaces the contents of the instance with a random
+     * opening of the provided pack.
+     * @param pack the pack to be opened.
+     * @param rand the random number generator used to draw the cards.
+     */
+    void fill(Pack pack, RandomGenerator rand){
+        this.pack = pack;
+        for(int i = 0; i < SIZE; i++){
+            CARDS[i] = pack.pull(i, rand);
+        }
+    }
+
+    /**
+     * (package-private) Replaces the contents of the instance with an opening
+     * of the provided pack from controlled draws. Intended to be used only by
+     * {@code Profile}, whose packs are opened from controlled draws.
+     * @param pack the pack to be opened.
+     * @param rand the controlled draws of the run.
+     */
+    void fillControlled(Pack pack, ControlledDrawRandom rand){
+        this.pack = pack;
+        for(int i = 0; i < SIZE; i++){
+            CARDS[i] = pack.pullControlled(i, rand);
+        }
+    }
+}
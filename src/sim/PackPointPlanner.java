@@ -0,0 +1,118 @@
+package sim;
+
+/**
+ * An instance of this class is used to keep what pack points can still buy
+ * from the collection of a single {@code CardSet}, as cards are obtained,
+ * so that purchases are decided without scanning the set. It keeps the pack
+ * points needed to buy every unobtained standard card, and the unobtained
+ * cards of every rarity of every pack of the set as an array from which an
+ * obtained card is removed by moving the last card into its place.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class PackPointPlanner {
+    public final CardSet CARD_SET;
+
+    //Indexed by pack name ordinal, then by rarity ordinal, and null for packs of other sets
+    private final Card[][][] UNOBTAINED;
+    private final int[][] UNOBTAINED_SIZES;
+    //Indexed by pack name ordinal, then by card index, holding the position of the card within its rarity
+    private final int[][] POSITIONS;
+    private int neededPackPoints = 0;
+
+    /**
+     * (package-private) Instantiates an instance of {@code PackPointPlanner},
+     * with every card of the provided card set unobtained. Intended to be
+     * used only by {@code SetCollection}.
+     * @param CARD_SET the card set of the collection.
+     */
+    PackPointPlanner(final CardSet CARD_SET){
+        this.CARD_SET = CARD_SET;
+
+        final int PACK_NAMES = PackName.values().length;
+        final Rarity[] RARITIES = Rarity.values();
+        this.UNOBTAINED = new Card[PACK_NAMES][][];
+        this.UNOBTAINED_SIZES = new int[PACK_NAMES][];
+        this.POSITIONS = new int[PACK_NAMES][];
+        for(int p = 0; p < CARD_SET.packCount(); p++){
+            final Pack PACK = CARD_SET.packAt(p);
+            final int PACK_NAME = PACK.NAME.ordinal();
+            this.UNOBTAINED[PACK_NAME] = new Card[RARITIES.length][];
+            this.UNOBTAINED_SIZES[PACK_NAME] = new int[RARITIES.length];
+            this.POSITIONS[PACK_NAME] = new int[CARD_SET.completeTotal()];
+            for(Rarity rarity : RARITIES){
+                final Card[] CARDS = PACK.cardsOfRarity(rarity);
+                this.UNOBTAINED[PACK_NAME][rarity.ordinal()] = CARDS;
+                this.UNOBTAINED_SIZES[PACK_NAME][rarity.ordinal()] = CARDS.length;
+                for(int i = 0; i < CARDS.length; i++){
+                    this.POSITIONS[PACK_NAME][CARD_SET.indexOf(CARDS[i])] = i;
+                }
+            }
+        }
+
+        for(int i = 0; i < CARD_SET.completeTotal(); i++){
+            if(CARD_SET.CARDS[i].isStandardRarity() && !CARD_SET.CARDS[i].isSpecialUnlock()){
+                this.neededPackPoints += CARD_SET.CARDS[i].packPoints();
+            }
+        }
+    }
+
+    /**
+     * (package-private) Records the first copy of the provided card as
+     * obtained. Intended to be used only by {@code SetCollection}.
+     * @param card the card obtained.
+     * @param index the index of the card within the set.
+     */
+    void obtained(Card card, int index){
+        if(card.isSpecialUnlock()){
+            return;
+        }
+
+        if(card.isStandardRarity()){
+            neededPackPoints -= card.packPoints();
+        }
+        final int RARITY = card.RARITY.ordinal();
+        for(PackName packName : card.PACK_NAMES){
+            final int PACK_NAME = packName.ordinal();
+            final Card[] CARDS = UNOBTAINED[PACK_NAME][RARITY];
+            final int POSITION = POSITIONS[PACK_NAME][index];
+            final Card LAST = CARDS[--UNOBTAINED_SIZES[PACK_NAME][RARITY]];
+            CARDS[POSITION] = LAST;
+            POSITIONS[PACK_NAME][CARD_SET.indexOf(LAST)] = POSITION;
+        }
+    }
+
+    /**
+     * Returns the pack points needed to buy every unobtained standard card
+     * that can be bought.
+     * @return the pack points needed to buy every unobtained standard card.
+     */
+    public int neededPackPoints(){
+        return neededPackPoints;
+    }
+
+    /**
+     * Returns the number of unobtained cards of the provided rarity within
+     * the provided pack, every one of which can be bought.
+     * @param pack a pack of the set.
+     * @param rarity the rarity to be checked.
+     * @return the number of unobtained cards of the provided rarity.
+     */
+    public int unobtainedCount(Pack pack, Rarity rarity){
+        return UNOBTAINED_SIZES[pack.NAME.ordinal()][rarity.ordinal()];
+    }
+
+    /**
+     * Returns the unobtained card of the provided rarity within the provided
+     * pack at the provided position. The positions of the remaining cards
+     * change as cards are obtained.
+     * @param pack a pack of the set.
+     * @param rarity the rarity of the card.
+     * @param position the position of the card, from {@code 0} to {@link
+     * #unobtainedCount(Pack, Rarity)} exclusive.
+     * @return the unobtained card at the provided position.
+     */
+    public Card unobtainedAt(Pack pack, Rarity rarity, int position){
+        return UNOBTAINED[pack.NAME.ordinal()][rarity.ordinal()][position];
+    }
+}
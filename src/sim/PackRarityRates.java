@@ -33,4 +33,41 @@ public final class PackRarityRates {
         this.DRAW_FOUR = DRAW_FOUR;
         this.DRAW_FIVE = DRAW_FIVE;
     }
+
+    /**
+     * Returns the draw rates of the provided draw ordinal.
+     * @param ordinal the draw ordinal, from {@code 0} to {@code 4}.
+     * @return the draw rates of the provided draw ordinal.
+     */
+    public DrawRarityRates draw(int ordinal){
+        return switch(ordinal) {
+            case 0 -> DRAW_ONE;
+            case 1 -> DRAW_TWO;
+            case 2 -> DRAW_THREE;
+            case 3 -> DRAW_FOUR;
+            default -> DRAW_FIVE;
+        };
+    }
+
+    /**
+     * Returns a copy of the instance, with the draw rates of the provided
+     * draw ordinal replaced by the provided draw rates.
+     * @param ordinal the draw ordinal, from {@code 0} to {@code 4}.
+     * @param draw the draw rates replacing those of the draw ordinal.
+     * @return a copy of the instance with the provided draw rates.
+     * @throws IllegalArgumentException if the draw ordinal is out of range.
+     */
+    public PackRarityRates withDraw(int ordinal, DrawRarityRates draw){
+        if(ordinal < 0 || ordinal >= PackBuffer.SIZE){
+            throw new IllegalArgumentException("draw ordinal must be between 0 and " + (PackBuffer.SIZE - 1) + ": " + ordinal);
+        }
+
+        return new PackRarityRates(
+                ordinal == 0 ? draw : DRAW_ONE,
+                ordinal == 1 ? draw : DRAW_TWO,
+                ordinal == 2 ? draw : DRAW_THREE,
+                ordinal == 3 ? draw : DRAW_FOUR,
+                ordinal == 4 ? draw : DRAW_FIVE
+        );
+    }
 }
@@ -0,0 +1,138 @@
+package sim;
+
+/**
+ * An instance of this class is used to hold an estimate of a percentile of
+ * a {@code Milestone}, together with its 95% confidence interval.
+ * <p>
+ * When every run is independent, the interval is bounded by the order
+ * statistics whose ranks lie within the normal approximation of the
+ * binomial count of runs below the percentile. Otherwise, the interval is
+ * found by inverting the estimated cumulative probability at the
+ * percentile, whose standard error comes from the spread of that
+ * probability between independent batches of runs, not from the runs
+ * themselves. This keeps the interval honest for variance-reduction
+ * techniques whose runs depend on one another.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class PercentileInterval {
+    private static final double Z_95 = 1.959963984540054;
+
+    public final Milestone MILESTONE;
+    public final double PERCENT;
+    public final int ESTIMATE;
+    public final int LOWER;
+    public final int UPPER;
+    public final double CDF_STANDARD_ERROR;
+    public final long RUNS;
+
+    /**
+     * Helper constructor that instantiates an instance of {@code
+     * PercentileInterval}.
+     * @param MILESTONE the milestone of the percentile.
+     * @param PERCENT the percentile.
+     * @param ESTIMATE the estimated percentile.
+     * @param LOWER the lower bound of the confidence interval.
+     * @param UPPER the upper bound of the confidence interval.
+     * @param CDF_STANDARD_ERROR the standard error of the cumulative
+     * probability at the estimated percentile.
+     * @param RUNS the number of runs of the estimate.
+     */
+    private PercentileInterval(final Milestone MILESTONE, final double PERCENT, final int ESTIMATE, final int LOWER,
+                               final int UPPER, final double CDF_STANDARD_ERROR, final long RUNS){
+        this.MILESTONE = MILESTONE;
+        this.PERCENT = PERCENT;
+        this.ESTIMATE = ESTIMATE;
+        this.LOWER = LOWER;
+        this.UPPER = UPPER;
+        this.CDF_STANDARD_ERROR = CDF_STANDARD_ERROR;
+        this.RUNS = RUNS;
+    }
+
+    /**
+     * Returns the estimate and confidence interval of the provided
+     * percentile of the provided milestone.
+     * @param batches the statistics of independent batches of runs, as
+     * returned by {@link SimulationEngine#runBatches(int, int,
+     * SimulationProgress)}.
+     * @param milestone the milestone of the percentile.
+     * @param percent the percentile, from {@code 0} to {@code 100}.
+     * @return the estimate and confidence interval of the percentile.
+     * @throws IllegalArgumentException if there are fewer than two batches.
+     */
+    public static PercentileInterval of(SimulationStatistics[] batches, Milestone milestone, double percent){
+        if(batches.length < 2){
+            throw new IllegalArgumentException("a confidence interval requires at least two batches: " + batches.length);
+        }
+
+        final Histogram ATTEMPTS = new Histogram();
+        for(SimulationStatistics batch : batches){
+            ATTEMPTS.merge(batch.of(milestone));
+        }
+        final long RUNS = ATTEMPTS.count();
+        final int ESTIMATE = ATTEMPTS.percentile(percent);
+
+        //Each batch is weighted by its runs, as the batches may differ in size by up to one unit
+        long reached = 0;
+        for(SimulationStatistics batch : batches){
+            reached += batch.of(milestone).countAtMost(ESTIMATE);
+        }
+        final double CDF = (double) reached / RUNS;
+        double sumOfSquares = 0;
+        for(SimulationStatistics batch : batches){
+            final Histogram BATCH = batch.of(milestone);
+            final double DEVIATION = (BATCH.countAtMost(ESTIMATE) - BATCH.count() * CDF) / RUNS;
+            sumOfSquares += DEVIATION * DEVIATION;
+        }
+        final double STANDARD_ERROR = Math.sqrt(sumOfSquares * batches.length / (batches.length - 1));
+
+        final double MARGIN = 100 * Z_95 * STANDARD_ERROR;
+        return new PercentileInterval(milestone, percent, ESTIMATE,
+                ATTEMPTS.percentile(Math.max(0, percent - MARGIN)),
+                ATTEMPTS.percentile(Math.min(100, percent + MARGIN)),
+                STANDARD_ERROR, RUNS);
+    }
+
+    /**
+     * Returns the estimate and order-statistic confidence interval of the
+     * provided percentile of the attempts of independent runs.
+     * @param attempts the attempts of independent runs to reach the
+     * milestone, with at least one run.
+     * @param milestone the milestone of the percentile.
+     * @param percent the percentile, from {@code 0} to {@code 100}.
+     * @return the estimate and confidence interval of the percentile.
+     * @throws IllegalArgumentException if there are no runs.
+     */
+    public static PercentileInterval of(Histogram attempts, Milestone milestone, double percent){
+        final long RUNS = attempts.count();
+        if(RUNS < 1){
+            throw new IllegalArgumentException("a confidence interval requires at least one run");
+        }
+
+        //The number of runs at or below the true percentile is binomial in the runs
+        final double P = percent / 100;
+        final double RANK = P * RUNS;
+        final double MARGIN = Z_95 * Math.sqrt(RANK * (1 - P));
+        return new PercentileInterval(milestone, percent, attempts.percentile(percent),
+                attempts.valueAtRank(Math.max(1, Math.min(RUNS, (long) Math.floor(RANK - MARGIN)))),
+                attempts.valueAtRank(Math.max(1, Math.min(RUNS, (long) Math.ceil(RANK + MARGIN) + 1))),
+                Math.sqrt(P * (1 - P) / RUNS), RUNS);
+    }
+
+    /**
+     * Returns the larger distance from the estimate to either bound of the
+     * confidence interval.
+     * @return the half-width of the confidence interval, in attempts.
+     */
+    public int halfWidth(){
+        return Math.max(UPPER - ESTIMATE, ESTIMATE - LOWER);
+    }
+
+    /**
+     * Returns the width of the confidence interval.
+     * @return the width of the confidence interval, in attempts.
+     */
+    public int width(){
+        return UPPER - LOWER;
+    }
+}
@@ -1,50 +1,102 @@
 package sim;
 
 import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 import java.time.*;
 
 /**
- * An instance of this class is used to represent a player profile.
+ * An instance of this class is used to represent a player profile. The
+ * simulated clock of a profile counts whole minutes from its creation, and
+ * regenerating consumables are tracked as minute anchors, so no dates are
+ * created while simulating. Dates are only produced for reporting, from a
+ * start time read when the first date is requested.
  * @author Michael Dillinger
  * @since 0.1.0
  */
 public final class Profile {
+    public static final long NO_EVENT = Long.MAX_VALUE;
+
+    private static final long NO_ANCHOR = -1;
+    private static final long MINUTES_PER_HOUR = 60;
+    private static final long FREE_PACK_MINUTES = 12 * MINUTES_PER_HOUR;
+    private static final long PREMIUM_PACK_MINUTES = 24 * MINUTES_PER_HOUR;
+    private static final long WONDER_STAMINA_MINUTES = 12 * MINUTES_PER_HOUR;
+    private static final long PREMIUM_PASS_MINUTES = 30 * 24 * MINUTES_PER_HOUR;
+    private static final int MAX_FREE_PACKS = 2;
+    private static final int MAX_PREMIUM_PACKS = 2;
+    private static final int MAX_WONDER_STAMINA = 5;
+
     public final String USERNAME;
     private final CardCollection CARD_COLLECTION;
-    private LocalDateTime premiumExpiration;
+    private final RandomGenerator RAND;
+    //Non-null when packs are opened from controlled draws, chosen once for the profile
+    private final ControlledDrawRandom CONTROLLED_RAND;
+    private final PackBuffer PACK_BUFFER = new PackBuffer();
+    private final Pack[] PACK_CHOICES = new Pack[PackName.values().length];
+    private long premiumExpiration;
     private boolean isPremium;
     private boolean hasPreviouslyBeenPremium;
-    private LocalDateTime freePackAnchor;
+    private long freePackAnchor;
     private int freePacksAvailable;
-    private LocalDateTime premiumPackAnchor;
+    private long premiumPackAnchor;
     private int premiumPacksAvailable;
-    private LocalDateTime wonderStaminaAnchor;
+    private long wonderStaminaAnchor;
     private int wonderStamina;
 
-    private LocalDateTime simulatedCurrentTime;
+    private long simulatedCurrentMinute;
+    private LocalDateTime startTime;
 
     /**
-     * Instantiates an instance of {@code Profile}, with the provided username.
+     * Instantiates an instance of {@code Profile}, with the provided username
+     * and an unseeded random number generator.
      * @param USERNAME the username of the profile.
      */
     public Profile(final String USERNAME){
-        this.simulatedCurrentTime = LocalDateTime.now(ZoneOffset.UTC).withSecond(0).withNano(0);
+        this(USERNAME, new SplittableRandom());
+    }
+
+    /**
+     * Instantiates an instance of {@code Profile}, with the provided username
+     * and the random number generator used to open its packs.
+     * @param USERNAME the username of the profile.
+     * @param RAND the random number generator of the profile.
+     */
+    public Profile(final String USERNAME, final RandomGenerator RAND){
+        this(USERNAME, RAND, RateTables.PUBLISHED);
+    }
+
+    /**
+     * Instantiates an instance of {@code Profile}, with the provided
+     * username, the random number generator used to open its packs, and the
+     * rate tables its packs are drawn with.
+     * @param USERNAME the username of the profile.
+     * @param RAND the random number generator of the profile.
+     * @param RATE_TABLES the rate tables of the sets of the profile.
+     */
+    public Profile(final String USERNAME, final RandomGenerator RAND, final RateTables RATE_TABLES){
+        this.RAND = RAND;
+        this.CONTROLLED_RAND = RAND instanceof ControlledDrawRandom controlledRand ? controlledRand : null;
+
+        this.simulatedCurrentMinute = 0;
+        this.startTime = null;
 
         this.USERNAME = USERNAME;
 
-        this.CARD_COLLECTION = new CardCollection();
+        this.CARD_COLLECTION = new CardCollection(RATE_TABLES);
 
+        this.premiumExpiration = NO_ANCHOR;
         this.isPremium = false;
         this.hasPreviouslyBeenPremium = false;
 
-        this.freePackAnchor = null;
-        this.freePacksAvailable = 2;
+        this.freePackAnchor = NO_ANCHOR;
+        this.freePacksAvailable = MAX_FREE_PACKS;
 
-        this.premiumPackAnchor = null;
+        this.premiumPackAnchor = NO_ANCHOR;
         this.premiumPacksAvailable = 0;
 
-        this.wonderStaminaAnchor = null;
-        this.wonderStamina = 5;
+        this.wonderStaminaAnchor = NO_ANCHOR;
+        this.wonderStamina = MAX_WONDER_STAMINA;
     }
 
     /**
@@ -57,24 +109,42 @@ public final class Profile {
 
     /**
      * Helper method that recalcs all consumables before any important checks.
+     * Each consumable regains one unit per full interval since its anchor,
+     * and the anchor advances by the intervals consumed, or is cleared once
+     * the consumable is full.
      */
     private void recalcConsumables(){
-        while(this.freePacksAvailable < 2 && !this.freePackAnchor.plusHours(12).isAfter(currentTime())){
-            this.freePacksAvailable++;
-            this.freePackAnchor = this.freePacksAvailable == 2 ? null : this.freePackAnchor.plusHours(12);
+        final long NOW = this.simulatedCurrentMinute;
+        if(this.freePacksAvailable < MAX_FREE_PACKS){
+            final int GAINED = regenerated(this.freePackAnchor, NOW, FREE_PACK_MINUTES, MAX_FREE_PACKS - this.freePacksAvailable);
+            this.freePacksAvailable += GAINED;
+            this.freePackAnchor = this.freePacksAvailable == MAX_FREE_PACKS ? NO_ANCHOR : this.freePackAnchor + GAINED * FREE_PACK_MINUTES;
         }
-        if(isPremium){
-            while(this.premiumPacksAvailable < 2 && !this.premiumPackAnchor.plusDays(1).isAfter(currentTime())){
-                this.premiumPacksAvailable++;
-                this.premiumPackAnchor = this.premiumPacksAvailable == 2 ? null : this.premiumPackAnchor.plusDays(1);
-            }
+        if(isPremium && this.premiumPacksAvailable < MAX_PREMIUM_PACKS){
+            final int GAINED = regenerated(this.premiumPackAnchor, NOW, PREMIUM_PACK_MINUTES, MAX_PREMIUM_PACKS - this.premiumPacksAvailable);
+            this.premiumPacksAvailable += GAINED;
+            this.premiumPackAnchor = this.premiumPacksAvailable == MAX_PREMIUM_PACKS ? NO_ANCHOR : this.premiumPackAnchor + GAINED * PREMIUM_PACK_MINUTES;
         }
-        while(this.wonderStamina < 5 && !this.wonderStaminaAnchor.plusHours(12).isAfter(currentTime())){
-            this.wonderStamina++;
-            this.wonderStaminaAnchor = this.wonderStamina == 5 ? null : this.wonderStaminaAnchor.plusHours(12);
+        if(this.wonderStamina < MAX_WONDER_STAMINA){
+            final int GAINED = regenerated(this.wonderStaminaAnchor, NOW, WONDER_STAMINA_MINUTES, MAX_WONDER_STAMINA - this.wonderStamina);
+            this.wonderStamina += GAINED;
+            this.wonderStaminaAnchor = this.wonderStamina == MAX_WONDER_STAMINA ? NO_ANCHOR : this.wonderStaminaAnchor + GAINED * WONDER_STAMINA_MINUTES;
         }
     }
 
+    /**
+     * Helper method that returns the number of units regained by a consumable
+     * since its anchor.
+     * @param anchor the minute from which the consumable regenerates.
+     * @param now the current minute.
+     * @param interval the minutes taken to regain a single unit.
+     * @param missing the number of units below the maximum of the consumable.
+     * @return the number of units regained, at most the number missing.
+     */
+    private static int regenerated(long anchor, long now, long interval, int missing){
+        return (int) Math.min((now - anchor) / interval, missing);
+    }
+
     /**
      * Returns the total number of available packs to open.
      * @return the total number of available packs to open.
@@ -136,12 +206,12 @@ public final class Profile {
     }
 
     /**
-     * Subscribes the user to the premium pass.
+     * Subscribes the user to the premium pass, for 30 days from the current
+     * expiration, if any. Else, from the current minute.
      */
     public void subscribeToPremium(){
-        this.premiumExpiration = this.premiumExpiration != null
-                ? this.premiumExpiration.plusMonths(1)
-                : currentTime().withSecond(0).withNano(0).plusMonths(1);
+        //A fixed length keeps seeded runs independent of the month they are run in
+        this.premiumExpiration = (this.premiumExpiration != NO_ANCHOR ? this.premiumExpiration : this.simulatedCurrentMinute) + PREMIUM_PASS_MINUTES;
 
         this.isPremium = true;
 
@@ -178,13 +248,28 @@ public final class Profile {
             return false;
         }
 
-        if(this.freePacksAvailable == 2){
-            this.freePackAnchor = currentTime();
+        if(this.freePacksAvailable == MAX_FREE_PACKS){
+            this.freePackAnchor = this.simulatedCurrentMinute;
         }
 
         this.freePacksAvailable--;
 
-        return CARD_COLLECTION.add(pack.open());
+        openIntoBuffer(pack);
+
+        return CARD_COLLECTION.add(PACK_BUFFER);
+    }
+
+    /**
+     * Helper method that opens the provided pack into the buffer of the
+     * instance, from controlled draws if the profile has them.
+     * @param pack the pack to be opened.
+     */
+    private void openIntoBuffer(Pack pack){
+        if(CONTROLLED_RAND != null){
+            PACK_BUFFER.fillControlled(pack, CONTROLLED_RAND);
+        } else {
+            pack.open(RAND, PACK_BUFFER);
+        }
     }
 
     /**
@@ -200,13 +285,15 @@ public final class Profile {
             return false;
         }
 
-        if(this.premiumPacksAvailable == 2){
-            this.premiumPackAnchor = currentTime();
+        if(this.premiumPacksAvailable == MAX_PREMIUM_PACKS){
+            this.premiumPackAnchor = this.simulatedCurrentMinute;
         }
 
         this.premiumPacksAvailable--;
 
-        return CARD_COLLECTION.add(pack.open());
+        openIntoBuffer(pack);
+
+        return CARD_COLLECTION.add(PACK_BUFFER);
     }
 
     /**
@@ -255,8 +342,8 @@ public final class Profile {
             return null;
         }
 
-        if(this.wonderStamina == 5){
-            this.wonderStaminaAnchor = currentTime();
+        if(this.wonderStamina == MAX_WONDER_STAMINA){
+            this.wonderStaminaAnchor = this.simulatedCurrentMinute;
         }
 
         this.wonderStamina -= wonderPick.STAMINA;
@@ -464,6 +551,28 @@ public final class Profile {
         return this.CARD_COLLECTION.packsHighestChanceOfPullingNewStandardCard(setNames);
     }
 
+    /**
+     * Fills the provided array with the packs that have the highest chance of
+     * pulling a new standard card, without allocating.
+     * @param setNames the names of the sets to be checked.
+     * @param packs the array to receive the packs, with room for every pack
+     * of the sets, such as {@link #packChoices()}.
+     * @return the number of packs written to the array.
+     */
+    public int packsHighestChanceOfPullingNewStandardCard(ArrayList<SetName> setNames, Pack[] packs){
+        return this.CARD_COLLECTION.packsHighestChanceOfPullingNewStandardCard(setNames, packs);
+    }
+
+    /**
+     * Returns an array with room for every pack, reused by the instance for
+     * every call, so that a strategy may choose between packs without
+     * allocating. Its contents are only valid until the next call.
+     * @return the reusable array of pack choices of the instance.
+     */
+    public Pack[] packChoices(){
+        return PACK_CHOICES;
+    }
+
     /**
      * Returns an {@code ArrayList} with the packs that have the highest
      * chance of pulling a new rare card.
@@ -591,6 +700,26 @@ public final class Profile {
         return CARD_COLLECTION.unobtainedCardsOfRarity(pack, rarity);
     }
 
+    /**
+     * Returns the set with the provided name, drawn with the rate tables of
+     * the profile.
+     * @param setName the name of the set.
+     * @return the set with the provided name.
+     */
+    public CardSet cardSet(SetName setName){
+        return this.CARD_COLLECTION.cardSet(setName);
+    }
+
+    /**
+     * Returns the planner of the pack point purchases of the set with the
+     * provided name.
+     * @param setName the name of the set.
+     * @return the planner of the pack point purchases of the set.
+     */
+    public PackPointPlanner packPointPlanner(SetName setName){
+        return CARD_COLLECTION.packPointPlanner(setName);
+    }
+
     /**
      * Returns as {@code ArrayList} of all standard cards within the set of
      * the provided name that have not yet been obtained.
@@ -608,22 +737,98 @@ public final class Profile {
      * @param hours the simulated hours that have passed.
      */
     public void simulateHourJump(long hours){
-        this.simulatedCurrentTime = this.simulatedCurrentTime.plusHours(hours);
+        simulateMinuteJump(hours * MINUTES_PER_HOUR);
+    }
+
+    /**
+     * Simulates time having passed for the instance by the provided number
+     * of minutes.
+     * @param minutes the simulated minutes that have passed.
+     */
+    public void simulateMinuteJump(long minutes){
+        this.simulatedCurrentMinute += minutes;
+    }
+
+    /**
+     * Returns the simulated minute at which the next consumable is regained:
+     * a free pack, a premium pack or a unit of wonder stamina.
+     * @return the simulated minute of the next resource event, or {@link
+     * #NO_EVENT} if every consumable is full.
+     */
+    public long nextResourceEvent(){
+        recalcConsumables();
+
+        long next = NO_EVENT;
+        if(this.freePacksAvailable < MAX_FREE_PACKS){
+            next = Math.min(next, this.freePackAnchor + FREE_PACK_MINUTES);
+        }
+        if(isPremium && this.premiumPacksAvailable < MAX_PREMIUM_PACKS){
+            next = Math.min(next, this.premiumPackAnchor + PREMIUM_PACK_MINUTES);
+        }
+        if(this.wonderStamina < MAX_WONDER_STAMINA){
+            next = Math.min(next, this.wonderStaminaAnchor + WONDER_STAMINA_MINUTES);
+        }
+
+        return next;
+    }
+
+    /**
+     * Simulates time having passed for the instance until the next resource
+     * event, so that no simulated time passes without a consumable being
+     * regained.
+     * @return {@code true}, if time was advanced. Else, {@code false} - as
+     * every consumable is full.
+     */
+    public boolean advanceToNextResourceEvent(){
+        final long NEXT = nextResourceEvent();
+        if(NEXT == NO_EVENT){
+            return false;
+        }
+
+        this.simulatedCurrentMinute = NEXT;
+
+        return true;
+    }
+
+    /**
+     * Returns the simulated minutes that have passed since the creation of
+     * the instance.
+     * @return the simulated minutes that have passed since the creation of
+     * the instance.
+     */
+    public long currentMinute(){
+        return simulatedCurrentMinute;
     }
 
     /**
      * Returns the simulated current time of the instance.
      * @return the simulated current time of the instance.
      */
-    private LocalDateTime currentTime(){
-        return simulatedCurrentTime;
+    public LocalDateTime currentTime(){
+        return timeAt(simulatedCurrentMinute);
     }
 
     /**
      * Returns the expiration of the premium pass.
-     * @return the expiration of the premium pass.
+     * @return the expiration of the premium pass, or {@code null} if the
+     * instance has never subscribed.
      */
     public LocalDateTime premiumExpiration(){
-        return this.premiumExpiration;
+        return this.premiumExpiration != NO_ANCHOR ? timeAt(this.premiumExpiration) : null;
+    }
+
+    /**
+     * Helper method that returns the time of the provided simulated minute.
+     * The start time of the instance is read from the clock the first time a
+     * date is requested, so simulating never reads the clock.
+     * @param minute the simulated minute since the creation of the instance.
+     * @return the time of the provided simulated minute.
+     */
+    private LocalDateTime timeAt(long minute){
+        if(startTime == null){
+            startTime = LocalDateTime.now(ZoneOffset.UTC).withSecond(0).withNano(0);
+        }
+
+        return startTime.plusMinutes(minute);
     }
 }
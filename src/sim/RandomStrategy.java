@@ -0,0 +1,86 @@
+package sim;
+
+import java.util.ArrayList;
+import java.util.random.RandomGenerator;
+
+/**
+ * An instance of this class is used to make choices without weighing their
+ * chances, as a baseline for other strategies. Packs are opened uniformly
+ * from every pack of the collected sets, and Wonder Picks are selected
+ * uniformly from the affordable offers holding a new card. Pack points are
+ * spent as a {@code GreedyStrategy} spends them, so comparisons isolate the
+ * value of choosing packs and Wonder Picks.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class RandomStrategy implements Strategy {
+    private final Strategy PACK_POINT_STRATEGY;
+
+    /**
+     * (package-private) Instantiates an instance of {@code RandomStrategy}.
+     * Intended to be used only by {@code Strategies}.
+     * @param PACK_POINT_STRATEGY the strategy spending pack points.
+     */
+    RandomStrategy(final Strategy PACK_POINT_STRATEGY){
+        this.PACK_POINT_STRATEGY = PACK_POINT_STRATEGY;
+    }
+
+    @Override
+    public String name(){
+        return "random";
+    }
+
+    @Override
+    public Pack choosePack(Profile profile, ArrayList<SetName> setNames, RandomGenerator rand){
+        int packCount = 0;
+        for(SetName setName : setNames){
+            packCount += profile.cardSet(setName).packCount();
+        }
+
+        int index = rand.nextInt(packCount);
+        for(SetName setName : setNames){
+            final CardSet CARD_SET = profile.cardSet(setName);
+            if(index < CARD_SET.packCount()){
+                return CARD_SET.packAt(index);
+            }
+            index -= CARD_SET.packCount();
+        }
+
+        throw new IllegalStateException("no pack at index " + index);
+    }
+
+    @Override
+    public WonderPick chooseWonderPick(Profile profile, ArrayList<SetName> setNames, ArrayList<WonderPick> offers, RandomGenerator rand){
+        final int STAMINA = profile.wonderStamina();
+        final ArrayList<WonderPick> CANDIDATES = new ArrayList<>();
+        for(WonderPick offer : offers){
+            if(offer.STAMINA <= STAMINA && holdsNewCard(profile, offer)){
+                CANDIDATES.add(offer);
+            }
+        }
+
+        return CANDIDATES.isEmpty() ? null : CANDIDATES.get(rand.nextInt(CANDIDATES.size()));
+    }
+
+    @Override
+    public void spendPackPoints(Profile profile, SetName setName, RandomGenerator rand){
+        PACK_POINT_STRATEGY.spendPackPoints(profile, setName, rand);
+    }
+
+    /**
+     * Helper method that determines whether the provided offer holds a card
+     * the provided profile has not yet obtained.
+     * @param profile the profile to be checked.
+     * @param offer the offer to be checked.
+     * @return {@code true}, if the offer holds a new card. Else, {@code false}.
+     */
+    private static boolean holdsNewCard(Profile profile, WonderPick offer){
+        for(int i = 0; i < PackBuffer.SIZE; i++){
+            if(!profile.hasCard(offer.PACK.SET_NAME, offer.card(i))){
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,139 @@
+package sim;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * An instance of this class is used to derive independent random number
+ * streams from a single master seed. The stream of a given run depends only
+ * on the master seed and the index of the run, so simulations are
+ * reproducible no matter how they are split between threads. Each run also
+ * has a separate stream for opening packs and, when variance reduction is
+ * used, one for the uniform numbers of the card draws of its packs, and one
+ * for those of its Wonder Picks.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class RandomStreams {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long PACK_SALT = 0x3C6EF372FE94F82BL;
+    private static final long DRAW_SALT = 0xA54FF53A5F1D36F1L;
+    private static final long STRATA_SALT = 0x510E527FADE682D1L;
+    private static final long WONDER_PICK_SALT = 0x9B05688C2B3E6C1FL;
+    private static final long WONDER_PICK_DRAW_SALT = 0x1F83D9ABFB41BD6BL;
+    private static final long WONDER_PICK_STRATA_SALT = 0x5BE0CD19137E2179L;
+
+    public final long MASTER_SEED;
+
+    /**
+     * Instantiates an instance of {@code RandomStreams}, with the provided
+     * master seed.
+     * @param MASTER_SEED the seed from which every stream is derived.
+     */
+    public RandomStreams(final long MASTER_SEED){
+        this.MASTER_SEED = MASTER_SEED;
+    }
+
+    /**
+     * Returns an instance with a master seed that is itself random.
+     * @return an instance with a random master seed.
+     */
+    public static RandomStreams unseeded(){
+        return new RandomStreams(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Returns the random number stream for the run of the provided index.
+     * Each call returns a new generator positioned at the start of the
+     * stream.
+     * @param run the index of the run.
+     * @return the random number stream for the run of the provided index.
+     */
+    public SplittableRandom forRun(long run){
+        return new SplittableRandom(mix(MASTER_SEED + (run + 1) * GOLDEN_GAMMA));
+    }
+
+    /**
+     * Returns the random number stream from which the run of the provided
+     * index opens its packs, for the provided variance reduction. The stream
+     * is independent of the stream returned by {@link #forRun(long)}.
+     * @param run the index of the run.
+     * @param reduction the variance-reduction technique of the run. {@link
+     * VarianceReduction#NONE} and {@link VarianceReduction#COMMON} both
+     * return a plain stream.
+     * @return the random number stream from which the run of the provided
+     * index opens its packs.
+     */
+    public RandomGenerator forPacks(long run, VarianceReduction reduction){
+        final SplittableRandom PACKS = stream(PACK_SALT, run);
+        return switch(reduction) {
+            case NONE, COMMON -> PACKS;
+            case ANTITHETIC, STRATIFIED -> controlled(PACKS, DRAW_SALT, STRATA_SALT, run, reduction);
+        };
+    }
+
+    /**
+     * (package-private) Returns the stream from which the run of the provided
+     * index draws the cards of its Wonder Picks, for the provided variance
+     * reduction. Intended to be used only by {@code SimulationEngine}.
+     * @param run the index of the run.
+     * @param reduction the variance-reduction technique of the run.
+     * @return the stream of the Wonder Pick draws of the run, or {@code null}
+     * for {@link VarianceReduction#NONE} and {@link VarianceReduction#COMMON},
+     * whose Wonder Picks are drawn from the stream of the run.
+     */
+    ControlledDrawRandom forWonderPicks(long run, VarianceReduction reduction){
+        return switch(reduction) {
+            case NONE, COMMON -> null;
+            case ANTITHETIC, STRATIFIED -> controlled(stream(WONDER_PICK_SALT, run), WONDER_PICK_DRAW_SALT, WONDER_PICK_STRATA_SALT, run, reduction);
+        };
+    }
+
+    /**
+     * Helper method that returns the controlled draws of the run of the
+     * provided index, within the families of streams of the provided salts.
+     * @param rand the stream of every other random number of the draws.
+     * @param drawSalt the value distinguishing the streams of uniform
+     * numbers.
+     * @param strataSalt the value distinguishing the strata assignments.
+     * @param run the index of the run.
+     * @param reduction the variance-reduction technique of the run, either
+     * {@link VarianceReduction#ANTITHETIC} or {@link
+     * VarianceReduction#STRATIFIED}.
+     * @return the controlled draws of the run.
+     */
+    private ControlledDrawRandom controlled(SplittableRandom rand, long drawSalt, long strataSalt, long run, VarianceReduction reduction){
+        final int UNIT = reduction.UNIT_SIZE;
+        if(reduction == VarianceReduction.ANTITHETIC){
+            //Both runs of a pair draw the same uniform numbers, the second run taking their complements
+            return new ControlledDrawRandom(rand, stream(drawSalt, run / UNIT), reduction, run % UNIT == 1, 0, 0);
+        }
+
+        return new ControlledDrawRandom(rand, stream(drawSalt, run), reduction, false,
+                mix(mix(MASTER_SEED ^ strataSalt) + (run / UNIT + 1) * GOLDEN_GAMMA), (int) (run % UNIT));
+    }
+
+    /**
+     * Helper method that returns the stream of the provided index, within
+     * the family of streams of the provided salt.
+     * @param salt the value distinguishing the family of streams.
+     * @param index the index of the stream.
+     * @return the stream of the provided index.
+     */
+    private SplittableRandom stream(long salt, long index){
+        return new SplittableRandom(mix(mix(MASTER_SEED ^ salt) + (index + 1) * GOLDEN_GAMMA));
+    }
+
+    /**
+     * (package-private) Helper method that scrambles the bits of the provided
+     * value, so that neighbouring run indices start at unrelated points of
+     * the stream.
+     * @param z the value to be scrambled.
+     * @return the scrambled value.
+     */
+    static long mix(long z){
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
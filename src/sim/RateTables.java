@@ -0,0 +1,117 @@
+package sim;
+
+import java.util.ArrayList;
+
+/**
+ * An instance of this class is used to choose, at runtime, the rate tables
+ * every set is opened with. Each published {@code PackRarityRates} of {@code
+ * CardSets} may be replaced by another table, and every set drawn with a
+ * replaced table is copied with the replacement, sharing its cards with the
+ * published set. Instances are immutable, so a single instance may be shared
+ * between threads, and sets with different tables may be simulated at once.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class RateTables {
+    public static final RateTables PUBLISHED = new RateTables(new ArrayList<>(), new ArrayList<>());
+
+    private final ArrayList<PackRarityRates> PUBLISHED_TABLES;
+    private final ArrayList<PackRarityRates> REPLACEMENTS;
+    //Indexed by set name ordinal
+    private final CardSet[] CARD_SETS = new CardSet[SetName.values().length];
+
+    /**
+     * Private constructor that builds the sets of the provided replacements.
+     * @param publishedTables the published tables that are replaced.
+     * @param replacements the replacement of each published table, in the
+     * same order.
+     */
+    private RateTables(ArrayList<PackRarityRates> publishedTables, ArrayList<PackRarityRates> replacements){
+        this.PUBLISHED_TABLES = publishedTables;
+        this.REPLACEMENTS = replacements;
+        for(SetName setName : SetName.values()){
+            final CardSet CARD_SET = CardSets.get(setName);
+            this.CARD_SETS[setName.ordinal()] = CARD_SET.withRates(of(CARD_SET.PACK_RARITY_RATES));
+        }
+    }
+
+    /**
+     * Returns a copy of the instance with the provided published table
+     * replaced by the provided table, in place of any earlier replacement.
+     * @param published the published table of one or more sets, as found in
+     * {@code CardSets}.
+     * @param replacement the table every set drawn with the published table
+     * is drawn with instead.
+     * @return a copy of the instance with the provided replacement.
+     * @throws IllegalArgumentException if no set is drawn with the provided
+     * published table.
+     */
+    public RateTables with(PackRarityRates published, PackRarityRates replacement){
+        boolean isPublished = false;
+        for(SetName setName : SetName.values()){
+            isPublished |= CardSets.get(setName).PACK_RARITY_RATES == published;
+        }
+        if(!isPublished){
+            throw new IllegalArgumentException("rate table is not the published table of any set");
+        }
+
+        final ArrayList<PackRarityRates> PUBLISHED_COPY = new ArrayList<>(PUBLISHED_TABLES);
+        final ArrayList<PackRarityRates> REPLACEMENTS_COPY = new ArrayList<>(REPLACEMENTS);
+        final int INDEX = indexOf(published);
+        if(INDEX > -1){
+            PUBLISHED_COPY.remove(INDEX);
+            REPLACEMENTS_COPY.remove(INDEX);
+        }
+        if(replacement != published){
+            PUBLISHED_COPY.add(published);
+            REPLACEMENTS_COPY.add(replacement);
+        }
+
+        return new RateTables(PUBLISHED_COPY, REPLACEMENTS_COPY);
+    }
+
+    /**
+     * Returns the table the provided published table is replaced by.
+     * @param published the published table of one or more sets.
+     * @return the replacement of the provided table, if it is replaced.
+     * Else, the provided table itself.
+     */
+    public PackRarityRates of(PackRarityRates published){
+        final int INDEX = indexOf(published);
+        return INDEX > -1 ? REPLACEMENTS.get(INDEX) : published;
+    }
+
+    /**
+     * Returns whether every table of the instance is the published one.
+     * @return {@code true}, if no table is replaced. Else, {@code false}.
+     */
+    public boolean isPublished(){
+        return PUBLISHED_TABLES.isEmpty();
+    }
+
+    /**
+     * Returns the set associated with the provided set name, drawn with the
+     * tables of the instance.
+     * @param setName the name of the set to be returned.
+     * @return the set associated with the provided set name.
+     */
+    public CardSet cardSet(SetName setName){
+        return CARD_SETS[setName.ordinal()];
+    }
+
+    /**
+     * Helper method that returns the index of the provided published table
+     * among those replaced, by identity.
+     * @param published the published table to be found.
+     * @return the index of the table, or {@code -1} if it is not replaced.
+     */
+    private int indexOf(PackRarityRates published){
+        for(int i = 0; i < PUBLISHED_TABLES.size(); i++){
+            if(PUBLISHED_TABLES.get(i) == published){
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
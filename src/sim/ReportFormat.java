@@ -0,0 +1,202 @@
+package sim;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * An instance of this enum is used to represent a format in which the
+ * statistics of a {@code Scenario} are reported.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public enum ReportFormat {
+    TEXT("text"),
+    CSV("csv"),
+    JSON("json");
+
+    public final String VAL;
+
+    /**
+     * Instantiates an instance of {@code ReportFormat}, with the provided
+     * value.
+     * @param VAL the value of the format.
+     */
+    ReportFormat(final String VAL){
+        this.VAL = VAL;
+    }
+
+    /**
+     * Returns the instance whose value is equal to the provided value,
+     * ignoring case.
+     * @param val the value with which to compare values to.
+     * @return the instance whose value is equal to the provided value, if one
+     * exists. Else, {@code null}.
+     */
+    public static ReportFormat get(String val){
+        for(ReportFormat format : values()){
+            if(format.VAL.equalsIgnoreCase(val)){
+                return format;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the text to be written once before any report of the instance.
+     * @return the text to be written once before any report, or an empty
+     * string if the instance has none.
+     */
+    public String header(){
+        return this == CSV ? "sets,method,strategy,runs,pack_points,wonder_picks,seed,milestone,p5,p50,p95,mean,stddev,precision\n" : "";
+    }
+
+    /**
+     * Returns the report of the provided scenario and its statistics. The
+     * runs, seed and strategy of an exact scenario are left out, as they are
+     * unused. The strategy of a text report is only given if it is not the
+     * default. A sequential scenario reports the runs it used, and the
+     * precision it achieved for every milestone.
+     * @param scenario the scenario that was run.
+     * @param statistics the statistics of the scenario.
+     * @return the report of the provided scenario and its statistics.
+     */
+    public String format(Scenario scenario, MilestoneStatistics statistics){
+        final StringBuilder SB = new StringBuilder();
+        final ArrayList<SetName> SET_NAMES = scenario.setNames();
+        final SequentialStatistics SEQUENTIAL = statistics instanceof SequentialStatistics sequential ? sequential : null;
+        final String RUNS = scenario.EXACT ? "" : String.valueOf(SEQUENTIAL == null ? scenario.RUNS : SEQUENTIAL.runs());
+
+        switch(this) {
+            case TEXT -> {
+                SB.append("Sets: ").append(join(SET_NAMES, ", "))
+                        .append("\nRuns: ").append(scenario.EXACT ? "exact" : RUNS
+                                + (scenario.VARIANCE_REDUCTION == VarianceReduction.NONE ? "" : " (" + scenario.VARIANCE_REDUCTION.VAL + ")"))
+                        .append("\nPack Points: ").append(scenario.USE_PACK_POINTS ? "yes" : "no")
+                        .append("\nWonder Picks: ").append(scenario.USE_WONDER_PICKS ? "yes" : "no");
+                if(scenario.STRATEGY != Strategies.GREEDY){
+                    SB.append("\nStrategy: ").append(scenario.STRATEGY.name());
+                }
+                if(!scenario.EXACT){
+                    SB.append("\nSeed: ").append(scenario.STREAMS.MASTER_SEED);
+                }
+                if(SEQUENTIAL != null){
+                    SB.append("\nPrecision: within ").append(SEQUENTIAL.RULE.format(SEQUENTIAL.precision()))
+                            .append(" at 95% confidence, ")
+                            .append(SEQUENTIAL.converged() ? "meeting the tolerance of " : "at the maximum runs, short of the tolerance of ")
+                            .append(SEQUENTIAL.RULE);
+                }
+                SB.append("\n").append(percentiles(statistics));
+            }
+            case CSV -> {
+                final String PREFIX = "\"" + join(SET_NAMES, ";") + "\"," + method(scenario) + ","
+                        + (scenario.EXACT ? "" : scenario.STRATEGY.name()) + ","
+                        + RUNS + "," + scenario.USE_PACK_POINTS + "," + scenario.USE_WONDER_PICKS + ","
+                        + (scenario.EXACT ? "" : scenario.STREAMS.MASTER_SEED) + ",";
+                for(Milestone milestone : Milestone.values()){
+                    final Distribution ATTEMPTS = statistics.of(milestone);
+                    SB.append(PREFIX).append("\"").append(milestone.VAL).append("\",")
+                            .append(ATTEMPTS.percentile(5)).append(",")
+                            .append(ATTEMPTS.percentile(50)).append(",")
+                            .append(ATTEMPTS.percentile(95)).append(",")
+                            .append(decimal(ATTEMPTS.mean())).append(",")
+                            .append(decimal(ATTEMPTS.standardDeviation())).append(",")
+                            .append(SEQUENTIAL == null ? "" : decimal(SEQUENTIAL.precisionOf(milestone))).append("\n");
+                }
+            }
+            case JSON -> {
+                SB.append("{\"sets\":[");
+                for(int i = 0; i < SET_NAMES.size(); i++){
+                    SB.append(i == 0 ? "" : ",").append("\"").append(SET_NAMES.get(i).VAL).append("\"");
+                }
+                SB.append("],\"method\":\"").append(method(scenario))
+                        .append("\",\"strategy\":").append(scenario.EXACT ? "null" : "\"" + scenario.STRATEGY.name() + "\"")
+                        .append(",\"runs\":").append(scenario.EXACT ? "null" : RUNS)
+                        .append(",\"packPoints\":").append(scenario.USE_PACK_POINTS)
+                        .append(",\"wonderPicks\":").append(scenario.USE_WONDER_PICKS)
+                        .append(",\"seed\":").append(scenario.EXACT ? "null" : scenario.STREAMS.MASTER_SEED)
+                        .append(",\"tolerance\":").append(SEQUENTIAL == null ? "null" : "{\"value\":" + decimal(SEQUENTIAL.RULE.TOLERANCE)
+                                + ",\"relative\":" + SEQUENTIAL.RULE.RELATIVE + ",\"converged\":" + SEQUENTIAL.converged() + "}")
+                        .append(",\"milestones\":[");
+                final Milestone[] MILESTONES = Milestone.values();
+                for(int i = 0; i < MILESTONES.length; i++){
+                    final Distribution ATTEMPTS = statistics.of(MILESTONES[i]);
+                    SB.append(i == 0 ? "" : ",")
+                            .append("{\"milestone\":\"").append(MILESTONES[i].VAL)
+                            .append("\",\"p5\":").append(ATTEMPTS.percentile(5))
+                            .append(",\"p50\":").append(ATTEMPTS.percentile(50))
+                            .append(",\"p95\":").append(ATTEMPTS.percentile(95))
+                            .append(",\"mean\":").append(decimal(ATTEMPTS.mean()))
+                            .append(",\"stddev\":").append(decimal(ATTEMPTS.standardDeviation()))
+                            .append(",\"precision\":").append(SEQUENTIAL == null ? "null" : decimal(SEQUENTIAL.precisionOf(MILESTONES[i])))
+                            .append("}");
+                }
+                SB.append("]}\n");
+            }
+        }
+
+        return SB.toString();
+    }
+
+    /**
+     * Returns the 5th, 50th and 95th percentiles of every milestone of the
+     * provided statistics, in the format of the interactive report.
+     * @param statistics the statistics to be reported.
+     * @return the percentiles of every milestone of the provided statistics.
+     */
+    public static String percentiles(MilestoneStatistics statistics){
+        final StringBuilder SB = new StringBuilder();
+        for(Milestone milestone : Milestone.values()){
+            final Distribution ATTEMPTS = statistics.of(milestone);
+            SB.append("\nAttempts for ").append(milestone.VAL)
+                    .append(":\n5th Percentile: ").append(ATTEMPTS.percentile(5))
+                    .append("\n50th Percentile: ").append(ATTEMPTS.percentile(50))
+                    .append("\n95th Percentile: ").append(ATTEMPTS.percentile(95))
+                    .append("\n");
+        }
+
+        return SB.toString();
+    }
+
+    /**
+     * Helper method that returns how the statistics of the provided scenario
+     * were obtained.
+     * @param scenario the scenario to be checked.
+     * @return {@code exact}, if the scenario was solved exactly. Else,
+     * {@code simulation}, followed by the variance-reduction technique if one
+     * was used.
+     */
+    private static String method(Scenario scenario){
+        if(scenario.EXACT){
+            return "exact";
+        }
+
+        return scenario.VARIANCE_REDUCTION == VarianceReduction.NONE ? "simulation" : "simulation-" + scenario.VARIANCE_REDUCTION.VAL;
+    }
+
+    /**
+     * Helper method that joins the values of the provided set names with the
+     * provided delimiter.
+     * @param setNames the set names to be joined.
+     * @param delimiter the delimiter placed between values.
+     * @return the joined values of the provided set names.
+     */
+    private static String join(ArrayList<SetName> setNames, String delimiter){
+        final ArrayList<String> NAMES = new ArrayList<>();
+        for(SetName setName : setNames){
+            NAMES.add(setName.VAL);
+        }
+
+        return String.join(delimiter, NAMES);
+    }
+
+    /**
+     * Helper method that formats the provided value with three decimal places,
+     * independent of the default locale.
+     * @param value the value to be formatted.
+     * @return the formatted value.
+     */
+    private static String decimal(double value){
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
@@ -0,0 +1,256 @@
+package sim;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * An instance of this class is used to keep the raw results of a fixed
+ * number of simulations, for plots and tail analysis that a {@code
+ * Histogram} cannot answer. The results are stored as one column of attempts
+ * per {@code Milestone}, indexed by run, and every column is split into
+ * chunks of at most {@link #CHUNK_SIZE} runs, so that no single array grows
+ * past what the heap can place. The chunks are either {@code int} arrays on
+ * the heap, or direct buffers off the heap for jobs of a hundred million runs
+ * or more.
+ * <p>
+ * Distinct runs may be set from different threads. Percentiles require the
+ * columns to be sorted first, which gives up the order of the runs.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class RunColumns implements MilestoneStatistics {
+    public static final int CHUNK_SIZE = 1 << 24;
+
+    private static final Milestone[] MILESTONES = Milestone.values();
+
+    public final long RUNS;
+    public final boolean OFF_HEAP;
+    private final IntBuffer[][] COLUMNS;
+    private final Distribution[] DISTRIBUTIONS = new Distribution[MILESTONES.length];
+    private volatile boolean sorted = false;
+
+    /**
+     * Instantiates an instance of {@code RunColumns}, with room for the
+     * provided number of runs. Every run holds zero attempts until it is set.
+     * @param RUNS the number of runs to be stored.
+     * @param OFF_HEAP whether or not to store the columns in direct buffers
+     * rather than on the heap.
+     * @throws IllegalArgumentException if the number of runs is negative.
+     */
+    public RunColumns(final long RUNS, final boolean OFF_HEAP){
+        if(RUNS < 0){
+            throw new IllegalArgumentException("the number of runs must not be negative: " + RUNS);
+        }
+
+        this.RUNS = RUNS;
+        this.OFF_HEAP = OFF_HEAP;
+        final int CHUNKS = (int) ((RUNS + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        this.COLUMNS = new IntBuffer[MILESTONES.length][CHUNKS];
+        for(IntBuffer[] column : this.COLUMNS){
+            for(int i = 0; i < CHUNKS; i++){
+                column[i] = allocate((int) Math.min(CHUNK_SIZE, RUNS - (long) i * CHUNK_SIZE), OFF_HEAP);
+            }
+        }
+        for(Milestone milestone : MILESTONES){
+            this.DISTRIBUTIONS[milestone.ordinal()] = new ColumnDistribution(milestone);
+        }
+    }
+
+    /**
+     * Stores every milestone of the provided simulation results as the
+     * provided run.
+     * @param run the index of the run, from {@code 0} to {@link #RUNS}
+     * exclusive.
+     * @param packet the results of the run.
+     * @throws IllegalStateException if the columns have been sorted.
+     */
+    public void set(long run, SimulationPacket packet){
+        if(sorted){
+            throw new IllegalStateException("runs cannot be set once the columns are sorted");
+        }
+
+        final int CHUNK = (int) (run / CHUNK_SIZE);
+        final int INDEX = (int) (run % CHUNK_SIZE);
+        for(Milestone milestone : MILESTONES){
+            COLUMNS[milestone.ordinal()][CHUNK].put(INDEX, milestone.of(packet));
+        }
+    }
+
+    /**
+     * Returns the attempts stored for the provided milestone at the provided
+     * index: the attempts of that run, or the value of that rank less one
+     * once the columns are sorted.
+     * @param index the index, from {@code 0} to {@link #RUNS} exclusive.
+     * @param milestone the milestone to be obtained.
+     * @return the attempts stored at the provided index.
+     */
+    public int get(long index, Milestone milestone){
+        return COLUMNS[milestone.ordinal()][(int) (index / CHUNK_SIZE)].get((int) (index % CHUNK_SIZE));
+    }
+
+    /**
+     * Returns whether the columns have been sorted.
+     * @return {@code true}, if the columns have been sorted. Else, {@code
+     * false}.
+     */
+    public boolean isSorted(){
+        return sorted;
+    }
+
+    /**
+     * Sorts every column in ascending order, after which an index no longer
+     * identifies a run. Each chunk is sorted with {@link
+     * Arrays#parallelSort(int[])}, and the sorted chunks of a column are then
+     * merged into new chunks. Off-heap chunks are sorted through an array of
+     * a single chunk, so the heap never holds a whole column.
+     */
+    public synchronized void sort(){
+        if(sorted){
+            return;
+        }
+
+        int[] scratch = null;
+        for(int m = 0; m < COLUMNS.length; m++){
+            for(IntBuffer chunk : COLUMNS[m]){
+                if(chunk.hasArray()){
+                    Arrays.parallelSort(chunk.array(), chunk.arrayOffset(), chunk.arrayOffset() + chunk.capacity());
+                } else {
+                    if(scratch == null){
+                        scratch = new int[(int) Math.min(CHUNK_SIZE, RUNS)];
+                    }
+                    chunk.get(0, scratch, 0, chunk.capacity());
+                    Arrays.parallelSort(scratch, 0, chunk.capacity());
+                    chunk.put(0, scratch, 0, chunk.capacity());
+                }
+            }
+            if(COLUMNS[m].length > 1){
+                COLUMNS[m] = merge(COLUMNS[m]);
+            }
+        }
+        sorted = true;
+    }
+
+    /**
+     * Returns the sorted distribution of the provided milestone. Its
+     * percentiles require the columns to be sorted, and match those of a
+     * {@code Histogram} of the same runs.
+     * @param milestone the milestone to be obtained.
+     * @return the distribution of the provided milestone.
+     */
+    @Override
+    public Distribution of(Milestone milestone){
+        return DISTRIBUTIONS[milestone.ordinal()];
+    }
+
+    /**
+     * Returns the statistics of every stored run, as histograms.
+     * @return the statistics of every stored run.
+     */
+    public SimulationStatistics toStatistics(){
+        final SimulationStatistics STATISTICS = new SimulationStatistics();
+        for(Milestone milestone : MILESTONES){
+            final Histogram HISTOGRAM = STATISTICS.of(milestone);
+            for(IntBuffer chunk : COLUMNS[milestone.ordinal()]){
+                for(int i = 0; i < chunk.capacity(); i++){
+                    HISTOGRAM.record(chunk.get(i));
+                }
+            }
+        }
+
+        return STATISTICS;
+    }
+
+    /**
+     * Helper method that merges the provided sorted chunks into new sorted
+     * chunks of the same sizes. The number of chunks of even a billion runs
+     * is small, so the head of every chunk is scanned for each value.
+     * @param chunks the sorted chunks of a column.
+     * @return the merged chunks of the column.
+     */
+    private IntBuffer[] merge(IntBuffer[] chunks){
+        final IntBuffer[] MERGED = new IntBuffer[chunks.length];
+        final int[] HEADS = new int[chunks.length];
+        for(int out = 0; out < MERGED.length; out++){
+            MERGED[out] = allocate(chunks[out].capacity(), OFF_HEAP);
+            for(int i = 0; i < MERGED[out].capacity(); i++){
+                int smallest = -1;
+                for(int c = 0; c < chunks.length; c++){
+                    if(HEADS[c] < chunks[c].capacity()
+                            && (smallest == -1 || chunks[c].get(HEADS[c]) < chunks[smallest].get(HEADS[smallest]))){
+                        smallest = c;
+                    }
+                }
+                MERGED[out].put(i, chunks[smallest].get(HEADS[smallest]++));
+            }
+        }
+
+        return MERGED;
+    }
+
+    /**
+     * Helper method that allocates a chunk of the provided size.
+     * @param size the number of runs of the chunk.
+     * @param offHeap whether or not to allocate the chunk off the heap.
+     * @return a chunk of the provided size, filled with zeros.
+     */
+    private static IntBuffer allocate(int size, boolean offHeap){
+        return offHeap
+                ? ByteBuffer.allocateDirect(size * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer()
+                : IntBuffer.wrap(new int[size]);
+    }
+
+    /**
+     * Helper class that presents a single column as a {@code Distribution}.
+     */
+    private final class ColumnDistribution implements Distribution {
+        private final Milestone MILESTONE;
+
+        private ColumnDistribution(Milestone milestone){
+            this.MILESTONE = milestone;
+        }
+
+        @Override
+        public int percentile(double percent){
+            if(!sorted){
+                throw new IllegalStateException("percentiles require the columns to be sorted");
+            }
+            if(RUNS == 0){
+                throw new IllegalStateException("percentiles require at least one run");
+            }
+
+            return get(Math.max(1, Math.min(RUNS, (long) Math.ceil(percent * RUNS / 100))) - 1, MILESTONE);
+        }
+
+        @Override
+        public double mean(){
+            long sum = 0;
+            for(IntBuffer chunk : COLUMNS[MILESTONE.ordinal()]){
+                for(int i = 0; i < chunk.capacity(); i++){
+                    sum += chunk.get(i);
+                }
+            }
+
+            return (double) sum / RUNS;
+        }
+
+        @Override
+        public double standardDeviation(){
+            if(RUNS < 2){
+                return 0;
+            }
+
+            final double MEAN = mean();
+            double sumOfSquares = 0;
+            for(IntBuffer chunk : COLUMNS[MILESTONE.ordinal()]){
+                for(int i = 0; i < chunk.capacity(); i++){
+                    sumOfSquares += (chunk.get(i) - MEAN) * (chunk.get(i) - MEAN);
+                }
+            }
+
+            return Math.sqrt(sumOfSquares / (RUNS - 1));
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package sim;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * An instance of this class is used to analyze a run file written by a
+ * {@code RunFileWriter}. The file is memory-mapped in regions of whole
+ * blocks rather than read onto the heap, so even billions of runs can be
+ * analyzed. The distribution of a milestone is counted into a {@code
+ * Histogram} by a single pass over its columns, which touches none of the
+ * other milestones.
+ * <p>
+ * Mapped regions stay mapped until they are garbage collected, even once the
+ * instance is closed.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class RunFileReader implements MilestoneStatistics, Closeable {
+    private static final long MAX_REGION_BYTES = 1L << 30;
+    private static final Milestone[] MILESTONES = Milestone.values();
+
+    public final long RUNS;
+    public final boolean USE_PACK_POINTS;
+    public final boolean USE_WONDER_PICKS;
+    public final long MASTER_SEED;
+    public final VarianceReduction VARIANCE_REDUCTION;
+    public final Strategy STRATEGY;
+    private final ArrayList<SetName> SET_NAMES = new ArrayList<>();
+    private final FileChannel CHANNEL;
+    private final int BLOCK_RUNS;
+    private final long DATA_OFFSET;
+    private final long BLOCK_BYTES;
+    private final int BLOCKS_PER_REGION;
+    private final MappedByteBuffer[] REGIONS;
+    private final Histogram[] HISTOGRAMS = new Histogram[MILESTONES.length];
+
+    /**
+     * Instantiates an instance of {@code RunFileReader}, opening the provided
+     * file and reading its header.
+     * @param file the run file to be read.
+     * @throws IOException if the file cannot be read, is not a run file, or
+     * is of an unsupported version.
+     */
+    public RunFileReader(Path file) throws IOException {
+        this.CHANNEL = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            final ByteBuffer HEADER = ByteBuffer.allocate((int) Math.min(4096, CHANNEL.size())).order(ByteOrder.LITTLE_ENDIAN);
+            CHANNEL.read(HEADER, 0);
+            HEADER.flip();
+
+            final byte[] MAGIC = new byte[RunFileWriter.MAGIC.length];
+            HEADER.get(MAGIC);
+            if(!Arrays.equals(MAGIC, RunFileWriter.MAGIC)){
+                throw new IOException("not a run file: " + file);
+            }
+            final int VERSION = HEADER.getInt();
+            if(VERSION != RunFileWriter.VERSION){
+                throw new IOException("unsupported run file version " + VERSION + ": " + file);
+            }
+
+            this.RUNS = HEADER.getLong();
+            this.BLOCK_RUNS = HEADER.getInt();
+            final int MILESTONE_COUNT = HEADER.getInt();
+            if(MILESTONE_COUNT != MILESTONES.length){
+                throw new IOException("run file holds " + MILESTONE_COUNT + " milestones rather than " + MILESTONES.length + ": " + file);
+            }
+            for(Milestone milestone : MILESTONES){
+                final String NAME = getString(HEADER);
+                if(!NAME.equals(milestone.name())){
+                    throw new IOException("run file holds milestone " + NAME + " in place of " + milestone.name() + ": " + file);
+                }
+            }
+            final int SET_COUNT = HEADER.getInt();
+            for(int i = 0; i < SET_COUNT; i++){
+                this.SET_NAMES.add(SetName.valueOf(getString(HEADER)));
+            }
+            this.USE_PACK_POINTS = HEADER.get() != 0;
+            this.USE_WONDER_PICKS = HEADER.get() != 0;
+            this.MASTER_SEED = HEADER.getLong();
+            this.VARIANCE_REDUCTION = VarianceReduction.get(getString(HEADER));
+            this.STRATEGY = Strategies.get(getString(HEADER));
+            if(this.VARIANCE_REDUCTION == null || this.STRATEGY == null){
+                throw new IOException("run file names an unknown variance reduction or strategy: " + file);
+            }
+            this.DATA_OFFSET = HEADER.position();
+        } catch (IOException e) {
+            CHANNEL.close();
+            throw e;
+        } catch (RuntimeException e) {
+            CHANNEL.close();
+            throw new IOException("malformed run file header: " + file, e);
+        }
+
+        this.BLOCK_BYTES = (long) BLOCK_RUNS * MILESTONES.length * Integer.BYTES;
+        this.BLOCKS_PER_REGION = (int) Math.max(1, MAX_REGION_BYTES / BLOCK_BYTES);
+        final long BLOCKS = (RUNS + BLOCK_RUNS - 1) / BLOCK_RUNS;
+        this.REGIONS = new MappedByteBuffer[(int) ((BLOCKS + BLOCKS_PER_REGION - 1) / BLOCKS_PER_REGION)];
+        if(CHANNEL.size() < DATA_OFFSET + RUNS * MILESTONES.length * Integer.BYTES){
+            CHANNEL.close();
+            throw new IOException("run file is shorter than its " + RUNS + " runs: " + file);
+        }
+    }
+
+    /**
+     * Returns the names of the sets that were simulated.
+     * @return the names of the sets that were simulated.
+     */
+    public ArrayList<SetName> setNames(){
+        return new ArrayList<>(SET_NAMES);
+    }
+
+    /**
+     * Returns the scenario that wrote the file, with the runs of the file.
+     * Running the scenario again simulates the same runs.
+     * @return the scenario that wrote the file.
+     * @throws IllegalStateException if the file holds more runs than a
+     * scenario can.
+     */
+    public Scenario scenario(){
+        if(RUNS > Integer.MAX_VALUE){
+            throw new IllegalStateException("a scenario holds at most " + Integer.MAX_VALUE + " runs: " + RUNS);
+        }
+
+        return new Scenario(SET_NAMES, (int) RUNS, USE_PACK_POINTS, USE_WONDER_PICKS, new RandomStreams(MASTER_SEED), 0,
+                false, VARIANCE_REDUCTION, null, STRATEGY);
+    }
+
+    /**
+     * Returns the attempts of the provided milestone in the run of the
+     * provided index.
+     * @param run the index of the run, from {@code 0} to {@link #RUNS}
+     * exclusive.
+     * @param milestone the milestone to be obtained.
+     * @return the attempts of the run.
+     * @throws IOException if the file cannot be read.
+     * @throws IndexOutOfBoundsException if there is no run of the provided
+     * index.
+     */
+    public synchronized int get(long run, Milestone milestone) throws IOException {
+        if(run < 0 || run >= RUNS){
+            throw new IndexOutOfBoundsException("run must be between 0 and " + RUNS + " exclusive: " + run);
+        }
+
+        final long BLOCK = run / BLOCK_RUNS;
+        return column(BLOCK, milestone).get((int) (run % BLOCK_RUNS));
+    }
+
+    /**
+     * Returns the distribution of the provided milestone over every run of
+     * the file, counting it on first use.
+     * @param milestone the milestone to be obtained.
+     * @return the distribution of the provided milestone.
+     * @throws UncheckedIOException if the file cannot be read.
+     */
+    @Override
+    public synchronized Histogram of(Milestone milestone){
+        if(HISTOGRAMS[milestone.ordinal()] == null){
+            try {
+                final Histogram HISTOGRAM = new Histogram();
+                final long BLOCKS = (RUNS + BLOCK_RUNS - 1) / BLOCK_RUNS;
+                for(long block = 0; block < BLOCKS; block++){
+                    final IntBuffer COLUMN = column(block, milestone);
+                    for(int i = 0; i < COLUMN.capacity(); i++){
+                        HISTOGRAM.record(COLUMN.get(i));
+                    }
+                }
+                HISTOGRAMS[milestone.ordinal()] = HISTOGRAM;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return HISTOGRAMS[milestone.ordinal()];
+    }
+
+    /**
+     * Closes the file. Distributions already counted remain available.
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        CHANNEL.close();
+    }
+
+    /**
+     * Helper method that returns the column of the provided milestone within
+     * the provided block, mapping the region of the block if needed.
+     * @param block the index of the block.
+     * @param milestone the milestone of the column.
+     * @return the column, holding the attempts of every run of the block.
+     * @throws IOException if the file cannot be mapped.
+     */
+    private IntBuffer column(long block, Milestone milestone) throws IOException {
+        final int REGION = (int) (block / BLOCKS_PER_REGION);
+        if(REGIONS[REGION] == null){
+            final long START = DATA_OFFSET + (long) REGION * BLOCKS_PER_REGION * BLOCK_BYTES;
+            final long END = Math.min(START + BLOCKS_PER_REGION * BLOCK_BYTES, DATA_OFFSET + RUNS * MILESTONES.length * Integer.BYTES);
+            REGIONS[REGION] = CHANNEL.map(FileChannel.MapMode.READ_ONLY, START, END - START);
+        }
+
+        final int RUNS_OF_BLOCK = (int) Math.min(BLOCK_RUNS, RUNS - block * BLOCK_RUNS);
+        final int OFFSET = (int) ((block % BLOCKS_PER_REGION) * BLOCK_BYTES + (long) milestone.ordinal() * RUNS_OF_BLOCK * Integer.BYTES);
+        return REGIONS[REGION].slice(OFFSET, RUNS_OF_BLOCK * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    /**
+     * Helper method that gets a string written as its length followed by its
+     * UTF-8 bytes.
+     * @param buffer the buffer holding the string.
+     * @return the string.
+     */
+    private static String getString(ByteBuffer buffer){
+        final byte[] BYTES = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(BYTES);
+        return new String(BYTES, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,203 @@
+package sim;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An instance of this class is used to stream the raw results of a {@code
+ * Scenario} into a binary run file, one run at a time and in order of the
+ * runs, to be analyzed later by a {@code RunFileReader} without simulating
+ * again.
+ * <p>
+ * Every number is little-endian. The file opens with a header: the magic
+ * {@code PTCGPRUN}, the format version, the number of runs, the runs per
+ * block, the names of the milestones and of the sets, whether pack points
+ * and Wonder Picks are used, the master seed, the variance-reduction
+ * technique and the strategy, each string being its length as an unsigned
+ * short followed by its UTF-8 bytes. Blocks of {@link #BLOCK_RUNS} runs
+ * follow, the last of which may hold fewer. A block holds one column of
+ * fixed-width {@code int} attempts per milestone, in order of the
+ * milestones, so every column of every block starts at an offset computed
+ * from the header alone.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class RunFileWriter implements Closeable {
+    public static final int BLOCK_RUNS = 1 << 16;
+
+    static final byte[] MAGIC = "PTCGPRUN".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+    static final int RUNS_OFFSET = MAGIC.length + Integer.BYTES;
+
+    private static final Milestone[] MILESTONES = Milestone.values();
+
+    private final FileChannel CHANNEL;
+    private final int[][] BLOCK = new int[MILESTONES.length][BLOCK_RUNS];
+    private final ByteBuffer BUFFER = ByteBuffer.allocate(MILESTONES.length * BLOCK_RUNS * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private int buffered = 0;
+    private long runs = 0;
+
+    /**
+     * Instantiates an instance of {@code RunFileWriter}, creating or
+     * replacing the provided file and writing the header of the provided
+     * scenario.
+     * @param file the file to be written.
+     * @param scenario the scenario whose runs are to be written.
+     * @throws IOException if the file cannot be written.
+     */
+    public RunFileWriter(Path file, Scenario scenario) throws IOException {
+        this.CHANNEL = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            final ByteBuffer HEADER = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+            HEADER.put(MAGIC).putInt(VERSION).putLong(0).putInt(BLOCK_RUNS);
+            HEADER.putInt(MILESTONES.length);
+            for(Milestone milestone : MILESTONES){
+                putString(HEADER, milestone.name());
+            }
+            HEADER.putInt(scenario.setNames().size());
+            for(SetName setName : scenario.setNames()){
+                putString(HEADER, setName.name());
+            }
+            HEADER.put((byte) (scenario.USE_PACK_POINTS ? 1 : 0))
+                    .put((byte) (scenario.USE_WONDER_PICKS ? 1 : 0))
+                    .putLong(scenario.STREAMS.MASTER_SEED);
+            putString(HEADER, scenario.VARIANCE_REDUCTION.VAL);
+            putString(HEADER, scenario.STRATEGY.name());
+            writeFully(HEADER.flip());
+        } catch (IOException | RuntimeException e) {
+            CHANNEL.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends the results of the next run.
+     * @param packet the results of the run.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(SimulationPacket packet) throws IOException {
+        for(Milestone milestone : MILESTONES){
+            BLOCK[milestone.ordinal()][buffered] = milestone.of(packet);
+        }
+        advance();
+    }
+
+    /**
+     * Appends the results of every run of the provided columns, in order of
+     * the runs.
+     * @param columns the columns of the runs, which must not be sorted.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalArgumentException if the columns are sorted.
+     */
+    public void write(RunColumns columns) throws IOException {
+        write(columns, columns.RUNS);
+    }
+
+    /**
+     * Appends the results of the provided number of first runs of the
+     * provided columns, in order of the runs, so that columns may be reused
+     * for runs fewer than they hold.
+     * @param columns the columns of the runs, which must not be sorted.
+     * @param runs the number of runs to be written, from the first.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalArgumentException if the columns are sorted, or hold
+     * fewer runs than the provided number.
+     */
+    public void write(RunColumns columns, long runs) throws IOException {
+        if(columns.isSorted()){
+            throw new IllegalArgumentException("sorted columns no longer hold runs in order");
+        }
+        if(runs < 0 || runs > columns.RUNS){
+            throw new IllegalArgumentException("runs must be between 0 and " + columns.RUNS + ": " + runs);
+        }
+
+        for(long run = 0; run < runs; run++){
+            for(Milestone milestone : MILESTONES){
+                BLOCK[milestone.ordinal()][buffered] = columns.get(run, milestone);
+            }
+            advance();
+        }
+    }
+
+    /**
+     * Returns the number of runs written so far.
+     * @return the number of runs written so far.
+     */
+    public long runs(){
+        return runs;
+    }
+
+    /**
+     * Writes the last block and the number of runs, and closes the file.
+     * @throws IOException if the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            CHANNEL.write(ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(0, runs), RUNS_OFFSET);
+        } finally {
+            CHANNEL.close();
+        }
+    }
+
+    /**
+     * Helper method that counts the run just buffered, writing the block
+     * once it is full.
+     * @throws IOException if the file cannot be written.
+     */
+    private void advance() throws IOException {
+        buffered++;
+        runs++;
+        if(buffered == BLOCK_RUNS){
+            flush();
+        }
+    }
+
+    /**
+     * Helper method that writes the buffered runs as a block.
+     * @throws IOException if the file cannot be written.
+     */
+    private void flush() throws IOException {
+        if(buffered == 0){
+            return;
+        }
+
+        BUFFER.clear();
+        for(int[] column : BLOCK){
+            BUFFER.asIntBuffer().put(column, 0, buffered);
+            BUFFER.position(BUFFER.position() + buffered * Integer.BYTES);
+        }
+        writeFully(BUFFER.flip());
+        buffered = 0;
+    }
+
+    /**
+     * Helper method that writes every remaining byte of the provided buffer
+     * at the end of the file.
+     * @param buffer the bytes to be written.
+     * @throws IOException if the file cannot be written.
+     */
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while(buffer.hasRemaining()){
+            CHANNEL.write(buffer);
+        }
+    }
+
+    /**
+     * Helper method that puts the provided string as its length followed by
+     * its UTF-8 bytes.
+     * @param buffer the buffer to receive the string.
+     * @param value the string to be put.
+     */
+    private static void putString(ByteBuffer buffer, String value){
+        final byte[] BYTES = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort((short) BYTES.length).put(BYTES);
+    }
+}
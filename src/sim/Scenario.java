@@ -0,0 +1,253 @@
+package sim;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+/**
+ * An instance of this class is used to describe a single batch of
+ * simulations: the sets to be collected, the number of runs, whether pack
+ * points and Wonder Picks are used, the master seed, the number of worker
+ * threads, the strategy making every choice and the rate tables every pack
+ * is drawn with. A sequential scenario runs
+ * simulations until its {@code StoppingRule} is met, treating its runs as a
+ * maximum. An exact scenario is solved by an {@code ExactSolver} instead of
+ * being simulated, and so ignores its runs, seed, threads, variance
+ * reduction, stopping rule and strategy.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class Scenario {
+    private final ArrayList<SetName> SET_NAMES;
+    public final int RUNS;
+    public final boolean USE_PACK_POINTS;
+    public final boolean USE_WONDER_PICKS;
+    public final RandomStreams STREAMS;
+    public final int THREADS;
+    public final boolean EXACT;
+    public final VarianceReduction VARIANCE_REDUCTION;
+    public final StoppingRule STOPPING_RULE;
+    public final Strategy STRATEGY;
+    public final RateTables RATE_TABLES;
+    private final ExactSolver SOLVER;
+
+    /**
+     * Instantiates an instance of {@code Scenario}, with the provided sets,
+     * number of runs, options, random number streams and number of threads,
+     * to be simulated.
+     * @param SET_NAMES the names of the sets to be simulated.
+     * @param RUNS the number of simulations to be run.
+     * @param USE_PACK_POINTS whether or not to use pack points.
+     * @param USE_WONDER_PICKS whether or not to use Wonder Picks.
+     * @param STREAMS the random number streams from which each run draws.
+     * @param THREADS the number of worker threads to use. A value less than
+     * {@code 1} uses one thread per available processor.
+     */
+    public Scenario(final ArrayList<SetName> SET_NAMES, final int RUNS, final boolean USE_PACK_POINTS, final boolean USE_WONDER_PICKS, final RandomStreams STREAMS, final int THREADS){
+        this(SET_NAMES, RUNS, USE_PACK_POINTS, USE_WONDER_PICKS, STREAMS, THREADS, false, VarianceReduction.NONE);
+    }
+
+    /**
+     * Instantiates an instance of {@code Scenario}, with the provided sets,
+     * number of runs, options, random number streams, number of threads,
+     * whether or not it is to be solved exactly, and variance-reduction
+     * technique.
+     * @param SET_NAMES the names of the sets to be collected.
+     * @param RUNS the number of simulations to be run. Ignored if exact.
+     * @param USE_PACK_POINTS whether or not to use pack points.
+     * @param USE_WONDER_PICKS whether or not to use Wonder Picks.
+     * @param STREAMS the random number streams from which each run draws.
+     * @param THREADS the number of worker threads to use. A value less than
+     * {@code 1} uses one thread per available processor.
+     * @param EXACT whether or not to solve the instance exactly rather than
+     * simulate it.
+     * @param VARIANCE_REDUCTION the variance-reduction technique of the
+     * simulations. Ignored if exact.
+     * @throws IllegalArgumentException if the instance is exact but cannot be
+     * solved exactly.
+     */
+    public Scenario(final ArrayList<SetName> SET_NAMES, final int RUNS, final boolean USE_PACK_POINTS, final boolean USE_WONDER_PICKS, final RandomStreams STREAMS, final int THREADS, final boolean EXACT, final VarianceReduction VARIANCE_REDUCTION){
+        this(SET_NAMES, RUNS, USE_PACK_POINTS, USE_WONDER_PICKS, STREAMS, THREADS, EXACT, VARIANCE_REDUCTION, null);
+    }
+
+    /**
+     * Instantiates an instance of {@code Scenario}, with the provided sets,
+     * number of runs, options, random number streams, number of threads,
+     * whether or not it is to be solved exactly, variance-reduction technique
+     * and stopping rule.
+     * @param SET_NAMES the names of the sets to be collected.
+     * @param RUNS the number of simulations to be run, or the maximum number
+     * if sequential. Ignored if exact.
+     * @param USE_PACK_POINTS whether or not to use pack points.
+     * @param USE_WONDER_PICKS whether or not to use Wonder Picks.
+     * @param STREAMS the random number streams from which each run draws.
+     * @param THREADS the number of worker threads to use. A value less than
+     * {@code 1} uses one thread per available processor.
+     * @param EXACT whether or not to solve the instance exactly rather than
+     * simulate it.
+     * @param VARIANCE_REDUCTION the variance-reduction technique of the
+     * simulations. Ignored if exact.
+     * @param STOPPING_RULE the rule that ends the simulations once met, or
+     * {@code null} to run every simulation. Ignored if exact.
+     * @throws IllegalArgumentException if the instance is exact but cannot be
+     * solved exactly, or is sequential with too few runs to judge its
+     * variance-reduction technique.
+     */
+    public Scenario(final ArrayList<SetName> SET_NAMES, final int RUNS, final boolean USE_PACK_POINTS, final boolean USE_WONDER_PICKS, final RandomStreams STREAMS, final int THREADS, final boolean EXACT, final VarianceReduction VARIANCE_REDUCTION, final StoppingRule STOPPING_RULE){
+        this(SET_NAMES, RUNS, USE_PACK_POINTS, USE_WONDER_PICKS, STREAMS, THREADS, EXACT, VARIANCE_REDUCTION, STOPPING_RULE, Strategies.GREEDY);
+    }
+
+    /**
+     * Instantiates an instance of {@code Scenario}, with the provided sets,
+     * number of runs, options, random number streams, number of threads,
+     * whether or not it is to be solved exactly, variance-reduction
+     * technique, stopping rule and strategy.
+     * @param SET_NAMES the names of the sets to be collected.
+     * @param RUNS the number of simulations to be run, or the maximum number
+     * if sequential. Ignored if exact.
+     * @param USE_PACK_POINTS whether or not to use pack points.
+     * @param USE_WONDER_PICKS whether or not to use Wonder Picks.
+     * @param STREAMS the random number streams from which each run draws.
+     * @param THREADS the number of worker threads to use. A value less than
+     * {@code 1} uses one thread per available processor.
+     * @param EXACT whether or not to solve the instance exactly rather than
+     * simulate it.
+     * @param VARIANCE_REDUCTION the variance-reduction technique of the
+     * simulations. Ignored if exact.
+     * @param STOPPING_RULE the rule that ends the simulations once met, or
+     * {@code null} to run every simulation. Ignored if exact.
+     * @param STRATEGY the strategy making every choice of a run. Ignored if
+     * exact, as an exact scenario leaves no choices to be made.
+     * @throws IllegalArgumentException if the instance is exact but cannot be
+     * solved exactly, or is sequential with too few runs to judge its
+     * variance-reduction technique.
+     */
+    public Scenario(final ArrayList<SetName> SET_NAMES, final int RUNS, final boolean USE_PACK_POINTS, final boolean USE_WONDER_PICKS, final RandomStreams STREAMS, final int THREADS, final boolean EXACT, final VarianceReduction VARIANCE_REDUCTION, final StoppingRule STOPPING_RULE, final Strategy STRATEGY){
+        this(SET_NAMES, RUNS, USE_PACK_POINTS, USE_WONDER_PICKS, STREAMS, THREADS, EXACT, VARIANCE_REDUCTION, STOPPING_RULE, STRATEGY, RateTables.PUBLISHED);
+    }
+
+    /**
+     * Instantiates an instance of {@code Scenario}, with the provided sets,
+     * number of runs, options, random number streams, number of threads,
+     * whether or not it is to be solved exactly, variance-reduction
+     * technique, stopping rule, strategy and rate tables.
+     * @param SET_NAMES the names of the sets to be collected.
+     * @param RUNS the number of simulations to be run, or the maximum number
+     * if sequential. Ignored if exact.
+     * @param USE_PACK_POINTS whether or not to use pack points.
+     * @param USE_WONDER_PICKS whether or not to use Wonder Picks.
+     * @param STREAMS the random number streams from which each run draws.
+     * @param THREADS the number of worker threads to use. A value less than
+     * {@code 1} uses one thread per available processor.
+     * @param EXACT whether or not to solve the instance exactly rather than
+     * simulate it.
+     * @param VARIANCE_REDUCTION the variance-reduction technique of the
+     * simulations. Ignored if exact.
+     * @param STOPPING_RULE the rule that ends the simulations once met, or
+     * {@code null} to run every simulation. Ignored if exact.
+     * @param STRATEGY the strategy making every choice of a run. Ignored if
+     * exact, as an exact scenario leaves no choices to be made.
+     * @param RATE_TABLES the rate tables every pack and Wonder Pick is drawn
+     * with.
+     * @throws IllegalArgumentException if the instance is exact but cannot be
+     * solved exactly, or is sequential with too few runs to judge its
+     * variance-reduction technique.
+     */
+    public Scenario(final ArrayList<SetName> SET_NAMES, final int RUNS, final boolean USE_PACK_POINTS, final boolean USE_WONDER_PICKS, final RandomStreams STREAMS, final int THREADS, final boolean EXACT, final VarianceReduction VARIANCE_REDUCTION, final StoppingRule STOPPING_RULE, final Strategy STRATEGY, final RateTables RATE_TABLES){
+        if(SET_NAMES.isEmpty()){
+            throw new IllegalArgumentException("a scenario requires at least one set");
+        }
+        if(!EXACT && RUNS < 1){
+            throw new IllegalArgumentException("a scenario requires a positive number of runs: " + RUNS);
+        }
+        if(!EXACT && STOPPING_RULE != null && RUNS < 2 * VARIANCE_REDUCTION.UNIT_SIZE){
+            throw new IllegalArgumentException("a sequential " + VARIANCE_REDUCTION.VAL + " scenario requires a maximum of at least "
+                    + 2 * VARIANCE_REDUCTION.UNIT_SIZE + " runs: " + RUNS);
+        }
+
+        this.SET_NAMES = new ArrayList<>(SET_NAMES);
+        this.RUNS = RUNS;
+        this.USE_PACK_POINTS = USE_PACK_POINTS;
+        this.USE_WONDER_PICKS = USE_WONDER_PICKS;
+        this.STREAMS = STREAMS;
+        this.THREADS = THREADS;
+        this.EXACT = EXACT;
+        this.VARIANCE_REDUCTION = EXACT ? VarianceReduction.NONE : VARIANCE_REDUCTION;
+        this.STOPPING_RULE = EXACT ? null : STOPPING_RULE;
+        this.STRATEGY = EXACT ? Strategies.GREEDY : STRATEGY;
+        this.RATE_TABLES = RATE_TABLES;
+        this.SOLVER = EXACT ? new ExactSolver(this.SET_NAMES, USE_PACK_POINTS, USE_WONDER_PICKS, RATE_TABLES) : null;
+    }
+
+    /**
+     * Returns the names of the sets to be simulated.
+     * @return the names of the sets to be simulated.
+     */
+    public ArrayList<SetName> setNames(){
+        return new ArrayList<>(SET_NAMES);
+    }
+
+    /**
+     * Returns whether the instance runs simulations until its stopping rule
+     * is met.
+     * @return {@code true}, if the instance has a stopping rule. Else,
+     * {@code false}.
+     */
+    public boolean isSequential(){
+        return STOPPING_RULE != null;
+    }
+
+    /**
+     * Runs every simulation of the instance, runs simulations until its
+     * stopping rule is met if it is sequential, or solves it if it is exact.
+     * @param progress the receiver of progress updates, or {@code null}.
+     * Exact solutions and sequential runs send no updates.
+     * @return the statistics of every milestone.
+     */
+    public MilestoneStatistics run(SimulationProgress progress){
+        if(EXACT){
+            return SOLVER.solve();
+        }
+        if(isSequential()){
+            return engine(VARIANCE_REDUCTION).runUntil(STOPPING_RULE, RUNS);
+        }
+
+        return engine(VARIANCE_REDUCTION).run(RUNS, progress);
+    }
+
+    /**
+     * Runs every simulation of the instance, streaming the results of every
+     * run into the provided run file as well.
+     * @param file the run file to be written, which is created or replaced.
+     * @return the statistics of every milestone.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalArgumentException if the instance is exact or
+     * sequential, or replaces a published rate table, which run files do not
+     * record.
+     */
+    public SimulationStatistics runToFile(Path file) throws IOException {
+        if(EXACT){
+            throw new IllegalArgumentException("exact scenarios have no runs to be written");
+        }
+        if(isSequential()){
+            throw new IllegalArgumentException("run files hold a fixed number of runs, without a tolerance");
+        }
+        if(!RATE_TABLES.isPublished()){
+            throw new IllegalArgumentException("run files record only scenarios drawn with the published rate tables");
+        }
+
+        try (RunFileWriter writer = new RunFileWriter(file, this)) {
+            return engine(VARIANCE_REDUCTION).runToFile(RUNS, writer);
+        }
+    }
+
+    /**
+     * Returns an engine running the simulations of the instance with the
+     * provided variance-reduction technique.
+     * @param reduction the variance-reduction technique of the engine.
+     * @return an engine running the simulations of the instance.
+     */
+    public SimulationEngine engine(VarianceReduction reduction){
+        return new SimulationEngine(new Simulation(SET_NAMES, USE_PACK_POINTS, USE_WONDER_PICKS, STRATEGY, RATE_TABLES), THREADS, STREAMS, reduction);
+    }
+}
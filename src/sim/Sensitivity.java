@@ -0,0 +1,270 @@
+package sim;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * An instance of this class is used to measure how sensitive the attempts
+ * of a single {@code Scenario} are to the rarity rates of its packs. Every
+ * rate of the scenario strictly between zero and one is scaled up and down
+ * by a relative step, its draw renormalised, and the scenario run again with
+ * the resulting {@code RateTables}. Every variant runs the same runs and
+ * seed on common random numbers, drawing every card of its packs and of its
+ * Wonder Picks by the inverse of the cumulative rates, each from controlled
+ * draws of their own, so a rate that moves a little changes only the draws
+ * near its cutoffs. The gradient of each percentile with respect to each
+ * rate is the central difference between the two variants of that rate.
+ * Every variant is run in a single {@code Sweep}.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class Sensitivity {
+    public static final double DEFAULT_STEP = .10;
+
+    private static final Milestone[] MILESTONES = {Milestone.FIFTY_PERCENT_OF_STANDARDS, Milestone.ALL_DDDD_RARITIES, Milestone.ALL_STANDARDS};
+    private static final double[] PERCENTILES = {50, 95};
+
+    private final Scenario SCENARIO;
+    private final VarianceReduction VARIANCE_REDUCTION;
+    private final double STEP;
+    //Indexed by entry
+    private final ArrayList<PackRarityRates> TABLES = new ArrayList<>();
+    private final ArrayList<Integer> DRAWS = new ArrayList<>();
+    private final ArrayList<Rarity> RARITIES = new ArrayList<>();
+    private final ArrayList<double[]> RATES = new ArrayList<>();
+    private final SimulationStatistics BASE;
+    private final SimulationStatistics[] LOWER;
+    private final SimulationStatistics[] UPPER;
+
+    /**
+     * Instantiates an instance of {@code Sensitivity}, running the provided
+     * scenario with every rate scaled by one plus and one minus the provided
+     * step.
+     * @param scenario the scenario to be measured.
+     * @param step the relative step of every rate, such as {@code 0.1} for
+     * 10%.
+     * @throws IllegalArgumentException if the scenario or step cannot be
+     * measured.
+     */
+    public Sensitivity(Scenario scenario, double step){
+        validate(scenario, step);
+
+        this.SCENARIO = scenario;
+        this.VARIANCE_REDUCTION = reductionOf(scenario);
+        this.STEP = step;
+
+        final ArrayList<Scenario> VARIANTS = new ArrayList<>();
+        VARIANTS.add(variantOf(scenario.RATE_TABLES));
+        for(PackRarityRates published : publishedTablesOf(scenario)){
+            final PackRarityRates TABLE = scenario.RATE_TABLES.of(published);
+            for(int ordinal = 0; ordinal < PackBuffer.SIZE; ordinal++){
+                final DrawRarityRates DRAW = TABLE.draw(ordinal);
+                for(Rarity rarity : Rarity.values()){
+                    if(DRAW.chanceOf(rarity) > 0 && DRAW.chanceOf(rarity) < 1){
+                        final DrawRarityRates LOWER_DRAW = DRAW.reweighted(rarity, 1 - step);
+                        final DrawRarityRates UPPER_DRAW = DRAW.reweighted(rarity, 1 + step);
+                        TABLES.add(published);
+                        DRAWS.add(ordinal);
+                        RARITIES.add(rarity);
+                        RATES.add(new double[]{DRAW.chanceOf(rarity), LOWER_DRAW.chanceOf(rarity), UPPER_DRAW.chanceOf(rarity)});
+                        VARIANTS.add(variantOf(scenario.RATE_TABLES.with(published, TABLE.withDraw(ordinal, LOWER_DRAW))));
+                        VARIANTS.add(variantOf(scenario.RATE_TABLES.with(published, TABLE.withDraw(ordinal, UPPER_DRAW))));
+                    }
+                }
+            }
+        }
+
+        final SimulationStatistics[] STATISTICS = new Sweep(VARIANTS, scenario.THREADS).run();
+        this.BASE = STATISTICS[0];
+        this.LOWER = new SimulationStatistics[RARITIES.size()];
+        this.UPPER = new SimulationStatistics[RARITIES.size()];
+        for(int i = 0; i < RARITIES.size(); i++){
+            this.LOWER[i] = STATISTICS[1 + 2 * i];
+            this.UPPER[i] = STATISTICS[2 + 2 * i];
+        }
+    }
+
+    /**
+     * Checks whether the provided scenario and step can be measured: the
+     * scenario must be simulated with a fixed number of runs, and the step
+     * must lie strictly between zero and one.
+     * @param scenario the scenario to be checked.
+     * @param step the relative step to be checked.
+     * @throws IllegalArgumentException if the scenario or step cannot be
+     * measured.
+     */
+    public static void validate(Scenario scenario, double step){
+        if(scenario.EXACT){
+            throw new IllegalArgumentException("sensitivity analyses do not apply to exact scenarios");
+        }
+        if(scenario.isSequential()){
+            throw new IllegalArgumentException("sensitivity analyses run a fixed number of runs, without a tolerance");
+        }
+        if(!(step > 0 && step < 1)){
+            throw new IllegalArgumentException("the step of a sensitivity analysis must be between 0 and 1 exclusive: " + step);
+        }
+    }
+
+    /**
+     * Returns the number of rates measured.
+     * @return the number of rates measured.
+     */
+    public int entries(){
+        return RARITIES.size();
+    }
+
+    /**
+     * Returns the published table of the rate of the provided entry, as found
+     * in {@code CardSets}.
+     * @param entry the index of the entry.
+     * @return the published table of the rate.
+     */
+    public PackRarityRates table(int entry){
+        return TABLES.get(entry);
+    }
+
+    /**
+     * Returns the draw ordinal of the rate of the provided entry.
+     * @param entry the index of the entry.
+     * @return the draw ordinal, from {@code 0} to {@code 4}.
+     */
+    public int draw(int entry){
+        return DRAWS.get(entry);
+    }
+
+    /**
+     * Returns the rarity of the rate of the provided entry.
+     * @param entry the index of the entry.
+     * @return the rarity of the rate.
+     */
+    public Rarity rarity(int entry){
+        return RARITIES.get(entry);
+    }
+
+    /**
+     * Returns the rate of the provided entry, as drawn by the scenario.
+     * @param entry the index of the entry.
+     * @return the probability of drawing the rarity of the entry.
+     */
+    public double rate(int entry){
+        return RATES.get(entry)[0];
+    }
+
+    /**
+     * Returns the statistics of the scenario with its own rates.
+     * @return the statistics of the scenario.
+     */
+    public SimulationStatistics base(){
+        return BASE;
+    }
+
+    /**
+     * Returns the gradient of the provided percentile of the provided
+     * milestone with respect to the rate of the provided entry, as the
+     * difference of the percentile between the scaled-up and scaled-down
+     * rate over the difference of the rate.
+     * @param entry the index of the entry.
+     * @param milestone the milestone to be measured.
+     * @param percent the percentile, from {@code 0} to {@code 100}.
+     * @return the gradient, in attempts per unit of probability.
+     */
+    public double gradient(int entry, Milestone milestone, double percent){
+        final double[] ENTRY_RATES = RATES.get(entry);
+        return (UPPER[entry].of(milestone).percentile(percent) - LOWER[entry].of(milestone).percentile(percent))
+                / (ENTRY_RATES[2] - ENTRY_RATES[1]);
+    }
+
+    /**
+     * Returns the gradients of the scenario as text, in attempts per
+     * percentage point of each rate.
+     * @return the gradients of the scenario as text.
+     */
+    public String report(){
+        final StringBuilder SB = new StringBuilder();
+        final ArrayList<String> NAMES = new ArrayList<>();
+        for(SetName setName : SCENARIO.setNames()){
+            NAMES.add(setName.VAL);
+        }
+        SB.append("Sets: ").append(String.join(", ", NAMES))
+                .append("\nRuns: ").append(SCENARIO.RUNS).append(" per variant (").append(VARIANCE_REDUCTION.VAL).append(")")
+                .append("\nPack Points: ").append(SCENARIO.USE_PACK_POINTS ? "yes" : "no")
+                .append("\nWonder Picks: ").append(SCENARIO.USE_WONDER_PICKS ? "yes" : "no")
+                .append("\nSeed: ").append(SCENARIO.STREAMS.MASTER_SEED)
+                .append("\nEach rate is scaled down and up by ").append(String.format(Locale.ROOT, "%.1f%%", 100 * STEP))
+                .append(" and its draw renormalised.\nGradients are in attempts per percentage point of the rate, from central differences.\n");
+
+        for(Milestone milestone : MILESTONES){
+            final Histogram ATTEMPTS = BASE.of(milestone);
+            SB.append("\nAttempts for ").append(milestone.VAL).append(" (p50 ").append(ATTEMPTS.percentile(PERCENTILES[0]))
+                    .append(", p95 ").append(ATTEMPTS.percentile(PERCENTILES[1])).append("):\n")
+                    .append(String.format(Locale.ROOT, "%-15s%6s%8s%10s%12s%12s\n", "Sets", "Draw", "Rarity", "Rate", "p50", "p95"));
+            for(int i = 0; i < entries(); i++){
+                SB.append(String.format(Locale.ROOT, "%-15s%6d%8s%9.4f%%%+12.3f%+12.3f\n", setsOf(TABLES.get(i)), DRAWS.get(i) + 1,
+                        RARITIES.get(i).REPRESENTATION, 100 * rate(i),
+                        gradient(i, milestone, PERCENTILES[0]) / 100, gradient(i, milestone, PERCENTILES[1]) / 100));
+            }
+        }
+
+        return SB.toString();
+    }
+
+    /**
+     * Helper method that returns the scenario measured with the provided
+     * rate tables.
+     * @param rateTables the rate tables of the variant.
+     * @return the variant of the scenario.
+     */
+    private Scenario variantOf(RateTables rateTables){
+        return new Scenario(SCENARIO.setNames(), SCENARIO.RUNS, SCENARIO.USE_PACK_POINTS, SCENARIO.USE_WONDER_PICKS, SCENARIO.STREAMS,
+                SCENARIO.THREADS, false, VARIANCE_REDUCTION, null, SCENARIO.STRATEGY, rateTables);
+    }
+
+    /**
+     * Helper method that returns the numbers of the sets of the scenario
+     * drawn with the provided published table.
+     * @param published the published table.
+     * @return the numbers of the sets, separated by commas.
+     */
+    private String setsOf(PackRarityRates published){
+        final ArrayList<String> NUMBERS = new ArrayList<>();
+        for(SetName setName : SCENARIO.setNames()){
+            if(CardSets.get(setName).PACK_RARITY_RATES == published){
+                NUMBERS.add(String.valueOf(setName.ordinal() + 1));
+            }
+        }
+
+        return String.join(",", NUMBERS);
+    }
+
+    /**
+     * Helper method that returns the published tables of the sets of the
+     * provided scenario, each once, in order of the sets.
+     * @param scenario the scenario to be measured.
+     * @return the published tables of the sets of the scenario.
+     */
+    private static ArrayList<PackRarityRates> publishedTablesOf(Scenario scenario){
+        final ArrayList<PackRarityRates> PUBLISHED = new ArrayList<>();
+        for(SetName setName : scenario.setNames()){
+            final PackRarityRates TABLE = CardSets.get(setName).PACK_RARITY_RATES;
+            if(!PUBLISHED.contains(TABLE)){
+                PUBLISHED.add(TABLE);
+            }
+        }
+
+        return PUBLISHED;
+    }
+
+    /**
+     * Helper method that returns the variance-reduction technique the
+     * provided scenario is measured with. Plain and common runs draw their
+     * cards from alias tables, which a changed rate reshuffles entirely, so
+     * they are stratified instead, drawing every card by the inverse of the
+     * cumulative rates.
+     * @param scenario the scenario to be measured.
+     * @return the variance-reduction technique of the analysis.
+     */
+    private static VarianceReduction reductionOf(Scenario scenario){
+        return scenario.VARIANCE_REDUCTION == VarianceReduction.NONE || scenario.VARIANCE_REDUCTION == VarianceReduction.COMMON
+                ? VarianceReduction.STRATIFIED : scenario.VARIANCE_REDUCTION;
+    }
+}
@@ -0,0 +1,109 @@
+package sim;
+
+/**
+ * An instance of this class is used to hold the statistics of a sequential
+ * {@code Scenario}, which ran simulations until its {@code StoppingRule} was
+ * met or its maximum number of runs was reached, together with the final
+ * confidence interval of every reported percentile of every {@code
+ * Milestone}.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class SequentialStatistics implements MilestoneStatistics {
+    public final StoppingRule RULE;
+    private final SimulationStatistics STATISTICS;
+    private final PercentileInterval[][] INTERVALS;
+
+    /**
+     * (package-private) Instantiates an instance of {@code
+     * SequentialStatistics}. Intended to be used only by {@code
+     * SimulationEngine}.
+     * @param RULE the rule the simulations were run against.
+     * @param STATISTICS the statistics of every simulation.
+     * @param INTERVALS the interval of every percentile of {@link
+     * StoppingRule#PERCENTILES}, indexed by milestone ordinal and then by
+     * percentile.
+     */
+    SequentialStatistics(final StoppingRule RULE, final SimulationStatistics STATISTICS, final PercentileInterval[][] INTERVALS){
+        this.RULE = RULE;
+        this.STATISTICS = STATISTICS;
+        this.INTERVALS = INTERVALS;
+    }
+
+    /**
+     * Returns the statistics of the provided milestone.
+     * @param milestone the milestone to be obtained.
+     * @return the statistics of the provided milestone.
+     */
+    @Override
+    public Histogram of(Milestone milestone){
+        return STATISTICS.of(milestone);
+    }
+
+    /**
+     * Returns the number of simulations that were run.
+     * @return the number of simulations that were run.
+     */
+    public long runs(){
+        return STATISTICS.count();
+    }
+
+    /**
+     * Returns the intervals of the reported percentiles of the provided
+     * milestone.
+     * @param milestone the milestone to be obtained.
+     * @return the interval of every percentile of {@link
+     * StoppingRule#PERCENTILES}, in order.
+     */
+    public PercentileInterval[] intervalsOf(Milestone milestone){
+        return INTERVALS[milestone.ordinal()].clone();
+    }
+
+    /**
+     * Returns the precision achieved for the provided milestone: the worst
+     * precision of its reported percentiles.
+     * @param milestone the milestone to be obtained.
+     * @return the precision achieved for the provided milestone, in the unit
+     * of the tolerance.
+     */
+    public double precisionOf(Milestone milestone){
+        double precision = 0;
+        for(PercentileInterval interval : INTERVALS[milestone.ordinal()]){
+            precision = Math.max(precision, RULE.precisionOf(interval));
+        }
+
+        return precision;
+    }
+
+    /**
+     * Returns the precision achieved across every milestone.
+     * @return the worst precision of every reported percentile, in the unit
+     * of the tolerance.
+     */
+    public double precision(){
+        double precision = 0;
+        for(Milestone milestone : Milestone.values()){
+            precision = Math.max(precision, precisionOf(milestone));
+        }
+
+        return precision;
+    }
+
+    /**
+     * Returns whether the stopping rule was met, rather than the maximum
+     * number of runs being reached first.
+     * @return {@code true}, if every reported percentile is within the
+     * tolerance. Else, {@code false}.
+     */
+    public boolean converged(){
+        for(PercentileInterval[] intervals : INTERVALS){
+            for(PercentileInterval interval : intervals){
+                if(!RULE.isMetBy(interval)){
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+}
@@ -9,19 +9,30 @@ import java.util.*;
  */
 public final class SetCollection {
     public final CardSet CARD_SET;
-    private final HashMap<Card, Integer> CARD_COUNT = new HashMap<>();
+    private final long[] OWNED;
+    private final int[] CARD_COUNT;
+
+    private static final int COMPLETE_CHANCE = 0;
+    private static final int STANDARD_CHANCE = 1;
+    private static final int RARE_CHANCE = 2;
+    private static final int RARITY_CHANCE_OFFSET = 3;
+    private final int[][] PACK_RARITY_UNOBTAINED;
+    private final int[] PACK_VERSIONS;
+    private final double[][] PACK_CHANCES;
+    private final int[][] PACK_CHANCE_VERSIONS;
     private int completeObtained = 0;
     private int standardObtained = 0;
     private int rareObtained = 0;
-    private final HashMap<Rarity, Integer> RARITY_OBTAINED = new HashMap<>(){{
-        for(Rarity rarity : Rarity.values()){
-            put(rarity, 0);
-        }
-    }};
+    private final int[] RARITY_OBTAINED = new int[Rarity.values().length];
 
     private int packPoints;
+    private final PackPointPlanner PACK_POINT_PLANNER;
+
+    private final int[] CREATURE_OBTAINED = new int[Creature.values().length];
 
-    private final HashMap<Card, SpecialUnlock> SPECIAL_UNLOCKS;
+    //Indexed as the special unlocks of the card set
+    private final boolean[] SPECIAL_PENDING;
+    private final boolean[] SPECIAL_STALE;
 
     /**
      * Instantiates an instance of {@code SetCollection} for the provided card
@@ -32,13 +43,33 @@ public final class SetCollection {
     public SetCollection(CardSet CARD_SET){
         this.CARD_SET = CARD_SET;
 
-        for(int i = 0; i < completeTotal(); i++){
-            CARD_COUNT.put(this.CARD_SET.CARDS[i], 0);
+        this.OWNED = new long[this.CARD_SET.WORDS];
+        this.CARD_COUNT = new int[completeTotal()];
+
+        //Pull chances are cached per pack, and only recalculated once a new card of that pack is obtained
+        final int PACK_NAMES = PackName.values().length;
+        final int RARITIES = Rarity.values().length;
+        this.PACK_RARITY_UNOBTAINED = new int[PACK_NAMES][RARITIES];
+        for(int i = 0; i < PACK_NAMES; i++){
+            for(int j = 0; j < RARITIES; j++){
+                this.PACK_RARITY_UNOBTAINED[i][j] = countTotal(this.CARD_SET.PACK_RARITY_MASKS[i][j]);
+            }
+        }
+        this.PACK_VERSIONS = new int[PACK_NAMES];
+        this.PACK_CHANCES = new double[PACK_NAMES][RARITY_CHANCE_OFFSET + RARITIES];
+        this.PACK_CHANCE_VERSIONS = new int[PACK_NAMES][RARITY_CHANCE_OFFSET + RARITIES];
+        for(int[] versions : this.PACK_CHANCE_VERSIONS){
+            Arrays.fill(versions, -1);
         }
 
         this.packPoints = 0;
+        this.PACK_POINT_PLANNER = new PackPointPlanner(this.CARD_SET);
 
-        this.SPECIAL_UNLOCKS = this.CARD_SET.specialUnlocks();
+        //Every special unlock is checked once, as its inputs have never been seen
+        this.SPECIAL_PENDING = new boolean[this.CARD_SET.SPECIAL_INDICES.length];
+        this.SPECIAL_STALE = new boolean[this.CARD_SET.SPECIAL_INDICES.length];
+        Arrays.fill(this.SPECIAL_PENDING, true);
+        Arrays.fill(this.SPECIAL_STALE, true);
     }
 
     /**
@@ -46,29 +77,54 @@ public final class SetCollection {
      * @param card the card to be added to the collection.
      */
     private void add(Card card){
-        if(CARD_COUNT.containsKey(card)){
-            final int PREV = CARD_COUNT.get(card);
-            CARD_COUNT.replace(card, PREV + 1);
-            if(PREV == 0){
-                completeObtained++;
-                if(card.isStandardRarity()){
-                    standardObtained++;
-                } else {
-                    rareObtained++;
+        final int INDEX = CARD_SET.indexOf(card);
+        if(INDEX > -1 && CARD_COUNT[INDEX]++ == 0){
+            final int WORD = INDEX >>> 6;
+            final long BIT = 1L << INDEX;
+            OWNED[WORD] |= BIT;
+            completeObtained++;
+            if(card.isStandardRarity()){
+                standardObtained++;
+            } else {
+                rareObtained++;
+            }
+            RARITY_OBTAINED[card.RARITY.ordinal()]++;
+            if(card.PACK_NAMES != null){
+                for(PackName packName : card.PACK_NAMES){
+                    PACK_RARITY_UNOBTAINED[packName.ordinal()][card.RARITY.ordinal()]--;
+                    PACK_VERSIONS[packName.ordinal()]++;
+                }
+            }
+            PACK_POINT_PLANNER.obtained(card, INDEX);
+            if(card instanceof CreatureCard creatureCard){
+                CREATURE_OBTAINED[creatureCard.CREATURE.ordinal()]++;
+            }
+            for(int i = 0; i < SPECIAL_PENDING.length; i++){
+                if(SPECIAL_PENDING[i] && (CARD_SET.SPECIAL_DEPENDENCY_MASKS[i][WORD] & BIT) != 0){
+                    SPECIAL_STALE[i] = true;
                 }
-                RARITY_OBTAINED.replace(card.RARITY, RARITY_OBTAINED.get(card.RARITY) + 1);
             }
         }
     }
 
     /**
-     * Helper method that performs the check for special unlocks.
+     * Helper method that performs the check for special unlocks. Only the
+     * special unlocks with a newly obtained dependency are checked, and
+     * checks repeat until no unlock makes another one stale.
      */
     private void unlockSpecials(){
-        for(Card card : this.SPECIAL_UNLOCKS.keySet()){
-            if(this.SPECIAL_UNLOCKS.get(card).check(this)){
-                this.SPECIAL_UNLOCKS.remove(card);
-                add(card);
+        boolean hasUnlocked = true;
+        while(hasUnlocked){
+            hasUnlocked = false;
+            for(int i = 0; i < SPECIAL_PENDING.length; i++){
+                if(SPECIAL_PENDING[i] && SPECIAL_STALE[i]){
+                    SPECIAL_STALE[i] = false;
+                    if(CARD_SET.SPECIAL_PREDICATES[i].check(this)){
+                        SPECIAL_PENDING[i] = false;
+                        add(CARD_SET.CARDS[CARD_SET.SPECIAL_INDICES[i]]);
+                        hasUnlocked = true;
+                    }
+                }
             }
         }
     }
@@ -79,8 +135,22 @@ public final class SetCollection {
      * collection.
      */
     public void add(OpenedPack openedPack){
-        for(Card card : openedPack.cards()){
-            add(card);
+        for(int i = 0; i < PackBuffer.SIZE; i++){
+            add(openedPack.card(i));
+        }
+
+        addPackPoints(5);
+
+        unlockSpecials();
+    }
+
+    /**
+     * Adds the cards of the provided buffer to the collection.
+     * @param buffer the buffer whose cards are to be added to the collection.
+     */
+    public void add(PackBuffer buffer){
+        for(int i = 0; i < PackBuffer.SIZE; i++){
+            add(buffer.card(i));
         }
 
         addPackPoints(5);
@@ -95,7 +165,7 @@ public final class SetCollection {
      * false}.
      */
     public boolean buyCard(Card card){
-        if(card.isSpecialUnlock() || !CARD_COUNT.containsKey(card) || packPoints() < card.RARITY.PACK_POINT_COST){
+        if(card.isSpecialUnlock() || CARD_SET.indexOf(card) == -1 || packPoints() < card.RARITY.PACK_POINT_COST){
             return false;
         }
 
@@ -158,6 +228,14 @@ public final class SetCollection {
         return packPoints;
     }
 
+    /**
+     * Returns the planner of the pack point purchases of the collection.
+     * @return the planner of the pack point purchases of the collection.
+     */
+    public PackPointPlanner packPointPlanner(){
+        return PACK_POINT_PLANNER;
+    }
+
     /**
      * Returns whether all cards have been obtained for the complete
      * collection.
@@ -175,13 +253,7 @@ public final class SetCollection {
      * Else, {@code false}.
      */
     public boolean hasAllCards(Pack pack){
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && hasCard(this.CARD_SET.CARDS[i])){
-                return false;
-            }
-        }
-
-        return true;
+        return countUnobtained(CARD_SET.PACK_MASKS[pack.NAME.ordinal()]) == 0;
     }
 
     /**
@@ -192,7 +264,7 @@ public final class SetCollection {
      * obtained for the collection. Else, {@code false}.
      */
     public boolean hasAllCardsOfRarity(Rarity rarity){
-        return Objects.equals(RARITY_OBTAINED.get(rarity), rarityTotal(rarity));
+        return RARITY_OBTAINED[rarity.ordinal()] == rarityTotal(rarity);
     }
 
     /**
@@ -203,13 +275,7 @@ public final class SetCollection {
      * obtained for the provided pack. Else, {@code false}.
      */
     public boolean hasAllCardsOfRarity(Pack pack, Rarity rarity){
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].RARITY.equals(rarity) && hasCard(this.CARD_SET.CARDS[i])){
-                return false;
-            }
-        }
-
-        return true;
+        return countUnobtained(CARD_SET.PACK_RARITY_MASKS[pack.NAME.ordinal()][rarity.ordinal()]) == 0;
     }
 
     /**
@@ -230,13 +296,7 @@ public final class SetCollection {
      * provided pack. Else, {@code false}.
      */
     public boolean hasAllStandardCards(Pack pack){
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].isStandardRarity() && hasCard(this.CARD_SET.CARDS[i])){
-                return false;
-            }
-        }
-
-        return true;
+        return countUnobtained(CARD_SET.PACK_STANDARD_MASKS[pack.NAME.ordinal()]) == 0;
     }
 
     /**
@@ -256,13 +316,7 @@ public final class SetCollection {
      * provided pack. Else, {@code false}.
      */
     public boolean hasAllRareCards(Pack pack){
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].isRareRarity() && hasCard(this.CARD_SET.CARDS[i])){
-                return false;
-            }
-        }
-
-        return true;
+        return countUnobtained(CARD_SET.PACK_RARE_MASKS[pack.NAME.ordinal()]) == 0;
     }
 
     /**
@@ -273,13 +327,7 @@ public final class SetCollection {
      * provided pack. Else, {@code false}.
      */
     public boolean hasAllExclusives(Pack pack){
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isExclusivelyIn(pack.NAME) && hasCard(this.CARD_SET.CARDS[i])){
-                return false;
-            }
-        }
-
-        return true;
+        return countUnobtained(CARD_SET.PACK_EXCLUSIVE_MASKS[pack.NAME.ordinal()]) == 0;
     }
 
     /**
@@ -291,24 +339,31 @@ public final class SetCollection {
      * have been obtained for the provided pack. Else, {@code false}.
      */
     public boolean hasAllExclusivesOfRarity(Pack pack, Rarity rarity){
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].RARITY == rarity && this.CARD_SET.CARDS[i].isExclusivelyIn(pack.NAME) && hasCard(this.CARD_SET.CARDS[i])){
-                return false;
-            }
-        }
-
-        return true;
+        return countUnobtained(CARD_SET.PACK_EXCLUSIVE_MASKS[pack.NAME.ordinal()], CARD_SET.RARITY_MASKS[rarity.ordinal()]) == 0;
     }
 
     /**
-     * Helper method that returns the probability of a card occurrence for the
-     * provided pack.
+     * Helper method that returns the probability of pulling a new card whose
+     * rarity lies within the provided range from the provided pack. The
+     * result is cached under the provided key until a new card of the pack
+     * is obtained.
      * @param pack the pack to be checked.
-     * @param checker the card checker used to inspect the cards.
+     * @param lowest the lowest rarity to be included.
+     * @param highest the highest rarity to be included.
+     * @param key the cache key of the rarity range.
      * @return the probability of the occurrence in the form of a double.
      */
-    private double chanceOf(Pack pack, CardChecker checker) {
-        //Returns and calculates based on double, as it would otherwise take too long to calculate the gcd due to the iterative process
+    private double chanceOf(Pack pack, Rarity lowest, Rarity highest, int key) {
+        final int PACK = pack.NAME.ordinal();
+        if(PACK_CHANCE_VERSIONS[PACK][key] == PACK_VERSIONS[PACK]){
+            return PACK_CHANCES[PACK][key];
+        }
+
+        //Every unobtained card of a rarity is equally likely, so only the unobtained count of each rarity matters
+        //The chance is rebuilt from the integer counts, rather than adjusted, so that ties between packs stay exact
+
+        final int[] UNOBTAINED = PACK_RARITY_UNOBTAINED[PACK];
+        final Rarity[] RARITIES = Rarity.values();
 
         double firstPull = 0;
         double secondPull = 0;
@@ -316,17 +371,22 @@ public final class SetCollection {
         double fourthPull = 0;
         double fifthPull = 0;
 
-        for(int i = 0; i < completeTotal(); i++) {
-            if (checker.inspect(this.CARD_SET.CARDS[i])) {
-                firstPull += pack.PACK_RARITY_RATES.DRAW_ONE.ofRarity(this.CARD_SET.CARDS[i].RARITY).VAL / pack.cardsOf(this.CARD_SET.CARDS[i].RARITY);
-                secondPull += pack.PACK_RARITY_RATES.DRAW_TWO.ofRarity(this.CARD_SET.CARDS[i].RARITY).VAL / pack.cardsOf(this.CARD_SET.CARDS[i].RARITY);
-                thirdPull += pack.PACK_RARITY_RATES.DRAW_THREE.ofRarity(this.CARD_SET.CARDS[i].RARITY).VAL / pack.cardsOf(this.CARD_SET.CARDS[i].RARITY);
-                fourthPull += pack.PACK_RARITY_RATES.DRAW_FOUR.ofRarity(this.CARD_SET.CARDS[i].RARITY).VAL / pack.cardsOf(this.CARD_SET.CARDS[i].RARITY);
-                fifthPull += pack.PACK_RARITY_RATES.DRAW_FIVE.ofRarity(this.CARD_SET.CARDS[i].RARITY).VAL / pack.cardsOf(this.CARD_SET.CARDS[i].RARITY);
+        for(int i = lowest.ordinal(); i <= highest.ordinal(); i++) {
+            if (UNOBTAINED[i] > 0) {
+                final double SHARE = (double) UNOBTAINED[i] / pack.cardsOf(RARITIES[i]);
+                firstPull += pack.PACK_RARITY_RATES.DRAW_ONE.ofRarity(RARITIES[i]).VAL * SHARE;
+                secondPull += pack.PACK_RARITY_RATES.DRAW_TWO.ofRarity(RARITIES[i]).VAL * SHARE;
+                thirdPull += pack.PACK_RARITY_RATES.DRAW_THREE.ofRarity(RARITIES[i]).VAL * SHARE;
+                fourthPull += pack.PACK_RARITY_RATES.DRAW_FOUR.ofRarity(RARITIES[i]).VAL * SHARE;
+                fifthPull += pack.PACK_RARITY_RATES.DRAW_FIVE.ofRarity(RARITIES[i]).VAL * SHARE;
             }
         }
 
-        return 1 - (1 - firstPull) * (1 - secondPull) * (1 - thirdPull) * (1 - fourthPull) * (1 - fifthPull);
+        final double CHANCE = 1 - (1 - firstPull) * (1 - secondPull) * (1 - thirdPull) * (1 - fourthPull) * (1 - fifthPull);
+        PACK_CHANCES[PACK][key] = CHANCE;
+        PACK_CHANCE_VERSIONS[PACK][key] = PACK_VERSIONS[PACK];
+
+        return CHANCE;
     }
 
     /**
@@ -336,7 +396,7 @@ public final class SetCollection {
      * from the provided pack.
      */
     public double chanceOfPullingNewCard(Pack pack){
-        return chanceOf(pack, (card) -> card.isIn(pack.NAME) && !hasCard(card));
+        return chanceOf(pack, Rarity.D, Rarity.C, COMPLETE_CHANCE);
     }
 
     /**
@@ -348,7 +408,7 @@ public final class SetCollection {
      * the provided rarity from the provided pack.
      */
     public double chanceOfPullingNewCardOfRarity(Pack pack, Rarity rarity){
-        return chanceOf(pack, (card) -> card.RARITY.equals(rarity) && card.isIn(pack.NAME) && !hasCard(card));
+        return chanceOf(pack, rarity, rarity, RARITY_CHANCE_OFFSET + rarity.ordinal());
     }
 
     /**
@@ -359,7 +419,7 @@ public final class SetCollection {
      * card from the provided pack.
      */
     public double chanceOfPullingNewStandardCard(Pack pack){
-        return chanceOf(pack, (card) -> card.isStandardRarity() && card.isIn(pack.NAME) && !hasCard(card));
+        return chanceOf(pack, Rarity.D, Rarity.DDDD, STANDARD_CHANCE);
     }
 
     /**
@@ -370,7 +430,7 @@ public final class SetCollection {
      * card from the provided pack.
      */
     public double chanceOfPullingNewRareCard(Pack pack){
-        return chanceOf(pack, (card) -> card.isRareRarity() && card.isIn(pack.NAME) && !hasCard(card));
+        return chanceOf(pack, Rarity.S, Rarity.C, RARE_CHANCE);
     }
 
     public ArrayList<Pair<Pack, Double>> packsCompletePullChances(){
@@ -501,15 +561,7 @@ public final class SetCollection {
      * @return the number of cards collected for the provided pack.
      */
     public int completeObtained(Pack pack){
-        int result = 0;
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && hasCard(this.CARD_SET.CARDS[i])){
-                result++;
-            }
-        }
-
-        return result;
+        return countObtained(CARD_SET.PACK_MASKS[pack.NAME.ordinal()]);
     }
 
     /**
@@ -526,15 +578,7 @@ public final class SetCollection {
      * @return the number of cards not yet collected for the provided pack.
      */
     public int completeUnobtained(Pack pack){
-        int result = 0;
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && !hasCard(this.CARD_SET.CARDS[i])){
-                result++;
-            }
-        }
-
-        return result;
+        return countUnobtained(CARD_SET.PACK_MASKS[pack.NAME.ordinal()]);
     }
 
     /**
@@ -551,15 +595,7 @@ public final class SetCollection {
      * @return the total number of cards in the pack.
      */
     public int completeTotal(Pack pack){
-        int result = 0;
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME)){
-                result++;
-            }
-        }
-
-        return result;
+        return countTotal(CARD_SET.PACK_MASKS[pack.NAME.ordinal()]);
     }
 
     /**
@@ -576,15 +612,7 @@ public final class SetCollection {
      * @return the number of standard cards collected for the provided pack.
      */
     public int standardObtained(Pack pack){
-        int result = 0;
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].isStandardRarity() && hasCard(this.CARD_SET.CARDS[i])){
-                result++;
-            }
-        }
-
-        return result;
+        return countObtained(CARD_SET.PACK_STANDARD_MASKS[pack.NAME.ordinal()]);
     }
 
     /**
@@ -603,15 +631,7 @@ public final class SetCollection {
      * pack.
      */
     public int standardUnobtained(Pack pack){
-        int result = 0;
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].isStandardRarity() && !hasCard(this.CARD_SET.CARDS[i])){
-                result++;
-            }
-        }
-
-        return result;
+        return countUnobtained(CARD_SET.PACK_STANDARD_MASKS[pack.NAME.ordinal()]);
     }
 
     /**
@@ -628,15 +648,7 @@ public final class SetCollection {
      * @return the total number of standard cards in the pack.
      */
     public int standardTotal(Pack pack){
-        int result = 0;
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].isStandardRarity()){
-                result++;
-            }
-        }
-
-        return result;
+        return countTotal(CARD_SET.PACK_STANDARD_MASKS[pack.NAME.ordinal()]);
     }
 
     /**
@@ -653,15 +665,7 @@ public final class SetCollection {
      * @return the number of rare cards collected for the provided pack.
      */
     public int rareObtained(Pack pack){
-        int result = 0;
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].isRareRarity() && hasCard(this.CARD_SET.CARDS[i])){
-                result++;
-            }
-        }
-
-        return result;
+        return countObtained(CARD_SET.PACK_RARE_MASKS[pack.NAME.ordinal()]);
     }
 
     /**
@@ -680,15 +684,7 @@ public final class SetCollection {
      * pack.
      */
     public int rareUnobtained(Pack pack){
-        int result = 0;
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].isRareRarity() && !hasCard(this.CARD_SET.CARDS[i])){
-                result++;
-            }
-        }
-
-        return result;
+        return countUnobtained(CARD_SET.PACK_RARE_MASKS[pack.NAME.ordinal()]);
     }
 
     /**
@@ -705,15 +701,7 @@ public final class SetCollection {
      * @return the total number of rare cards in the pack.
      */
     public int rareTotal(Pack pack){
-        int result = 0;
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].isRareRarity()){
-                result++;
-            }
-        }
-
-        return result;
+        return countTotal(CARD_SET.PACK_RARE_MASKS[pack.NAME.ordinal()]);
     }
 
     /**
@@ -724,7 +712,7 @@ public final class SetCollection {
      * complete set.
      */
     public int rarityObtained(Rarity rarity){
-        return this.RARITY_OBTAINED.get(rarity);
+        return this.RARITY_OBTAINED[rarity.ordinal()];
     }
 
     /**
@@ -736,15 +724,7 @@ public final class SetCollection {
      * provided pack.
      */
     public int rarityObtained(Pack pack, Rarity rarity){
-        int result = 0;
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].RARITY.equals(rarity) && hasCard(this.CARD_SET.CARDS[i])){
-                result++;
-            }
-        }
-
-        return result;
+        return countObtained(CARD_SET.PACK_RARITY_MASKS[pack.NAME.ordinal()][rarity.ordinal()]);
     }
 
     /**
@@ -767,15 +747,7 @@ public final class SetCollection {
      * for the provided pack.
      */
     public int rarityUnobtained(Pack pack, Rarity rarity){
-        int result = 0;
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].RARITY.equals(rarity) && !hasCard(this.CARD_SET.CARDS[i])){
-                result++;
-            }
-        }
-
-        return result;
+        return PACK_RARITY_UNOBTAINED[pack.NAME.ordinal()][rarity.ordinal()];
     }
 
     /**
@@ -796,15 +768,7 @@ public final class SetCollection {
      * @return the total number of cards of the provided rarity in the pack.
      */
     public int rarityTotal(Pack pack, Rarity rarity){
-        int result = 0;
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].RARITY.equals(rarity)){
-                result++;
-            }
-        }
-
-        return result;
+        return countTotal(CARD_SET.PACK_RARITY_MASKS[pack.NAME.ordinal()][rarity.ordinal()]);
     }
 
     /**
@@ -813,15 +777,7 @@ public final class SetCollection {
      * @return all cards within the set that have been obtained.
      */
     public ArrayList<Card> obtainedCards(){
-        final ArrayList<Card> RESULT = new ArrayList<>();
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(hasCard(this.CARD_SET.CARDS[i])){
-                RESULT.add(this.CARD_SET.CARDS[i]);
-            }
-        }
-
-        return RESULT;
+        return cardsOwned(null, true);
     }
 
     /**
@@ -830,15 +786,7 @@ public final class SetCollection {
      * @return all cards within the provided pack that have been obtained.
      */
     public ArrayList<Card> obtainedCards(Pack pack){
-        final ArrayList<Card> RESULT = new ArrayList<>();
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && hasCard(this.CARD_SET.CARDS[i])){
-                RESULT.add(this.CARD_SET.CARDS[i]);
-            }
-        }
-
-        return RESULT;
+        return cardsOwned(CARD_SET.PACK_MASKS[pack.NAME.ordinal()], true);
     }
 
     /**
@@ -847,15 +795,7 @@ public final class SetCollection {
      * @return all standard cards within the set that have been obtained.
      */
     public ArrayList<Card> obtainedStandardCards(){
-        final ArrayList<Card> RESULT = new ArrayList<>();
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isStandardRarity() && hasCard(this.CARD_SET.CARDS[i])){
-                RESULT.add(this.CARD_SET.CARDS[i]);
-            }
-        }
-
-        return RESULT;
+        return cardsOwned(CARD_SET.STANDARD_MASK, true);
     }
 
     /**
@@ -865,15 +805,7 @@ public final class SetCollection {
      * obtained.
      */
     public ArrayList<Card> obtainedStandardCards(Pack pack){
-        final ArrayList<Card> RESULT = new ArrayList<>();
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].isStandardRarity() && hasCard(this.CARD_SET.CARDS[i])){
-                RESULT.add(this.CARD_SET.CARDS[i]);
-            }
-        }
-
-        return RESULT;
+        return cardsOwned(CARD_SET.PACK_STANDARD_MASKS[pack.NAME.ordinal()], true);
     }
 
     /**
@@ -882,15 +814,7 @@ public final class SetCollection {
      * @return all rare cards within the set that have been obtained.
      */
     public ArrayList<Card> obtainedRareCards(){
-        final ArrayList<Card> RESULT = new ArrayList<>();
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isRareRarity() && hasCard(this.CARD_SET.CARDS[i])){
-                RESULT.add(this.CARD_SET.CARDS[i]);
-            }
-        }
-
-        return RESULT;
+        return cardsOwned(CARD_SET.RARE_MASK, true);
     }
 
     /**
@@ -900,15 +824,7 @@ public final class SetCollection {
      * obtained.
      */
     public ArrayList<Card> obtainedRareCards(Pack pack){
-        final ArrayList<Card> RESULT = new ArrayList<>();
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].isRareRarity() && hasCard(this.CARD_SET.CARDS[i])){
-                RESULT.add(this.CARD_SET.CARDS[i]);
-            }
-        }
-
-        return RESULT;
+        return cardsOwned(CARD_SET.PACK_RARE_MASKS[pack.NAME.ordinal()], true);
     }
 
     /**
@@ -919,15 +835,7 @@ public final class SetCollection {
      * obtained.
      */
     public ArrayList<Card> obtainedCardsOfRarity(Rarity rarity){
-        final ArrayList<Card> RESULT = new ArrayList<>();
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].RARITY.equals(rarity) && hasCard(this.CARD_SET.CARDS[i])){
-                RESULT.add(this.CARD_SET.CARDS[i]);
-            }
-        }
-
-        return RESULT;
+        return cardsOwned(CARD_SET.RARITY_MASKS[rarity.ordinal()], true);
     }
 
     /**
@@ -939,15 +847,7 @@ public final class SetCollection {
      * have been obtained.
      */
     public ArrayList<Card> obtainedCardsOfRarity(Pack pack, Rarity rarity){
-        final ArrayList<Card> RESULT = new ArrayList<>();
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].RARITY.equals(rarity) && hasCard(this.CARD_SET.CARDS[i])){
-                RESULT.add(this.CARD_SET.CARDS[i]);
-            }
-        }
-
-        return RESULT;
+        return cardsOwned(CARD_SET.PACK_RARITY_MASKS[pack.NAME.ordinal()][rarity.ordinal()], true);
     }
 
     /**
@@ -956,15 +856,7 @@ public final class SetCollection {
      * @return all cards within the set that have not yet been obtained.
      */
     public ArrayList<Card> unobtainedCards(){
-        final ArrayList<Card> RESULT = new ArrayList<>();
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(!hasCard(this.CARD_SET.CARDS[i])){
-                RESULT.add(this.CARD_SET.CARDS[i]);
-            }
-        }
-
-        return RESULT;
+        return cardsOwned(null, false);
     }
 
     /**
@@ -974,15 +866,7 @@ public final class SetCollection {
      * obtained.
      */
     public ArrayList<Card> unobtainedCards(Pack pack){
-        final ArrayList<Card> RESULT = new ArrayList<>();
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && !hasCard(this.CARD_SET.CARDS[i])){
-                RESULT.add(this.CARD_SET.CARDS[i]);
-            }
-        }
-
-        return RESULT;
+        return cardsOwned(CARD_SET.PACK_MASKS[pack.NAME.ordinal()], false);
     }
 
     /**
@@ -992,15 +876,7 @@ public final class SetCollection {
      * obtained.
      */
     public ArrayList<Card> unobtainedStandardCards(){
-        final ArrayList<Card> RESULT = new ArrayList<>();
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isStandardRarity() && !hasCard(this.CARD_SET.CARDS[i])){
-                RESULT.add(this.CARD_SET.CARDS[i]);
-            }
-        }
-
-        return RESULT;
+        return cardsOwned(CARD_SET.STANDARD_MASK, false);
     }
 
     /**
@@ -1010,15 +886,7 @@ public final class SetCollection {
      * been obtained.
      */
     public ArrayList<Card> unobtainedStandardCards(Pack pack){
-        final ArrayList<Card> RESULT = new ArrayList<>();
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].isStandardRarity() && !hasCard(this.CARD_SET.CARDS[i])){
-                RESULT.add(this.CARD_SET.CARDS[i]);
-            }
-        }
-
-        return RESULT;
+        return cardsOwned(CARD_SET.PACK_STANDARD_MASKS[pack.NAME.ordinal()], false);
     }
 
     /**
@@ -1027,15 +895,7 @@ public final class SetCollection {
      * @return all rare cards within the set that have not yet been obtained.
      */
     public ArrayList<Card> unobtainedRareCards(){
-        final ArrayList<Card> RESULT = new ArrayList<>();
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isRareRarity() && !hasCard(this.CARD_SET.CARDS[i])){
-                RESULT.add(this.CARD_SET.CARDS[i]);
-            }
-        }
-
-        return RESULT;
+        return cardsOwned(CARD_SET.RARE_MASK, false);
     }
 
     /**
@@ -1045,15 +905,7 @@ public final class SetCollection {
      * obtained.
      */
     public ArrayList<Card> unobtainedRareCards(Pack pack){
-        final ArrayList<Card> RESULT = new ArrayList<>();
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].isRareRarity() && !hasCard(this.CARD_SET.CARDS[i])){
-                RESULT.add(this.CARD_SET.CARDS[i]);
-            }
-        }
-
-        return RESULT;
+        return cardsOwned(CARD_SET.PACK_RARE_MASKS[pack.NAME.ordinal()], false);
     }
 
     /**
@@ -1064,15 +916,7 @@ public final class SetCollection {
      * yet been obtained.
      */
     public ArrayList<Card> unobtainedCardsOfRarity(Rarity rarity){
-        final ArrayList<Card> RESULT = new ArrayList<>();
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].RARITY.equals(rarity) && !hasCard(this.CARD_SET.CARDS[i])){
-                RESULT.add(this.CARD_SET.CARDS[i]);
-            }
-        }
-
-        return RESULT;
+        return cardsOwned(CARD_SET.RARITY_MASKS[rarity.ordinal()], false);
     }
 
     /**
@@ -1084,15 +928,7 @@ public final class SetCollection {
      * have not yet been obtained.
      */
     public ArrayList<Card> unobtainedCardsOfRarity(Pack pack, Rarity rarity){
-        final ArrayList<Card> RESULT = new ArrayList<>();
-
-        for(int i = 0; i < completeTotal(); i++){
-            if(this.CARD_SET.CARDS[i].isIn(pack.NAME) && this.CARD_SET.CARDS[i].RARITY.equals(rarity) && !hasCard(this.CARD_SET.CARDS[i])){
-                RESULT.add(this.CARD_SET.CARDS[i]);
-            }
-        }
-
-        return RESULT;
+        return cardsOwned(CARD_SET.PACK_RARITY_MASKS[pack.NAME.ordinal()][rarity.ordinal()], false);
     }
 
     /**
@@ -1111,7 +947,105 @@ public final class SetCollection {
      * @return the number of instances of a card within the collection.
      */
     public int cardCount(Card card){
-        return this.CARD_COUNT.get(card);
+        final int INDEX = CARD_SET.indexOf(card);
+        return INDEX > -1 ? this.CARD_COUNT[INDEX] : 0;
+    }
+
+    /**
+     * Returns the number of distinct cards of the provided creature that have
+     * been obtained for the collection.
+     * @param creature the creature to be checked.
+     * @return the number of distinct cards of the provided creature that have
+     * been obtained.
+     */
+    public int creatureObtained(Creature creature){
+        return this.CREATURE_OBTAINED[creature.ordinal()];
+    }
+
+    /**
+     * Helper method that returns the number of obtained cards within the
+     * provided mask.
+     * @param mask the mask of the cards to be counted.
+     * @return the number of obtained cards within the provided mask.
+     */
+    private int countObtained(long[] mask){
+        int result = 0;
+        for(int i = 0; i < mask.length; i++){
+            result += Long.bitCount(mask[i] & OWNED[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Helper method that returns the number of unobtained cards within the
+     * provided mask.
+     * @param mask the mask of the cards to be counted.
+     * @return the number of unobtained cards within the provided mask.
+     */
+    private int countUnobtained(long[] mask){
+        int result = 0;
+        for(int i = 0; i < mask.length; i++){
+            result += Long.bitCount(mask[i] & ~OWNED[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Helper method that returns the number of unobtained cards within both
+     * of the provided masks.
+     * @param mask the first mask of the cards to be counted.
+     * @param other the second mask of the cards to be counted.
+     * @return the number of unobtained cards within both of the provided
+     * masks.
+     */
+    private int countUnobtained(long[] mask, long[] other){
+        int result = 0;
+        for(int i = 0; i < mask.length; i++){
+            result += Long.bitCount(mask[i] & other[i] & ~OWNED[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Helper method that returns the total number of cards within the
+     * provided mask.
+     * @param mask the mask of the cards to be counted.
+     * @return the total number of cards within the provided mask.
+     */
+    private static int countTotal(long[] mask){
+        int result = 0;
+        for(long word : mask){
+            result += Long.bitCount(word);
+        }
+        return result;
+    }
+
+    /**
+     * Helper method that returns the cards within the provided mask that
+     * either have or have not been obtained, in set order.
+     * @param mask the mask of the cards to be returned, or {@code null} for
+     * every card within the set.
+     * @param obtained whether to return the obtained, rather than the
+     * unobtained, cards.
+     * @return the cards within the provided mask matching the requested
+     * ownership.
+     */
+    private ArrayList<Card> cardsOwned(long[] mask, boolean obtained){
+        final ArrayList<Card> RESULT = new ArrayList<>();
+
+        for(int i = 0; i < OWNED.length; i++){
+            long word = (obtained ? OWNED[i] : ~OWNED[i]) & (mask != null ? mask[i] : -1L);
+            while(word != 0){
+                final int INDEX = (i << 6) + Long.numberOfTrailingZeros(word);
+                if(INDEX >= completeTotal()){
+                    break;
+                }
+                RESULT.add(this.CARD_SET.CARDS[INDEX]);
+                word &= word - 1;
+            }
+        }
+
+        return RESULT;
     }
 
     /**
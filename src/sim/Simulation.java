@@ -0,0 +1,215 @@
+package sim;
+
+import java.util.ArrayList;
+import java.util.random.RandomGenerator;
+
+/**
+ * An instance of this class is used to run a single card-opening simulation
+ * for a fixed selection of sets and options. An instance holds no state
+ * between runs, so a single instance may be shared between threads.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class Simulation {
+    private static final int WONDER_PICK_OFFERS = 12;
+
+    private final ArrayList<SetName> SET_NAMES;
+    public final boolean USE_PACK_POINTS;
+    public final boolean USE_WONDER_PICKS;
+    public final Strategy STRATEGY;
+    public final RateTables RATE_TABLES;
+
+    /**
+     * Instantiates an instance of {@code Simulation}, with the provided set
+     * names and options, making the default choices.
+     * @param SET_NAMES the names of the sets to be simulated.
+     * @param USE_PACK_POINTS whether or not to use pack points.
+     * @param USE_WONDER_PICKS whether or not to use Wonder Picks.
+     */
+    public Simulation(final ArrayList<SetName> SET_NAMES,
+                      final boolean USE_PACK_POINTS,
+                      final boolean USE_WONDER_PICKS){
+        this(SET_NAMES, USE_PACK_POINTS, USE_WONDER_PICKS, Strategies.GREEDY);
+    }
+
+    /**
+     * Instantiates an instance of {@code Simulation}, with the provided set
+     * names, options and strategy.
+     * @param SET_NAMES the names of the sets to be simulated.
+     * @param USE_PACK_POINTS whether or not to use pack points.
+     * @param USE_WONDER_PICKS whether or not to use Wonder Picks.
+     * @param STRATEGY the strategy making every choice of a run.
+     */
+    public Simulation(final ArrayList<SetName> SET_NAMES,
+                      final boolean USE_PACK_POINTS,
+                      final boolean USE_WONDER_PICKS,
+                      final Strategy STRATEGY){
+        this(SET_NAMES, USE_PACK_POINTS, USE_WONDER_PICKS, STRATEGY, RateTables.PUBLISHED);
+    }
+
+    /**
+     * Instantiates an instance of {@code Simulation}, with the provided set
+     * names, options, strategy and rate tables.
+     * @param SET_NAMES the names of the sets to be simulated.
+     * @param USE_PACK_POINTS whether or not to use pack points.
+     * @param USE_WONDER_PICKS whether or not to use Wonder Picks.
+     * @param STRATEGY the strategy making every choice of a run.
+     * @param RATE_TABLES the rate tables every pack and Wonder Pick is drawn
+     * with.
+     */
+    public Simulation(final ArrayList<SetName> SET_NAMES,
+                      final boolean USE_PACK_POINTS,
+                      final boolean USE_WONDER_PICKS,
+                      final Strategy STRATEGY,
+                      final RateTables RATE_TABLES){
+        this.SET_NAMES = new ArrayList<>(SET_NAMES);
+        this.USE_PACK_POINTS = USE_PACK_POINTS;
+        this.USE_WONDER_PICKS = USE_WONDER_PICKS;
+        this.STRATEGY = STRATEGY;
+        this.RATE_TABLES = RATE_TABLES;
+    }
+
+    /**
+     * Returns a copy of the names of the sets being simulated.
+     * @return a copy of the names of the sets being simulated.
+     */
+    public ArrayList<SetName> setNames(){
+        return new ArrayList<>(SET_NAMES);
+    }
+
+    /**
+     * Runs a single simulation with a fresh profile until all standard cards
+     * of the simulated sets have been obtained.
+     * @param rand the random number generator used for every draw and every
+     * choice made during the simulation.
+     * @return the results of the simulation.
+     */
+    public SimulationPacket run(RandomGenerator rand){
+        return run(rand, rand);
+    }
+
+    /**
+     * Runs a single simulation with a fresh profile until all standard cards
+     * of the simulated sets have been obtained, opening the packs of the
+     * profile from a separate random number generator.
+     * @param rand the random number generator used for every choice made
+     * during the simulation, and for Wonder Picks.
+     * @param packRand the random number generator used to open the packs of
+     * the profile.
+     * @return the results of the simulation.
+     */
+    public SimulationPacket run(RandomGenerator rand, RandomGenerator packRand){
+        return run(rand, packRand, STRATEGY);
+    }
+
+    /**
+     * Runs a single simulation with a fresh profile until all standard cards
+     * of the simulated sets have been obtained, making every choice with the
+     * provided strategy rather than the strategy of the instance.
+     * @param rand the random number generator used for every choice made
+     * during the simulation, and for Wonder Picks.
+     * @param packRand the random number generator used to open the packs of
+     * the profile.
+     * @param strategy the strategy making every choice of the simulation.
+     * @return the results of the simulation.
+     */
+    public SimulationPacket run(RandomGenerator rand, RandomGenerator packRand, Strategy strategy){
+        return run(rand, packRand, null, strategy);
+    }
+
+    /**
+     * (package-private) Runs a single simulation with a fresh profile until
+     * all standard cards of the simulated sets have been obtained, drawing
+     * the cards of its Wonder Picks from controlled draws. Intended to be
+     * used only by {@code SimulationEngine}, for antithetic and stratified
+     * runs.
+     * @param rand the random number generator used for every choice made
+     * during the simulation.
+     * @param packRand the random number generator used to open the packs of
+     * the profile.
+     * @param wonderPickDraws the controlled draws of the cards of every
+     * Wonder Pick, or {@code null} to draw them from {@code rand}.
+     * @param strategy the strategy making every choice of the simulation.
+     * @return the results of the simulation.
+     */
+    SimulationPacket run(RandomGenerator rand, RandomGenerator packRand, ControlledDrawRandom wonderPickDraws, Strategy strategy){
+        final Profile profile = new Profile("player", packRand, RATE_TABLES);
+        int forD, forDD, forDDD, forDDDD, for100P, for10P, for20P, for30P, for40P, for50P, for60P, for70P, for80P, for90P;
+
+        forD = forDD = forDDD = forDDDD = for100P = for10P = for20P = for30P = for40P = for50P = for60P = for70P = for80P = for90P = 0;
+
+        while(!profile.hasAllStandardCards(SET_NAMES) && for100P != Integer.MAX_VALUE){
+            if(for100P != 0){
+                profile.advanceToNextResourceEvent();
+            }
+
+            while(profile.hasPacksAvailable() && for100P != Integer.MAX_VALUE){
+                for100P++;
+                if(!profile.hasAllCardsOfRarity(SET_NAMES, Rarity.D)){
+                    forD++;
+                }
+                if(!profile.hasAllCardsOfRarity(SET_NAMES, Rarity.DD)){
+                    forDD++;
+                }
+                if(!profile.hasAllCardsOfRarity(SET_NAMES, Rarity.DDD)){
+                    forDDD++;
+                }
+                if(!profile.hasAllCardsOfRarity(SET_NAMES, Rarity.DDDD)){
+                    forDDDD++;
+                }
+                if(profile.standardObtainedPercentage(SET_NAMES) < 10){
+                    for10P = for100P;
+                }
+                if(profile.standardObtainedPercentage(SET_NAMES) < 20){
+                    for20P = for100P;
+                }
+                if(profile.standardObtainedPercentage(SET_NAMES) < 30){
+                    for30P = for100P;
+                }
+                if(profile.standardObtainedPercentage(SET_NAMES) < 40){
+                    for40P = for100P;
+                }
+                if(profile.standardObtainedPercentage(SET_NAMES) < 50){
+                    for50P = for100P;
+                }
+                if(profile.standardObtainedPercentage(SET_NAMES) < 60){
+                    for60P = for100P;
+                }
+                if(profile.standardObtainedPercentage(SET_NAMES) < 70){
+                    for70P = for100P;
+                }
+                if(profile.standardObtainedPercentage(SET_NAMES) < 80){
+                    for80P = for100P;
+                }
+                if(profile.standardObtainedPercentage(SET_NAMES) < 90){
+                    for90P = for100P;
+                }
+
+                profile.openPack(strategy.choosePack(profile, SET_NAMES, rand));
+            }
+
+            if(USE_WONDER_PICKS){
+                final ArrayList<WonderPick> wonderPicks = new ArrayList<>();
+                for(int j = 0; j < WONDER_PICK_OFFERS; j++){
+                    SetName wonderPickSetName = SET_NAMES.get(rand.nextInt(SET_NAMES.size()));
+                    CardSet wonderPickSet = RATE_TABLES.cardSet(wonderPickSetName);
+                    final WonderPickGenerator GENERATOR = wonderPickSet.packAt(rand.nextInt(wonderPickSet.packCount())).wonderPicks();
+                    wonderPicks.add(wonderPickDraws != null ? GENERATOR.generate(wonderPickDraws, rand) : GENERATOR.generate(rand));
+                }
+
+                final WonderPick wonderPickSelection = strategy.chooseWonderPick(profile, SET_NAMES, wonderPicks, rand);
+                if(wonderPickSelection != null){
+                    profile.selectWonderPick(wonderPickSelection);
+                }
+            }
+
+            if(USE_PACK_POINTS){
+                for(SetName setName : SET_NAMES){
+                    strategy.spendPackPoints(profile, setName, rand);
+                }
+            }
+        }
+
+        return new SimulationPacket(for10P, for20P, for30P, for40P, for50P, for60P, for70P, for80P, for90P, for100P, forD, forDD, forDDD, forDDDD);
+    }
+}
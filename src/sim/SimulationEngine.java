@@ -0,0 +1,390 @@
+package sim;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An instance of this class is used to run many independent simulations in
+ * parallel. The requested simulations are split into shards, and each shard
+ * is run on a worker thread with its own profiles and its own
+ * {@code SimulationStatistics}, which are merged once every shard completes.
+ * Every run draws from its own random number stream, derived from a master
+ * seed and the index of the run, so the results of a seed do not depend on
+ * the number of threads. A {@code VarianceReduction} other than {@link
+ * VarianceReduction#NONE} makes each run open its packs from a stream of
+ * its own, and may make consecutive runs depend on one another; such runs
+ * are always kept within the same shard.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class SimulationEngine {
+    private static final int SHARDS_PER_THREAD = 8;
+    private static final int MAX_WINDOW_RUNS = 1 << 20;
+    private static final int INITIAL_RUNS = 4096;
+    private static final int BATCHES_PER_ROUND = 32;
+    private static final double MIN_GROWTH = 1.25;
+    private static final double MAX_GROWTH = 4;
+
+    private final Simulation SIMULATION;
+    private final int THREADS;
+    private final RandomStreams STREAMS;
+    private final VarianceReduction VARIANCE_REDUCTION;
+
+    /**
+     * Instantiates an instance of {@code SimulationEngine}, with the provided
+     * simulation, number of worker threads, and random number streams.
+     * @param SIMULATION the simulation to be run.
+     * @param THREADS the number of worker threads to use. A value less than
+     * {@code 1} uses one thread per available processor.
+     * @param STREAMS the random number streams from which each run draws.
+     */
+    public SimulationEngine(final Simulation SIMULATION, final int THREADS, final RandomStreams STREAMS){
+        this(SIMULATION, THREADS, STREAMS, VarianceReduction.NONE);
+    }
+
+    /**
+     * Instantiates an instance of {@code SimulationEngine}, with the provided
+     * simulation, number of worker threads, random number streams, and
+     * variance-reduction technique.
+     * @param SIMULATION the simulation to be run.
+     * @param THREADS the number of worker threads to use. A value less than
+     * {@code 1} uses one thread per available processor.
+     * @param STREAMS the random number streams from which each run draws.
+     * @param VARIANCE_REDUCTION the variance-reduction technique of every
+     * run.
+     */
+    public SimulationEngine(final Simulation SIMULATION, final int THREADS, final RandomStreams STREAMS, final VarianceReduction VARIANCE_REDUCTION){
+        this.SIMULATION = SIMULATION;
+        this.THREADS = THREADS > 0 ? THREADS : Runtime.getRuntime().availableProcessors();
+        this.STREAMS = STREAMS;
+        this.VARIANCE_REDUCTION = VARIANCE_REDUCTION;
+    }
+
+    /**
+     * Returns the number of worker threads used by the instance.
+     * @return the number of worker threads used by the instance.
+     */
+    public int threads(){
+        return THREADS;
+    }
+
+    /**
+     * Runs the provided number of simulations across the worker threads.
+     * @param totalSims the total number of simulations to be run.
+     * @param progress the receiver of progress updates, or {@code null}.
+     * @return the statistics of every simulation.
+     */
+    public SimulationStatistics run(int totalSims, SimulationProgress progress){
+        final SimulationStatistics RESULTS = new SimulationStatistics();
+
+        //More shards than threads keeps every thread busy, as run lengths vary
+        for(SimulationStatistics shard : runBatches(totalSims, (int) Math.min(totalSims, (long) THREADS * SHARDS_PER_THREAD), progress)){
+            RESULTS.merge(shard);
+        }
+
+        return RESULTS;
+    }
+
+    /**
+     * Runs the provided number of simulations across the worker threads,
+     * keeping the statistics of each batch of consecutive runs apart. Every
+     * batch holds whole units of the variance-reduction technique, so the
+     * batches are independent of one another.
+     * @param totalSims the total number of simulations to be run.
+     * @param batches the number of batches, at least {@code 1}. Fewer
+     * batches are returned if there are fewer units than batches.
+     * @param progress the receiver of progress updates, or {@code null}.
+     * @return the statistics of every batch, in order of their runs.
+     */
+    public SimulationStatistics[] runBatches(int totalSims, int batches, SimulationProgress progress){
+        return runBatches(0, totalSims, batches, progress);
+    }
+
+    /**
+     * Runs the provided number of simulations, starting from the run of the
+     * provided index, across the worker threads, keeping the statistics of
+     * each batch of consecutive runs apart. Runs depend only on their index,
+     * so running a range in several calls gives the same runs as a single
+     * call.
+     * @param firstRun the index of the first run, a multiple of the unit size
+     * of the variance-reduction technique.
+     * @param totalSims the total number of simulations to be run.
+     * @param batches the number of batches, at least {@code 1}. Fewer
+     * batches are returned if there are fewer units than batches.
+     * @param progress the receiver of progress updates, or {@code null}.
+     * @return the statistics of every batch, in order of their runs.
+     */
+    public SimulationStatistics[] runBatches(int firstRun, int totalSims, int batches, SimulationProgress progress){
+        return runBatches(firstRun, totalSims, batches, new Strategy[]{SIMULATION.STRATEGY}, null, progress)[0];
+    }
+
+    /**
+     * Runs the provided number of simulations once with each of the provided
+     * strategies, in a single pass across the worker threads. Every strategy
+     * runs each run index from the same random number streams, so the
+     * strategies face the same packs for as long as they make the same
+     * choices, and their difference is estimated with far less noise than
+     * from separate passes. Packs are only drawn apart from the choices with
+     * a variance-reduction technique other than {@link VarianceReduction#NONE}.
+     * @param strategies the strategies to be run.
+     * @param totalSims the number of simulations to be run per strategy.
+     * @param batches the number of batches, at least {@code 1}. Fewer
+     * batches are returned if there are fewer units than batches.
+     * @param progress the receiver of progress updates, or {@code null}.
+     * @return the statistics of every batch of every strategy, indexed by
+     * strategy and then by batch in order of their runs.
+     */
+    public SimulationStatistics[][] runStrategies(Strategy[] strategies, int totalSims, int batches, SimulationProgress progress){
+        return runBatches(0, totalSims, batches, strategies, null, progress);
+    }
+
+    /**
+     * Runs the simulations of the provided range of runs on the calling
+     * thread rather than across the worker threads, for callers that
+     * schedule the runs of many engines themselves. The runs are the same as
+     * those of {@link #run(int, SimulationProgress)}.
+     * @param firstRun the index of the first run, a multiple of the unit size
+     * of the variance-reduction technique.
+     * @param endRun the index after the last run.
+     * @return the statistics of every simulation of the range.
+     */
+    public SimulationStatistics runRange(int firstRun, int endRun){
+        if(firstRun % VARIANCE_REDUCTION.UNIT_SIZE != 0){
+            throw new IllegalArgumentException("the first run must start a unit of " + VARIANCE_REDUCTION.UNIT_SIZE + " runs: " + firstRun);
+        }
+
+        final SimulationStatistics RESULTS = new SimulationStatistics();
+        for(int j = firstRun; j < endRun; j++){
+            RESULTS.record(runOne(j, SIMULATION.STRATEGY));
+        }
+
+        return RESULTS;
+    }
+
+    /**
+     * Runs the provided number of simulations across the worker threads,
+     * keeping the raw results of every run in columns, in order of the runs.
+     * The runs are the same as those of {@link #run(int, SimulationProgress)}.
+     * @param totalSims the total number of simulations to be run.
+     * @param offHeap whether or not to store the columns off the heap.
+     * @param progress the receiver of progress updates, or {@code null}.
+     * @return the results of every simulation, by run.
+     */
+    public RunColumns runColumns(int totalSims, boolean offHeap, SimulationProgress progress){
+        final RunColumns COLUMNS = new RunColumns(totalSims, offHeap);
+        runBatches(0, totalSims, (int) Math.min(totalSims, (long) THREADS * SHARDS_PER_THREAD), new Strategy[]{SIMULATION.STRATEGY}, COLUMNS, progress);
+        return COLUMNS;
+    }
+
+    /**
+     * Runs the provided number of simulations across the worker threads,
+     * streaming the raw results of every run to the provided writer in order
+     * of the runs. The runs are held in memory a window of at most {@value
+     * #MAX_WINDOW_RUNS} runs at a time, in a single set of columns reused by
+     * every window, so the heap needed grows with neither the number of runs
+     * nor the number of threads. The runs are the same as those of {@link
+     * #run(int, SimulationProgress)}.
+     * @param totalSims the total number of simulations to be run.
+     * @param writer the writer to receive the results of every run.
+     * @return the statistics of every simulation.
+     * @throws IOException if the results cannot be written.
+     */
+    public SimulationStatistics runToFile(int totalSims, RunFileWriter writer) throws IOException {
+        final SimulationStatistics RESULTS = new SimulationStatistics();
+        final int SHARDS = THREADS * SHARDS_PER_THREAD;
+        //Both bounds are multiples of every unit size, so every window starts a unit
+        final int WINDOW = (int) Math.min(MAX_WINDOW_RUNS, (long) RunFileWriter.BLOCK_RUNS * SHARDS);
+        final RunColumns COLUMNS = new RunColumns(Math.min(WINDOW, totalSims), false);
+        for(int firstRun = 0; firstRun < totalSims; firstRun += Math.min(WINDOW, totalSims - firstRun)){
+            final int RUNS = Math.min(WINDOW, totalSims - firstRun);
+            for(SimulationStatistics shard : runBatches(firstRun, RUNS, Math.min(RUNS, SHARDS), new Strategy[]{SIMULATION.STRATEGY}, COLUMNS, null)[0]){
+                RESULTS.merge(shard);
+            }
+            writer.write(COLUMNS, RUNS);
+        }
+
+        return RESULTS;
+    }
+
+    /**
+     * Helper method that runs the provided range of simulations once with
+     * each of the provided strategies, keeping the statistics of each batch
+     * of consecutive runs of each strategy apart.
+     * @param firstRun the index of the first run, a multiple of the unit size
+     * of the variance-reduction technique.
+     * @param totalSims the number of simulations to be run per strategy.
+     * @param batches the number of batches, at least {@code 1}.
+     * @param strategies the strategies to be run.
+     * @param columns the columns to receive the results of every run of the
+     * only strategy, or {@code null}.
+     * @param progress the receiver of progress updates, or {@code null}.
+     * @return the statistics of every batch of every strategy, indexed by
+     * strategy and then by batch in order of their runs.
+     */
+    private SimulationStatistics[][] runBatches(int firstRun, int totalSims, int batches, Strategy[] strategies, RunColumns columns, SimulationProgress progress){
+        final int UNIT = VARIANCE_REDUCTION.UNIT_SIZE;
+        if(firstRun % UNIT != 0){
+            throw new IllegalArgumentException("the first run must start a unit of " + UNIT + " runs: " + firstRun);
+        }
+
+        final ProgressTracker TRACKER = new ProgressTracker((long) totalSims * strategies.length, progress);
+        final long UNITS = ((long) totalSims + UNIT - 1) / UNIT;
+        final int BATCHES = (int) Math.max(1, Math.min(batches, UNITS));
+
+        final ArrayList<Callable<SimulationStatistics[]>> TASKS = new ArrayList<>();
+        for(int i = 0; i < BATCHES; i++){
+            final int FROM = firstRun + (int) Math.min(totalSims, UNITS * i / BATCHES * UNIT);
+            final int TO = firstRun + (int) Math.min(totalSims, UNITS * (i + 1) / BATCHES * UNIT);
+            TASKS.add(() -> {
+                final SimulationStatistics[] BATCH = new SimulationStatistics[strategies.length];
+                for(int s = 0; s < strategies.length; s++){
+                    BATCH[s] = new SimulationStatistics();
+                }
+                for(int j = FROM; j < TO; j++){
+                    for(int s = 0; s < strategies.length; s++){
+                        final SimulationPacket PACKET = runOne(j, strategies[s]);
+                        BATCH[s].record(PACKET);
+                        if(columns != null){
+                            columns.set(j - firstRun, PACKET);
+                        }
+                        TRACKER.completed();
+                    }
+                }
+                return BATCH;
+            });
+        }
+
+        final SimulationStatistics[][] RESULTS = new SimulationStatistics[strategies.length][BATCHES];
+        final ForkJoinPool POOL = new ForkJoinPool(THREADS);
+        try {
+            final List<Future<SimulationStatistics[]>> FUTURES = POOL.invokeAll(TASKS);
+            for(int i = 0; i < BATCHES; i++){
+                final SimulationStatistics[] BATCH = FUTURES.get(i).get();
+                for(int s = 0; s < strategies.length; s++){
+                    RESULTS[s][i] = BATCH[s];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("simulations were interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("a simulation failed", e.getCause());
+        } finally {
+            POOL.shutdownNow();
+        }
+
+        return RESULTS;
+    }
+
+    /**
+     * Runs simulations in rounds until the provided rule is met by every
+     * reported percentile of every milestone, or the provided maximum number
+     * of runs is reached. The runs are the same as those of a single call
+     * of {@link #run(int, SimulationProgress)} with the number of runs used,
+     * so the results of a seed are reproducible.
+     * <p>
+     * Independent runs are judged by order-statistic intervals. Runs of a
+     * variance-reduction technique that makes them depend on one another are
+     * judged by the spread between batches instead. Half-widths shrink with
+     * the square root of the runs, so each round is sized from how far the
+     * worst interval still is from the tolerance.
+     * @param rule the rule every reported percentile must meet.
+     * @param maxRuns the maximum number of simulations to be run.
+     * @return the statistics of every simulation, with the final interval of
+     * every reported percentile.
+     * @throws IllegalArgumentException if the maximum number of runs cannot
+     * fill two units of the variance-reduction technique.
+     */
+    public SequentialStatistics runUntil(StoppingRule rule, int maxRuns){
+        final int UNIT = VARIANCE_REDUCTION.UNIT_SIZE;
+        if(maxRuns < 2 * UNIT){
+            throw new IllegalArgumentException("sequential " + VARIANCE_REDUCTION.VAL + " runs require a maximum of at least "
+                    + 2 * UNIT + " runs: " + maxRuns);
+        }
+
+        final ArrayList<SimulationStatistics> BATCHES = new ArrayList<>();
+        final SimulationStatistics RESULTS = new SimulationStatistics();
+        final Milestone[] MILESTONES = Milestone.values();
+        PercentileInterval[][] intervals;
+        int runs = 0;
+        int target = Math.min(maxRuns, INITIAL_RUNS);
+        while(true){
+            for(SimulationStatistics batch : runBatches(runs, target - runs, Math.max(BATCHES_PER_ROUND, THREADS * SHARDS_PER_THREAD), null)){
+                BATCHES.add(batch);
+                RESULTS.merge(batch);
+            }
+            runs = target;
+
+            intervals = new PercentileInterval[MILESTONES.length][StoppingRule.PERCENTILES.length];
+            final SimulationStatistics[] ALL_BATCHES = BATCHES.toArray(new SimulationStatistics[0]);
+            double worst = 0;
+            for(Milestone milestone : MILESTONES){
+                for(int i = 0; i < StoppingRule.PERCENTILES.length; i++){
+                    final PercentileInterval INTERVAL = UNIT == 1
+                            ? PercentileInterval.of(RESULTS.of(milestone), milestone, StoppingRule.PERCENTILES[i])
+                            : PercentileInterval.of(ALL_BATCHES, milestone, StoppingRule.PERCENTILES[i]);
+                    intervals[milestone.ordinal()][i] = INTERVAL;
+                    worst = Math.max(worst, INTERVAL.halfWidth() / rule.allowanceOf(INTERVAL));
+                }
+            }
+
+            if(worst <= 1 || runs == maxRuns){
+                break;
+            }
+
+            final double GROWTH = Math.max(MIN_GROWTH, Math.min(MAX_GROWTH, 1.2 * worst * worst));
+            final long NEXT = ((long) Math.ceil(runs * GROWTH) + UNIT - 1) / UNIT * UNIT;
+            target = (int) Math.min(maxRuns, NEXT);
+        }
+
+        return new SequentialStatistics(rule, RESULTS, intervals);
+    }
+
+    /**
+     * Helper method that runs the simulation of the provided index with the
+     * provided strategy, from the random number streams of that index.
+     * @param run the index of the run.
+     * @param strategy the strategy making every choice.
+     * @return the results of the run.
+     */
+    private SimulationPacket runOne(int run, Strategy strategy){
+        final SplittableRandom RAND = STREAMS.forRun(run);
+        return SIMULATION.run(RAND, VARIANCE_REDUCTION == VarianceReduction.NONE ? RAND : STREAMS.forPacks(run, VARIANCE_REDUCTION),
+                STREAMS.forWonderPicks(run, VARIANCE_REDUCTION), strategy);
+    }
+
+    /**
+     * Helper class that counts completed simulations across threads and
+     * forwards each new tenth of a percent to the progress receiver.
+     */
+    private static final class ProgressTracker {
+        private final long TOTAL;
+        private final SimulationProgress PROGRESS;
+        private final AtomicLong COMPLETED = new AtomicLong();
+        private volatile int reported = 0;
+
+        private ProgressTracker(long total, SimulationProgress progress){
+            this.TOTAL = total;
+            this.PROGRESS = progress;
+        }
+
+        private void completed(){
+            final int PER_MILLE = (int) (COMPLETED.incrementAndGet() * 1000 / TOTAL);
+            if(PROGRESS != null && PER_MILLE > reported){
+                synchronized(this){
+                    if(PER_MILLE > reported){
+                        reported = PER_MILLE;
+                        PROGRESS.update(PER_MILLE);
+                    }
+                }
+            }
+        }
+    }
+}
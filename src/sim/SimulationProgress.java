@@ -0,0 +1,17 @@
+package sim;
+
+/**
+ * An instance of this class is only intended to be used as a lambda
+ * expression to receive progress updates from a {@code SimulationEngine}.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public interface SimulationProgress {
+    /**
+     * Receives the current progress of the running simulations. Updates are
+     * delivered in increasing order, one at a time.
+     * @param perMille the completed portion of all simulations, in tenths of
+     * a percent.
+     */
+    void update(int perMille);
+}
@@ -0,0 +1,61 @@
+package sim;
+
+/**
+ * An instance of this class is used to aggregate the results of many
+ * simulations as one {@code Histogram} per {@code Milestone}. Instances
+ * filled on separate threads can be merged into one another.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class SimulationStatistics implements MilestoneStatistics {
+    private final Histogram[] HISTOGRAMS;
+
+    /**
+     * Instantiates an empty instance of {@code SimulationStatistics}.
+     */
+    public SimulationStatistics(){
+        this.HISTOGRAMS = new Histogram[Milestone.values().length];
+        for(int i = 0; i < this.HISTOGRAMS.length; i++){
+            this.HISTOGRAMS[i] = new Histogram();
+        }
+    }
+
+    /**
+     * Records every milestone of the provided simulation results.
+     * @param packet the results of a single simulation.
+     */
+    public void record(SimulationPacket packet){
+        for(Milestone milestone : Milestone.values()){
+            this.HISTOGRAMS[milestone.ordinal()].record(milestone.of(packet));
+        }
+    }
+
+    /**
+     * Adds every simulation recorded by the provided statistics to the
+     * instance.
+     * @param other the statistics to be merged into the instance.
+     */
+    public void merge(SimulationStatistics other){
+        for(int i = 0; i < this.HISTOGRAMS.length; i++){
+            this.HISTOGRAMS[i].merge(other.HISTOGRAMS[i]);
+        }
+    }
+
+    /**
+     * Returns the number of simulations recorded.
+     * @return the number of simulations recorded.
+     */
+    public long count(){
+        return this.HISTOGRAMS[0].count();
+    }
+
+    /**
+     * Returns the histogram of the provided milestone.
+     * @param milestone the milestone to be obtained.
+     * @return the histogram of the provided milestone.
+     */
+    @Override
+    public Histogram of(Milestone milestone){
+        return this.HISTOGRAMS[milestone.ordinal()];
+    }
+}
@@ -1,9 +1,10 @@
 package sim;
 
 /**
- * An instance of this class is only intended to be used as a lambda
- * expression to check whether a {@code Card} has been obtained from a special
- * unlock.
+ * An instance of this class is used to check whether a {@code Card} has been
+ * obtained from a special unlock. A {@code SetCollection} only re-checks a
+ * special unlock after newly obtaining a card the unlock depends on, so an
+ * instance should declare its inputs through {@link #dependsOn(Card)}.
  * @author Michael Dillinger
  * @since 0.1.0
  */
@@ -16,4 +17,48 @@ public interface SpecialUnlock {
      * Else, {@code false}.
      */
     boolean check(SetCollection setCollection);
+
+    /**
+     * Returns whether newly obtaining the provided card can change the result
+     * of {@link #check(SetCollection)}.
+     * @param card the card to be checked.
+     * @return {@code true}, if the instance depends on the provided card.
+     * Else, {@code false}. By default, every card is a dependency.
+     */
+    default boolean dependsOn(Card card){
+        return true;
+    }
+
+    /**
+     * Returns a special unlock that is fulfilled once at least one card of
+     * every provided creature has been obtained.
+     * @param creatures the creatures to be obtained.
+     * @return a special unlock fulfilled once every provided creature has
+     * been obtained.
+     */
+    static SpecialUnlock allCreaturesObtained(Creature... creatures){
+        final Creature[] CREATURES = creatures.clone();
+        final boolean[] REQUIRED = new boolean[Creature.values().length];
+        for(Creature creature : CREATURES){
+            REQUIRED[creature.ordinal()] = true;
+        }
+
+        return new SpecialUnlock() {
+            @Override
+            public boolean check(SetCollection setCollection){
+                for(Creature creature : CREATURES){
+                    if(setCollection.creatureObtained(creature) == 0){
+                        return false;
+                    }
+                }
+
+                return true;
+            }
+
+            @Override
+            public boolean dependsOn(Card card){
+                return card instanceof CreatureCard creatureCard && REQUIRED[creatureCard.CREATURE.ordinal()];
+            }
+        };
+    }
 }
@@ -0,0 +1,109 @@
+package sim;
+
+import java.util.Locale;
+
+/**
+ * An instance of this class is used to describe when a sequential {@code
+ * Scenario} has run enough simulations: once the 95% confidence interval of
+ * every reported percentile of every {@code Milestone} lies within a
+ * tolerance of its estimate. The tolerance is either a number of attempts,
+ * or a percentage of the estimate. Percentiles are whole attempts, so an
+ * interval within one attempt of its estimate always meets the rule.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class StoppingRule {
+    public static final double[] PERCENTILES = {5, 50, 95};
+
+    public final double TOLERANCE;
+    public final boolean RELATIVE;
+
+    /**
+     * Instantiates an instance of {@code StoppingRule}, with the provided
+     * tolerance.
+     * @param TOLERANCE the largest accepted distance from an estimate to
+     * either bound of its confidence interval.
+     * @param RELATIVE whether the tolerance is a percentage of the estimate,
+     * rather than a number of attempts.
+     * @throws IllegalArgumentException if the tolerance is not positive.
+     */
+    public StoppingRule(final double TOLERANCE, final boolean RELATIVE){
+        if(!(TOLERANCE > 0) || Double.isInfinite(TOLERANCE)){
+            throw new IllegalArgumentException("a tolerance must be positive: " + TOLERANCE);
+        }
+
+        this.TOLERANCE = TOLERANCE;
+        this.RELATIVE = RELATIVE;
+    }
+
+    /**
+     * Returns the rule described by the provided value: a number of attempts,
+     * such as {@code 2}, or a percentage of the estimate, such as {@code 1%}.
+     * @param val the value to be parsed.
+     * @return the rule described by the provided value.
+     * @throws IllegalArgumentException if the value is not a positive number,
+     * optionally followed by a percent sign.
+     */
+    public static StoppingRule parse(String val){
+        final boolean RELATIVE = val.endsWith("%");
+        try {
+            return new StoppingRule(Double.parseDouble(RELATIVE ? val.substring(0, val.length() - 1) : val), RELATIVE);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("a tolerance must be a number of attempts or a percentage: " + val);
+        }
+    }
+
+    /**
+     * Returns the precision of the provided interval, in the unit of the
+     * tolerance.
+     * @param interval the interval to be measured.
+     * @return the half-width of the interval in attempts, or as a percentage
+     * of its estimate if the instance is relative.
+     */
+    public double precisionOf(PercentileInterval interval){
+        if(!RELATIVE){
+            return interval.halfWidth();
+        }
+        if(interval.halfWidth() == 0){
+            return 0;
+        }
+
+        return interval.ESTIMATE == 0 ? Double.POSITIVE_INFINITY : 100d * interval.halfWidth() / interval.ESTIMATE;
+    }
+
+    /**
+     * Returns whether the provided interval is within the tolerance.
+     * @param interval the interval to be checked.
+     * @return {@code true}, if the interval is within the tolerance. Else,
+     * {@code false}.
+     */
+    public boolean isMetBy(PercentileInterval interval){
+        return interval.halfWidth() <= allowanceOf(interval);
+    }
+
+    /**
+     * Returns the largest half-width, in attempts, that the provided interval
+     * may have to meet the rule.
+     * @param interval the interval to be checked.
+     * @return the tolerance in attempts, at least one attempt.
+     */
+    public double allowanceOf(PercentileInterval interval){
+        return Math.max(1, RELATIVE ? TOLERANCE * interval.ESTIMATE / 100 : TOLERANCE);
+    }
+
+    /**
+     * Returns the provided precision in the unit of the tolerance, such as
+     * {@code 2 attempts} or {@code 1.50%}.
+     * @param precision the precision to be formatted.
+     * @return the provided precision in the unit of the tolerance.
+     */
+    public String format(double precision){
+        final String VALUE = precision == Math.rint(precision) ? String.valueOf((long) precision) : String.format(Locale.ROOT, "%.2f", precision);
+        return VALUE + (RELATIVE ? "%" : (precision == 1 ? " attempt" : " attempts"));
+    }
+
+    @Override
+    public String toString(){
+        return format(TOLERANCE);
+    }
+}
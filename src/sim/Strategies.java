@@ -0,0 +1,47 @@
+package sim;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A utility class intended to store the available {@code Strategy}
+ * instances.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class Strategies {
+    public static final Strategy GREEDY = new GreedyStrategy();
+    public static final Strategy RANDOM = new RandomStrategy(GREEDY);
+
+    private static final List<Strategy> ALL = List.of(GREEDY, RANDOM);
+
+    /**
+     * Private constructor that disallows any instances of the utility class.
+     */
+    private Strategies(){}
+
+    /**
+     * Returns the strategy whose name is equal to the provided value,
+     * ignoring case.
+     * @param val the value with which to compare names to.
+     * @return the strategy whose name is equal to the provided value, if one
+     * exists. Else, {@code null}.
+     */
+    public static Strategy get(String val){
+        for(Strategy strategy : ALL){
+            if(strategy.name().equalsIgnoreCase(val)){
+                return strategy;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns every available strategy.
+     * @return every available strategy, with the default first.
+     */
+    public static ArrayList<Strategy> all(){
+        return new ArrayList<>(ALL);
+    }
+}
@@ -0,0 +1,52 @@
+package sim;
+
+import java.util.ArrayList;
+import java.util.random.RandomGenerator;
+
+/**
+ * An instance of this class is used to make every choice of a player during
+ * a {@code Simulation}: which pack to open, which Wonder Pick to select, and
+ * how to spend pack points. A {@code Simulation} draws the packs and Wonder
+ * Pick offers itself, so strategies run with the same random number streams
+ * face the same luck for as long as they make the same choices.
+ * <p>
+ * Implementations must hold no state between calls, as a single instance is
+ * shared between threads.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public interface Strategy {
+    /**
+     * Returns the name of the strategy, as accepted by {@link
+     * Strategies#get(String)}.
+     * @return the name of the strategy.
+     */
+    String name();
+
+    /**
+     * Chooses the next pack to be opened.
+     * @param profile the profile opening the pack.
+     * @param setNames the names of the sets being collected.
+     * @param rand the random number generator of every choice of the run.
+     * @return the pack to be opened, from one of the provided sets.
+     */
+    Pack choosePack(Profile profile, ArrayList<SetName> setNames, RandomGenerator rand);
+
+    /**
+     * Chooses which of the provided Wonder Pick offers to select, if any.
+     * @param profile the profile selecting the Wonder Pick.
+     * @param setNames the names of the sets being collected.
+     * @param offers the Wonder Picks on offer.
+     * @param rand the random number generator of every choice of the run.
+     * @return the Wonder Pick to be selected, or {@code null} to select none.
+     */
+    WonderPick chooseWonderPick(Profile profile, ArrayList<SetName> setNames, ArrayList<WonderPick> offers, RandomGenerator rand);
+
+    /**
+     * Spends the pack points of the provided set, if the strategy wishes to.
+     * @param profile the profile spending the pack points.
+     * @param setName the name of the set whose pack points may be spent.
+     * @param rand the random number generator of every choice of the run.
+     */
+    void spendPackPoints(Profile profile, SetName setName, RandomGenerator rand);
+}
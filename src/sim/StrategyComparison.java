@@ -0,0 +1,197 @@
+package sim;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * An instance of this class is used to compare strategies side by side on a
+ * single {@code Scenario}. Every strategy is run in the same pass over the
+ * runs and seed of the scenario, opening packs from common random numbers,
+ * so the difference between strategies is measured on the same luck. The
+ * mean attempts of each strategy are reported against the first strategy,
+ * with a 95% confidence interval from the spread of that difference between
+ * independent batches of runs.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class StrategyComparison {
+    public static final int BATCHES = 32;
+
+    private static final double Z_95 = 1.959963984540054;
+    private static final Milestone[] MILESTONES = {Milestone.FIFTY_PERCENT_OF_STANDARDS, Milestone.ALL_DDDD_RARITIES, Milestone.ALL_STANDARDS};
+
+    private final Scenario SCENARIO;
+    private final VarianceReduction VARIANCE_REDUCTION;
+    private final ArrayList<Strategy> STRATEGIES;
+    private final SimulationStatistics[][] BATCH_STATISTICS;
+    private final SimulationStatistics[] STATISTICS;
+
+    /**
+     * Instantiates an instance of {@code StrategyComparison}, running the
+     * provided scenario with every provided strategy.
+     * @param scenario the scenario to be compared.
+     * @param strategies the strategies to be compared, the first being the
+     * one every other is measured against.
+     * @throws IllegalArgumentException if the scenario or strategies cannot
+     * be compared.
+     */
+    public StrategyComparison(Scenario scenario, ArrayList<Strategy> strategies){
+        validate(scenario, strategies);
+
+        this.SCENARIO = scenario;
+        this.VARIANCE_REDUCTION = reductionOf(scenario);
+        this.STRATEGIES = new ArrayList<>(strategies);
+        this.BATCH_STATISTICS = scenario.engine(VARIANCE_REDUCTION)
+                .runStrategies(strategies.toArray(new Strategy[0]), scenario.RUNS, BATCHES, null);
+        this.STATISTICS = new SimulationStatistics[strategies.size()];
+        for(int s = 0; s < this.STATISTICS.length; s++){
+            this.STATISTICS[s] = new SimulationStatistics();
+            for(SimulationStatistics batch : this.BATCH_STATISTICS[s]){
+                this.STATISTICS[s].merge(batch);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the provided scenario and strategies can be compared:
+     * the scenario must be simulated with a fixed number of runs, enough to
+     * fill two units of its variance-reduction technique, and there must be
+     * at least two distinct strategies.
+     * @param scenario the scenario to be checked.
+     * @param strategies the strategies to be checked.
+     * @throws IllegalArgumentException if the scenario or strategies cannot
+     * be compared.
+     */
+    public static void validate(Scenario scenario, ArrayList<Strategy> strategies){
+        if(scenario.EXACT){
+            throw new IllegalArgumentException("strategy comparisons do not apply to exact scenarios");
+        }
+        if(scenario.isSequential()){
+            throw new IllegalArgumentException("strategy comparisons run a fixed number of runs, without a tolerance");
+        }
+        if(scenario.RUNS < 2 * reductionOf(scenario).UNIT_SIZE){
+            throw new IllegalArgumentException("a strategy comparison requires at least "
+                    + 2 * reductionOf(scenario).UNIT_SIZE + " runs: " + scenario.RUNS);
+        }
+        if(strategies.size() < 2){
+            throw new IllegalArgumentException("a strategy comparison requires at least two strategies: " + strategies.size());
+        }
+        for(int i = 0; i < strategies.size(); i++){
+            if(strategies.indexOf(strategies.get(i)) != i){
+                throw new IllegalArgumentException("repeated strategy: " + strategies.get(i).name());
+            }
+        }
+    }
+
+    /**
+     * Returns the statistics of the provided strategy.
+     * @param strategy one of the compared strategies.
+     * @return the statistics of the provided strategy.
+     * @throws IllegalArgumentException if the strategy was not compared.
+     */
+    public SimulationStatistics of(Strategy strategy){
+        return STATISTICS[indexOf(strategy)];
+    }
+
+    /**
+     * Returns the mean attempts of the provided strategy minus those of the
+     * first strategy, for the provided milestone.
+     * @param strategy one of the compared strategies.
+     * @param milestone the milestone to be compared.
+     * @return the difference of the mean attempts.
+     * @throws IllegalArgumentException if the strategy was not compared.
+     */
+    public double meanDifference(Strategy strategy, Milestone milestone){
+        return of(strategy).of(milestone).mean() - STATISTICS[0].of(milestone).mean();
+    }
+
+    /**
+     * Returns the half-width of the 95% confidence interval of {@link
+     * #meanDifference(Strategy, Milestone)}, from the spread of the paired
+     * difference between batches.
+     * @param strategy one of the compared strategies.
+     * @param milestone the milestone to be compared.
+     * @return the half-width of the confidence interval, in attempts.
+     * @throws IllegalArgumentException if the strategy was not compared.
+     */
+    public double meanDifferenceMargin(Strategy strategy, Milestone milestone){
+        final SimulationStatistics[] BATCHES_OF_STRATEGY = BATCH_STATISTICS[indexOf(strategy)];
+        final SimulationStatistics[] BATCHES_OF_FIRST = BATCH_STATISTICS[0];
+        if(BATCHES_OF_STRATEGY.length < 2){
+            return Double.NaN;
+        }
+
+        //Each batch is weighted by its runs, as the batches may differ in size by up to one unit
+        final double DIFFERENCE = meanDifference(strategy, milestone);
+        final long RUNS = STATISTICS[0].count();
+        double sumOfSquares = 0;
+        for(int i = 0; i < BATCHES_OF_STRATEGY.length; i++){
+            final Histogram BATCH = BATCHES_OF_STRATEGY[i].of(milestone);
+            final double DEVIATION = BATCH.count()
+                    * (BATCH.mean() - BATCHES_OF_FIRST[i].of(milestone).mean() - DIFFERENCE) / RUNS;
+            sumOfSquares += DEVIATION * DEVIATION;
+        }
+
+        return Z_95 * Math.sqrt(sumOfSquares * BATCHES_OF_STRATEGY.length / (BATCHES_OF_STRATEGY.length - 1));
+    }
+
+    /**
+     * Returns the side-by-side comparison as text.
+     * @return the side-by-side comparison as text.
+     */
+    public String report(){
+        final StringBuilder SB = new StringBuilder();
+        final ArrayList<String> NAMES = new ArrayList<>();
+        for(SetName setName : SCENARIO.setNames()){
+            NAMES.add(setName.VAL);
+        }
+        SB.append("Sets: ").append(String.join(", ", NAMES))
+                .append("\nRuns: ").append(SCENARIO.RUNS).append(" per strategy (").append(VARIANCE_REDUCTION.VAL).append(")")
+                .append("\nPack Points: ").append(SCENARIO.USE_PACK_POINTS ? "yes" : "no")
+                .append("\nWonder Picks: ").append(SCENARIO.USE_WONDER_PICKS ? "yes" : "no")
+                .append("\nSeed: ").append(SCENARIO.STREAMS.MASTER_SEED)
+                .append("\nDifferences are against ").append(STRATEGIES.get(0).name())
+                .append(", with 95% confidence intervals from ").append(BATCH_STATISTICS[0].length).append(" batches.\n");
+
+        final String VERSUS = "Mean vs " + STRATEGIES.get(0).name();
+        for(Milestone milestone : MILESTONES){
+            SB.append("\nAttempts for ").append(milestone.VAL).append(":\n")
+                    .append(String.format(Locale.ROOT, "%-12s%10s%8s%8s%24s\n", "Strategy", "Mean", "p50", "p95", VERSUS));
+            for(Strategy strategy : STRATEGIES){
+                final Histogram ATTEMPTS = of(strategy).of(milestone);
+                final String DIFFERENCE = strategy == STRATEGIES.get(0) ? "-" : String.format(Locale.ROOT, "%+.3f +/- %.3f",
+                        meanDifference(strategy, milestone), meanDifferenceMargin(strategy, milestone));
+                SB.append(String.format(Locale.ROOT, "%-12s%10.3f%8d%8d%24s\n",
+                        strategy.name(), ATTEMPTS.mean(), ATTEMPTS.percentile(50), ATTEMPTS.percentile(95), DIFFERENCE));
+            }
+        }
+
+        return SB.toString();
+    }
+
+    /**
+     * Helper method that returns the index of the provided strategy.
+     * @param strategy one of the compared strategies.
+     * @return the index of the provided strategy.
+     * @throws IllegalArgumentException if the strategy was not compared.
+     */
+    private int indexOf(Strategy strategy){
+        final int INDEX = STRATEGIES.indexOf(strategy);
+        if(INDEX == -1){
+            throw new IllegalArgumentException("strategy was not compared: " + strategy.name());
+        }
+
+        return INDEX;
+    }
+
+    /**
+     * Helper method that returns the variance-reduction technique the
+     * provided scenario is compared with. Plain runs open packs from common
+     * random numbers instead, so that strategies share their packs.
+     * @param scenario the scenario to be compared.
+     * @return the variance-reduction technique of the comparison.
+     */
+    private static VarianceReduction reductionOf(Scenario scenario){
+        return scenario.VARIANCE_REDUCTION == VarianceReduction.NONE ? VarianceReduction.COMMON : scenario.VARIANCE_REDUCTION;
+    }
+}
@@ -0,0 +1,223 @@
+package sim;
+
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * An instance of this class is used to run many scenarios in a single pass
+ * over one pool of worker threads, such as every combination of sets, pack
+ * points and Wonder Picks. Every scenario reads the same sets of its {@code
+ * RateTables}, which are never changed once built. The runs of each
+ * scenario are split in halves down to small ranges, and idle threads steal
+ * the ranges of busy ones, so scenarios of very different lengths keep every
+ * thread busy until the last range is done. Each scenario gets the same runs
+ * as if it were run alone, and the results are reported as one table.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class Sweep {
+    public static final int LEAF_RUNS = 64;
+
+    private static final Milestone[] MILESTONES = {Milestone.FIFTY_PERCENT_OF_STANDARDS, Milestone.ALL_DDDD_RARITIES, Milestone.ALL_STANDARDS};
+
+    private final ArrayList<Scenario> SCENARIOS;
+    private final int THREADS;
+
+    /**
+     * Instantiates an instance of {@code Sweep}, with the provided scenarios
+     * and number of worker threads.
+     * @param scenarios the scenarios to be run.
+     * @param threads the number of worker threads shared by every scenario.
+     * A value less than {@code 1} uses one thread per available processor.
+     * @throws IllegalArgumentException if a scenario is exact or sequential.
+     */
+    public Sweep(ArrayList<Scenario> scenarios, int threads){
+        for(Scenario scenario : scenarios){
+            validate(scenario);
+        }
+
+        this.SCENARIOS = new ArrayList<>(scenarios);
+        this.THREADS = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Checks whether the provided scenario can be swept: it must be simulated
+     * with a fixed number of runs.
+     * @param scenario the scenario to be checked.
+     * @throws IllegalArgumentException if the scenario is exact or
+     * sequential.
+     */
+    public static void validate(Scenario scenario){
+        if(scenario.EXACT){
+            throw new IllegalArgumentException("sweeps do not apply to exact scenarios");
+        }
+        if(scenario.isSequential()){
+            throw new IllegalArgumentException("sweeps run a fixed number of runs, without a tolerance");
+        }
+    }
+
+    /**
+     * Returns every scenario of the grid spanned by the provided scenario:
+     * every non-empty subset of its sets, each without and with pack points,
+     * each of which without and with Wonder Picks. Every other setting is
+     * that of the provided scenario.
+     * @param base the scenario whose sets and settings span the grid.
+     * @return the scenarios of the grid, by subset and then by options.
+     * @throws IllegalArgumentException if the scenario is exact or
+     * sequential, or has too many sets to be swept.
+     */
+    public static ArrayList<Scenario> grid(Scenario base){
+        validate(base);
+        final ArrayList<SetName> SET_NAMES = base.setNames();
+        if(SET_NAMES.size() >= Integer.SIZE - 1){
+            throw new IllegalArgumentException("too many sets to be swept: " + SET_NAMES.size());
+        }
+
+        final ArrayList<Scenario> GRID = new ArrayList<>();
+        for(int subset = 1; subset < 1 << SET_NAMES.size(); subset++){
+            final ArrayList<SetName> SUBSET = new ArrayList<>();
+            for(int i = 0; i < SET_NAMES.size(); i++){
+                if((subset & 1 << i) != 0){
+                    SUBSET.add(SET_NAMES.get(i));
+                }
+            }
+            for(boolean usePackPoints : new boolean[]{false, true}){
+                for(boolean useWonderPicks : new boolean[]{false, true}){
+                    GRID.add(new Scenario(SUBSET, base.RUNS, usePackPoints, useWonderPicks, base.STREAMS, base.THREADS,
+                            false, base.VARIANCE_REDUCTION, null, base.STRATEGY, base.RATE_TABLES));
+                }
+            }
+        }
+
+        return GRID;
+    }
+
+    /**
+     * Returns the scenarios of the instance.
+     * @return the scenarios of the instance.
+     */
+    public ArrayList<Scenario> scenarios(){
+        return new ArrayList<>(SCENARIOS);
+    }
+
+    /**
+     * Runs every scenario of the instance across the shared worker threads.
+     * @return the statistics of every scenario, in order of the scenarios.
+     */
+    public SimulationStatistics[] run(){
+        final ArrayList<RangeTask> TASKS = new ArrayList<>();
+        for(Scenario scenario : SCENARIOS){
+            TASKS.add(new RangeTask(scenario.engine(scenario.VARIANCE_REDUCTION), scenario.VARIANCE_REDUCTION.UNIT_SIZE, 0, scenario.RUNS));
+        }
+
+        final ForkJoinPool POOL = new ForkJoinPool(THREADS);
+        try {
+            POOL.invoke(new RecursiveTask<Void>() {
+                @Override
+                protected Void compute(){
+                    invokeAll(TASKS);
+                    return null;
+                }
+            });
+        } finally {
+            POOL.shutdownNow();
+        }
+
+        final SimulationStatistics[] RESULTS = new SimulationStatistics[TASKS.size()];
+        for(int i = 0; i < RESULTS.length; i++){
+            RESULTS[i] = TASKS.get(i).join();
+        }
+
+        return RESULTS;
+    }
+
+    /**
+     * Returns the provided statistics of every scenario as one table of the
+     * 50th and 95th percentiles of a few milestones, a row per scenario.
+     * @param statistics the statistics of every scenario, in order of the
+     * scenarios.
+     * @return the table of every scenario, as text.
+     */
+    public String table(SimulationStatistics[] statistics){
+        final StringBuilder SB = new StringBuilder();
+        final Scenario FIRST = SCENARIOS.get(0);
+        SB.append("Sweep: ").append(SCENARIOS.size()).append(" scenarios")
+                .append("\nRuns: ").append(FIRST.RUNS).append(" per scenario")
+                .append(FIRST.VARIANCE_REDUCTION == VarianceReduction.NONE ? "" : " (" + FIRST.VARIANCE_REDUCTION.VAL + ")")
+                .append("\nSeed: ").append(FIRST.STREAMS.MASTER_SEED);
+        if(FIRST.STRATEGY != Strategies.GREEDY){
+            SB.append("\nStrategy: ").append(FIRST.STRATEGY.name());
+        }
+        final ArrayList<String> LEGEND = new ArrayList<>();
+        for(SetName setName : SetName.values()){
+            for(Scenario scenario : SCENARIOS){
+                if(scenario.setNames().contains(setName)){
+                    LEGEND.add((setName.ordinal() + 1) + ") " + setName.VAL);
+                    break;
+                }
+            }
+        }
+        SB.append("\nSets: ").append(String.join(", ", LEGEND));
+        SB.append("\n\nAttempts as 50th / 95th percentiles:\n")
+                .append(String.format(Locale.ROOT, "%-15s%4s%4s", "Sets", "PP", "WP"));
+        for(Milestone milestone : MILESTONES){
+            SB.append(String.format(Locale.ROOT, "%26s", milestone.VAL));
+        }
+        SB.append("\n");
+
+        for(int i = 0; i < SCENARIOS.size(); i++){
+            final Scenario SCENARIO = SCENARIOS.get(i);
+            final ArrayList<String> NUMBERS = new ArrayList<>();
+            for(SetName setName : SCENARIO.setNames()){
+                NUMBERS.add(String.valueOf(setName.ordinal() + 1));
+            }
+            SB.append(String.format(Locale.ROOT, "%-15s%4s%4s", String.join(",", NUMBERS),
+                    SCENARIO.USE_PACK_POINTS ? "y" : "n", SCENARIO.USE_WONDER_PICKS ? "y" : "n"));
+            for(Milestone milestone : MILESTONES){
+                final Histogram ATTEMPTS = statistics[i].of(milestone);
+                SB.append(String.format(Locale.ROOT, "%26s", ATTEMPTS.percentile(50) + " / " + ATTEMPTS.percentile(95)));
+            }
+            SB.append("\n");
+        }
+
+        return SB.toString();
+    }
+
+    /**
+     * Helper class that runs a range of the runs of a single scenario,
+     * splitting it in halves of whole units until it is small enough to run
+     * on the calling thread.
+     */
+    private static final class RangeTask extends RecursiveTask<SimulationStatistics> {
+        private static final long serialVersionUID = 1L;
+
+        private final SimulationEngine ENGINE;
+        private final int UNIT;
+        private final int FROM;
+        private final int TO;
+
+        private RangeTask(SimulationEngine engine, int unit, int from, int to){
+            this.ENGINE = engine;
+            this.UNIT = unit;
+            this.FROM = from;
+            this.TO = to;
+        }
+
+        @Override
+        protected SimulationStatistics compute(){
+            final int UNITS = (TO - FROM + UNIT - 1) / UNIT;
+            if(TO - FROM <= LEAF_RUNS || UNITS < 2){
+                return ENGINE.runRange(FROM, TO);
+            }
+
+            final int MIDDLE = FROM + UNITS / 2 * UNIT;
+            final RangeTask LEFT = new RangeTask(ENGINE, UNIT, FROM, MIDDLE);
+            LEFT.fork();
+            final SimulationStatistics RESULTS = new RangeTask(ENGINE, UNIT, MIDDLE, TO).compute();
+            RESULTS.merge(LEFT.join());
+            return RESULTS;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package sim;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * An instance of this class is used to compare the variance-reduction
+ * techniques side by side on a single {@code Scenario}. Every technique runs
+ * the runs and seed of the scenario, and the 95th percentile of completing
+ * the {@code DDDD} rarities and every standard rarity is reported with its
+ * confidence interval. The efficiency of a technique is the factor by which
+ * it shrinks the variance of the estimate compared to {@link
+ * VarianceReduction#NONE}, so plain simulations would need that many times
+ * the runs to reach the same confidence interval.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class VarianceComparison {
+    public static final int BATCHES = 32;
+    public static final int MIN_RUNS = BATCHES * VarianceReduction.STRATIFIED.UNIT_SIZE;
+
+    private static final double PERCENT = 95;
+    private static final Milestone[] MILESTONES = {Milestone.ALL_DDDD_RARITIES, Milestone.ALL_STANDARDS};
+    private static final VarianceReduction[] REDUCTIONS = VarianceReduction.values();
+
+    private final Scenario SCENARIO;
+    private final PercentileInterval[][] INTERVALS;
+
+    /**
+     * Instantiates an instance of {@code VarianceComparison}, running the
+     * provided scenario with every variance-reduction technique.
+     * @param scenario the scenario to be compared.
+     * @throws IllegalArgumentException if the scenario cannot be compared.
+     */
+    public VarianceComparison(Scenario scenario){
+        validate(scenario);
+
+        this.SCENARIO = scenario;
+        this.INTERVALS = new PercentileInterval[REDUCTIONS.length][MILESTONES.length];
+        for(VarianceReduction reduction : REDUCTIONS){
+            final SimulationStatistics[] BATCH_STATISTICS = scenario.engine(reduction).runBatches(scenario.RUNS, BATCHES, null);
+            for(int i = 0; i < MILESTONES.length; i++){
+                this.INTERVALS[reduction.ordinal()][i] = PercentileInterval.of(BATCH_STATISTICS, MILESTONES[i], PERCENT);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the provided scenario can be compared: it must be
+     * simulated, without a tolerance, with enough runs to fill every batch
+     * of every technique.
+     * @param scenario the scenario to be checked.
+     * @throws IllegalArgumentException if the scenario cannot be compared.
+     */
+    public static void validate(Scenario scenario){
+        if(scenario.EXACT){
+            throw new IllegalArgumentException("variance reduction does not apply to exact scenarios");
+        }
+        if(scenario.isSequential()){
+            throw new IllegalArgumentException("variance comparisons run a fixed number of runs, without a tolerance");
+        }
+        if(scenario.RUNS < MIN_RUNS){
+            throw new IllegalArgumentException("a variance comparison requires at least " + MIN_RUNS + " runs: " + scenario.RUNS);
+        }
+    }
+
+    /**
+     * Returns the interval of the provided milestone estimated with the
+     * provided technique.
+     * @param reduction the variance-reduction technique.
+     * @param milestone either {@link Milestone#ALL_DDDD_RARITIES} or {@link
+     * Milestone#ALL_STANDARDS}.
+     * @return the interval of the provided milestone, or {@code null} if the
+     * milestone is not compared.
+     */
+    public PercentileInterval of(VarianceReduction reduction, Milestone milestone){
+        for(int i = 0; i < MILESTONES.length; i++){
+            if(MILESTONES[i] == milestone){
+                return INTERVALS[reduction.ordinal()][i];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the efficiency of the provided technique for the provided
+     * milestone: the variance of the plain estimate divided by the variance
+     * of the estimate of the technique.
+     * @param reduction the variance-reduction technique.
+     * @param milestone the milestone to be compared.
+     * @return the efficiency of the provided technique.
+     */
+    public double efficiency(VarianceReduction reduction, Milestone milestone){
+        final double PLAIN = of(VarianceReduction.NONE, milestone).CDF_STANDARD_ERROR;
+        final double REDUCED = of(reduction, milestone).CDF_STANDARD_ERROR;
+        return PLAIN * PLAIN / (REDUCED * REDUCED);
+    }
+
+    /**
+     * Returns the side-by-side comparison as text.
+     * @return the side-by-side comparison as text.
+     */
+    public String report(){
+        final StringBuilder SB = new StringBuilder();
+        final ArrayList<String> NAMES = new ArrayList<>();
+        for(SetName setName : SCENARIO.setNames()){
+            NAMES.add(setName.VAL);
+        }
+        SB.append("Sets: ").append(String.join(", ", NAMES))
+                .append("\nRuns: ").append(SCENARIO.RUNS).append(" per technique")
+                .append("\nPack Points: ").append(SCENARIO.USE_PACK_POINTS ? "yes" : "no")
+                .append("\nWonder Picks: ").append(SCENARIO.USE_WONDER_PICKS ? "yes" : "no")
+                .append("\nSeed: ").append(SCENARIO.STREAMS.MASTER_SEED)
+                .append("\nEfficiencies are estimated from ").append(BATCHES)
+                .append(" batches, and vary by roughly a third between seeds.\n");
+
+        for(Milestone milestone : MILESTONES){
+            SB.append("\n95th Percentile of ").append(milestone.VAL).append(":\n")
+                    .append(String.format(Locale.ROOT, "%-12s%10s%14s%8s%12s%12s%18s\n",
+                            "Technique", "Estimate", "95% CI", "Width", "CDF s.e.", "Efficiency", "Runs for same CI"));
+            for(VarianceReduction reduction : REDUCTIONS){
+                final PercentileInterval INTERVAL = of(reduction, milestone);
+                final double EFFICIENCY = efficiency(reduction, milestone);
+                SB.append(String.format(Locale.ROOT, "%-12s%10d%14s%8d%12.5f%12.2f%18d\n",
+                        reduction.VAL, INTERVAL.ESTIMATE, "[" + INTERVAL.LOWER + ", " + INTERVAL.UPPER + "]",
+                        INTERVAL.width(), INTERVAL.CDF_STANDARD_ERROR, EFFICIENCY, Math.round(INTERVAL.RUNS / EFFICIENCY)));
+            }
+        }
+
+        return SB.toString();
+    }
+}
@@ -0,0 +1,59 @@
+package sim;
+
+/**
+ * An instance of this enum is used to represent a variance-reduction
+ * technique of a {@code SimulationEngine}. Every technique other than
+ * {@link #NONE} opens packs from a random number stream of their own, apart
+ * from the stream used for every other choice of a run. This makes those
+ * streams common random numbers: variants of a scenario run with the same
+ * seed open the same packs for as long as they make the same choices, so the
+ * difference between variants is estimated with far less noise.
+ * <p>
+ * {@link #ANTITHETIC} and {@link #STRATIFIED} also control the uniform
+ * number from which every card is drawn, in every slot of a pack and for
+ * every Wonder Pick; a single uniform number picks both the rarity and the
+ * card. Those draws use the inverse of the cumulative draw rates rather than
+ * alias tables, so that a smaller uniform number always draws a rarity at
+ * or before a larger one. Both are experimental.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public enum VarianceReduction {
+    NONE("none", 1),
+    COMMON("common", 1),
+    ANTITHETIC("antithetic", 2),
+    STRATIFIED("stratified", 64);
+
+    public final String VAL;
+    public final int UNIT_SIZE;
+
+    /**
+     * Instantiates an instance of {@code VarianceReduction}, with the
+     * provided value and unit size.
+     * @param VAL the value of the technique.
+     * @param UNIT_SIZE the number of consecutive runs whose random numbers
+     * depend on one another: a single run, an antithetic pair, or a block
+     * of runs sharing strata. Separate units are independent.
+     */
+    VarianceReduction(final String VAL, final int UNIT_SIZE){
+        this.VAL = VAL;
+        this.UNIT_SIZE = UNIT_SIZE;
+    }
+
+    /**
+     * Returns the instance whose value is equal to the provided value,
+     * ignoring case.
+     * @param val the value with which to compare values to.
+     * @return the instance whose value is equal to the provided value, if one
+     * exists. Else, {@code null}.
+     */
+    public static VarianceReduction get(String val){
+        for(VarianceReduction reduction : values()){
+            if(reduction.VAL.equalsIgnoreCase(val)){
+                return reduction;
+            }
+        }
+
+        return null;
+    }
+}
@@ -1,47 +1,38 @@
 package sim;
 
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
 
 /**
  * An instance of this class is used to represent a wonder pick from which a
- * {@code Card} can be randomly selected.
+ * {@code Card} can be randomly selected. Wonder Picks are drawn by the
+ * {@code WonderPickGenerator} of their pack.
  * @author Michael Dillinger
  * @since 0.1.0
  */
 public final class WonderPick {
     public final Pack PACK;
-    private final ArrayList<Card> CARDS;
+    private final Card[] CARDS;
     public final int STAMINA;
+    private final RandomGenerator RAND;
 
     /**
-     * Instantiates an instance of {@code WonderPick}, with the provided pack
-     * from which to obtain the necessary cards.
-     * @param pack the pack from which to obtain the necessary cards.
+     * (package-private) Instantiates an instance of {@code WonderPick}, with
+     * the provided pack, its drawn cards, the stamina of the card of the
+     * highest rarity, and the random number generator used to select a card.
+     * Intended to be used only by {@code WonderPickGenerator}.
+     * @param PACK the pack from which the cards were drawn.
+     * @param CARDS the cards of the instance, every one of which has a Wonder
+     * Pick stamina cost.
+     * @param STAMINA the stamina needed to select a card.
+     * @param RAND the random number generator of the instance.
      */
-    public WonderPick(Pack pack){
-        this.PACK = pack;
-        ArrayList<Card> cards;
-        boolean isValid;
-        do {
-            cards = pack.open().cards();
-            isValid = true;
-            for(int i = 0; i < cards.size(); i++) {
-                if(cards.get(i).RARITY.WONDER_STAMINA_COST == null) {
-                    isValid = false;
-                    break;
-                }
-            }
-        } while (!isValid);
-        this.CARDS = cards;
-
-        Rarity highestRarity = Rarity.D;
-        for(int i = 0; i < this.CARDS.size(); i++){
-            if(this.CARDS.get(i).RARITY.ordinal() > highestRarity.ordinal()){
-                highestRarity = this.CARDS.get(i).RARITY;
-            }
-        }
-        this.STAMINA = highestRarity.WONDER_STAMINA_COST;
+    WonderPick(final Pack PACK, final Card[] CARDS, final int STAMINA, final RandomGenerator RAND){
+        this.PACK = PACK;
+        this.CARDS = CARDS;
+        this.STAMINA = STAMINA;
+        this.RAND = RAND;
     }
 
     /**
@@ -49,7 +40,17 @@ public final class WonderPick {
      * @return the cards contained in the instance.
      */
     public ArrayList<Card> cards(){
-        return new ArrayList<>(this.CARDS);
+        return new ArrayList<>(Arrays.asList(this.CARDS));
+    }
+
+    /**
+     * (package-private) Returns the card of the provided draw ordinal,
+     * without copying the cards of the instance.
+     * @param ordinal the draw ordinal of the card.
+     * @return the card of the provided draw ordinal.
+     */
+    Card card(int ordinal){
+        return this.CARDS[ordinal];
     }
 
     /**
@@ -57,6 +58,6 @@ public final class WonderPick {
      * @return a random card from within the instance.
      */
     public Card select(){
-        return this.CARDS.get(new Random().nextInt(this.CARDS.size()));
+        return this.CARDS[RAND.nextInt(this.CARDS.length)];
     }
 }
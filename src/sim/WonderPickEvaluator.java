@@ -0,0 +1,166 @@
+package sim;
+
+import java.util.ArrayList;
+
+/**
+ * An instance of this class is used to score every {@code WonderPick} on
+ * offer in a single pass. For each rarity from {@code D} to {@code DDDD}, an
+ * offer scores a factor: its new cards of that rarity, times the chance of
+ * selecting one, over the chance of pulling a new card of that rarity from
+ * packs for the same stamina. The factors of an offer are combined into its
+ * chance of a new card per stamina. Scores are kept in primitive arrays
+ * indexed by offer, and offers of the same pack and stamina share the pull
+ * chances and powers of the first of them, so no offer has its cards copied
+ * and no score is boxed.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class WonderPickEvaluator {
+    private static final Rarity[] SCORED_RARITIES = {Rarity.D, Rarity.DD, Rarity.DDD, Rarity.DDDD};
+    private static final double SELECT_CHANCE = .20;
+
+    private final ArrayList<WonderPick> OFFERS;
+    //Indexed by offer, then by rarity ordinal
+    private final int[] NEW_CARDS;
+    private final double[] DENOMINATORS;
+    private final double[] FACTORS;
+    private final double[] NEW_CARD_FACTORS;
+    private final int[] RARITY_MASKS;
+
+    /**
+     * Instantiates an instance of {@code WonderPickEvaluator}, scoring every
+     * provided offer for the provided profile.
+     * @param profile the profile selecting a Wonder Pick.
+     * @param offers the Wonder Picks on offer.
+     */
+    public WonderPickEvaluator(Profile profile, ArrayList<WonderPick> offers){
+        this.OFFERS = offers;
+        this.NEW_CARDS = new int[offers.size() * SCORED_RARITIES.length];
+        this.DENOMINATORS = new double[offers.size() * SCORED_RARITIES.length];
+        this.FACTORS = new double[offers.size() * SCORED_RARITIES.length];
+        this.NEW_CARD_FACTORS = new double[offers.size()];
+        this.RARITY_MASKS = new int[offers.size()];
+
+        for(int j = 0; j < offers.size(); j++){
+            final WonderPick OFFER = offers.get(j);
+            final int BASE = j * SCORED_RARITIES.length;
+            for(int i = 0; i < PackBuffer.SIZE; i++){
+                final Card CARD = OFFER.card(i);
+                RARITY_MASKS[j] |= 1 << CARD.RARITY.ordinal();
+                if(CARD.RARITY.ordinal() < SCORED_RARITIES.length && !profile.hasCard(OFFER.PACK.SET_NAME, CARD)){
+                    NEW_CARDS[BASE + CARD.RARITY.ordinal()]++;
+                }
+            }
+
+            final int SAME = earlierOfferLike(j);
+            for(Rarity rarity : SCORED_RARITIES){
+                final int INDEX = BASE + rarity.ordinal();
+                DENOMINATORS[INDEX] = SAME > -1
+                        ? DENOMINATORS[SAME * SCORED_RARITIES.length + rarity.ordinal()]
+                        : 1 - Math.pow(1 - profile.chanceOfPullingNewCardOfRarity(OFFER.PACK, rarity), OFFER.STAMINA);
+                FACTORS[INDEX] = NEW_CARDS[INDEX] * SELECT_CHANCE / DENOMINATORS[INDEX];
+            }
+            NEW_CARD_FACTORS[j] = (FACTORS[BASE + Rarity.DDDD.ordinal()] * NEW_CARDS[BASE + Rarity.DDDD.ordinal()]
+                    + FACTORS[BASE + Rarity.DDD.ordinal()] * NEW_CARDS[BASE + Rarity.DDD.ordinal()]
+                    + FACTORS[BASE + Rarity.DD.ordinal()] * NEW_CARDS[BASE + Rarity.DD.ordinal()]
+                    + FACTORS[BASE + Rarity.D.ordinal()] * NEW_CARDS[BASE + Rarity.D.ordinal()]
+            ) / PackBuffer.SIZE;
+        }
+    }
+
+    /**
+     * Returns the number of new cards of the provided rarity held by the
+     * offer of the provided index.
+     * @param offer the index of the offer.
+     * @param rarity a rarity from {@code D} to {@code DDDD}.
+     * @return the number of new cards of the provided rarity.
+     */
+    public int newCards(int offer, Rarity rarity){
+        return NEW_CARDS[offer * SCORED_RARITIES.length + rarity.ordinal()];
+    }
+
+    /**
+     * Returns the factor of the provided rarity of the offer of the provided
+     * index.
+     * @param offer the index of the offer.
+     * @param rarity a rarity from {@code D} to {@code DDDD}.
+     * @return the factor of the provided rarity.
+     */
+    public double factor(int offer, Rarity rarity){
+        return FACTORS[offer * SCORED_RARITIES.length + rarity.ordinal()];
+    }
+
+    /**
+     * Returns the chance of a new card per stamina of the offer of the
+     * provided index.
+     * @param offer the index of the offer.
+     * @return the chance of a new card per stamina.
+     */
+    public double newCardFactor(int offer){
+        return NEW_CARD_FACTORS[offer];
+    }
+
+    /**
+     * Returns whether the offer of the provided index holds a card of the
+     * provided rarity, new or not.
+     * @param offer the index of the offer.
+     * @param rarity the rarity to be checked.
+     * @return {@code true}, if the offer holds a card of the provided rarity.
+     * Else, {@code false}.
+     */
+    public boolean holds(int offer, Rarity rarity){
+        return (RARITY_MASKS[offer] & 1 << rarity.ordinal()) != 0;
+    }
+
+    /**
+     * Returns the first offer with the largest chance of a new card per
+     * stamina.
+     * @return the best offer.
+     */
+    public WonderPick bestOffer(){
+        int indexOfLargest = 0;
+        for(int j = 1; j < NEW_CARD_FACTORS.length; j++){
+            if(NEW_CARD_FACTORS[j] > NEW_CARD_FACTORS[indexOfLargest]){
+                indexOfLargest = j;
+            }
+        }
+
+        return OFFERS.get(indexOfLargest);
+    }
+
+    /**
+     * Returns the first offer holding a card of the provided rarity with the
+     * largest factor of that rarity.
+     * @param rarity a rarity from {@code D} to {@code DDDD}.
+     * @return the best offer holding a card of the provided rarity, or
+     * {@code null} if no offer holds one.
+     */
+    public WonderPick bestOfferWith(Rarity rarity){
+        int indexOfLargest = -1;
+        for(int j = 0; j < NEW_CARD_FACTORS.length; j++){
+            if(holds(j, rarity) && (indexOfLargest == -1 || factor(j, rarity) > factor(indexOfLargest, rarity))){
+                indexOfLargest = j;
+            }
+        }
+
+        return indexOfLargest > -1 ? OFFERS.get(indexOfLargest) : null;
+    }
+
+    /**
+     * Helper method that returns the index of the first offer before the
+     * provided one with the same pack and stamina, whose pull chances and
+     * powers are therefore the same.
+     * @param offer the index of the offer.
+     * @return the index of the earlier offer, or {@code -1} if there is none.
+     */
+    private int earlierOfferLike(int offer){
+        final WonderPick OFFER = OFFERS.get(offer);
+        for(int j = 0; j < offer; j++){
+            if(OFFERS.get(j).PACK == OFFER.PACK && OFFERS.get(j).STAMINA == OFFER.STAMINA){
+                return j;
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,109 @@
+package sim;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * An instance of this class is used to generate the Wonder Picks of a single
+ * {@code Pack}. A Wonder Pick holds an opened pack whose every card has a
+ * Wonder Pick stamina cost, and the draws of a pack are independent, so the
+ * draw rates of every draw are conditioned on such a card once, when the
+ * instance is constructed. Each Wonder Pick is then drawn in a single pass,
+ * with the same distribution as opening packs until one is valid, but
+ * without discarding any.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+public final class WonderPickGenerator {
+    public final Pack PACK;
+    private final DrawRarityRates[] DRAWS = new DrawRarityRates[PackBuffer.SIZE];
+    private final boolean CAN_GENERATE;
+
+    /**
+     * (package-private) Instantiates an instance of {@code
+     * WonderPickGenerator}, conditioning the draw rates of every draw of the
+     * provided pack. Intended to be used only by {@code Pack}.
+     * @param PACK the pack of the Wonder Picks.
+     */
+    WonderPickGenerator(final Pack PACK){
+        this.PACK = PACK;
+
+        boolean canGenerate = true;
+        for(int i = 0; i < DRAWS.length; i++){
+            this.DRAWS[i] = PACK.drawRarityRates(i).givenWonderPick();
+            canGenerate &= this.DRAWS[i] != null;
+        }
+        this.CAN_GENERATE = canGenerate;
+    }
+
+    /**
+     * Returns whether the pack can be offered as a Wonder Pick, which
+     * requires every draw to have a chance of a card with a Wonder Pick
+     * stamina cost.
+     * @return {@code true}, if the pack can be offered. Else, {@code false}.
+     */
+    public boolean canGenerate(){
+        return CAN_GENERATE;
+    }
+
+    /**
+     * Returns a random Wonder Pick of the pack.
+     * @param rand the random number generator used both to draw the cards
+     * and to select a card.
+     * @return a random Wonder Pick of the pack.
+     * @throws IllegalStateException if the pack cannot be offered as a
+     * Wonder Pick.
+     */
+    public WonderPick generate(RandomGenerator rand){
+        if(!CAN_GENERATE){
+            throw new IllegalStateException(PACK.NAME.VAL + " cannot be offered as a Wonder Pick");
+        }
+
+        final Card[] CARDS = new Card[DRAWS.length];
+        for(int i = 0; i < DRAWS.length; i++){
+            CARDS[i] = PACK.pull(DRAWS[i], rand);
+        }
+
+        return wonderPickOf(CARDS, rand);
+    }
+
+    /**
+     * (package-private) Returns a random Wonder Pick of the pack, drawing
+     * its cards from controlled draws. Intended to be used only by {@code
+     * Simulation}, for antithetic and stratified runs.
+     * @param draws the controlled draws of the cards.
+     * @param rand the random number generator used to select a card.
+     * @return a random Wonder Pick of the pack.
+     * @throws IllegalStateException if the pack cannot be offered as a
+     * Wonder Pick.
+     */
+    WonderPick generate(ControlledDrawRandom draws, RandomGenerator rand){
+        if(!CAN_GENERATE){
+            throw new IllegalStateException(PACK.NAME.VAL + " cannot be offered as a Wonder Pick");
+        }
+
+        final Card[] CARDS = new Card[DRAWS.length];
+        for(int i = 0; i < DRAWS.length; i++){
+            CARDS[i] = PACK.pullControlled(DRAWS[i], draws);
+        }
+
+        return wonderPickOf(CARDS, rand);
+    }
+
+    /**
+     * Helper method that returns the Wonder Pick of the provided cards, at
+     * the stamina cost of their highest rarity.
+     * @param cards the cards of the Wonder Pick.
+     * @param rand the random number generator used to select a card.
+     * @return the Wonder Pick of the provided cards.
+     */
+    private WonderPick wonderPickOf(Card[] cards, RandomGenerator rand){
+        Rarity highestRarity = Rarity.D;
+        for(Card card : cards){
+            if(card.RARITY.ordinal() > highestRarity.ordinal()){
+                highestRarity = card.RARITY;
+            }
+        }
+
+        return new WonderPick(PACK, cards, highestRarity.WONDER_STAMINA_COST, rand);
+    }
+}
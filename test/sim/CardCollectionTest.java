@@ -0,0 +1,31 @@
+package sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the pack choices of {@code CardCollection}.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+class CardCollectionTest {
+    @Test
+    void highestChancePacksIntoArrayMatchTheList(){
+        final SplittableRandom RAND = new SplittableRandom(1);
+        final CardCollection COLLECTION = new CardCollection();
+        final ArrayList<SetName> SET_NAMES = new ArrayList<>(Arrays.asList(SetName.values()));
+        final Pack[] PACKS = new Pack[PackName.values().length];
+
+        for(int opened = 0; opened < 400; opened++){
+            final ArrayList<Pack> EXPECTED = COLLECTION.packsHighestChanceOfPullingNewStandardCard(SET_NAMES);
+            final int COUNT = COLLECTION.packsHighestChanceOfPullingNewStandardCard(SET_NAMES, PACKS);
+            assertEquals(EXPECTED, new ArrayList<>(Arrays.asList(PACKS).subList(0, COUNT)));
+
+            COLLECTION.add(PACKS[RAND.nextInt(COUNT)].open(RAND));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the draw probabilities of {@code DrawRarityRates}.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+class DrawRarityRatesTest {
+    @Test
+    void smallDenominatorsDrawExactly(){
+        final DrawRarityRates RATES = new DrawRarityRates(new Fraction(1, 4), new Fraction(1, 6), Fraction.ZERO, Fraction.ZERO,
+                Fraction.ZERO, Fraction.ZERO, Fraction.ZERO, Fraction.ZERO, Fraction.ZERO, new Fraction(7, 12));
+
+        assertEquals(3.0 / 12, RATES.chanceOf(Rarity.D), 0);
+        assertEquals(2.0 / 12, RATES.chanceOf(Rarity.DD), 0);
+        assertEquals(7.0 / 12, RATES.chanceOf(Rarity.C), 0);
+    }
+
+    @Test
+    void largeDenominatorsDrawWithinTheBound(){
+        final Fraction D = new Fraction(1, 1_000_000_007);
+        final Fraction DD = new Fraction(1, 998_244_353);
+        final Fraction DDD = new Fraction(1, 1_000_000_009);
+        final DrawRarityRates RATES = new DrawRarityRates(D, DD, DDD, Fraction.ZERO,
+                Fraction.ZERO, Fraction.ZERO, Fraction.ZERO, Fraction.ZERO, Fraction.ZERO, Fraction.ZERO);
+
+        assertEquals(D.VAL, RATES.chanceOf(Rarity.D), 0x1p-51);
+        assertEquals(DD.VAL, RATES.chanceOf(Rarity.DD), 0x1p-51);
+        assertEquals(DDD.VAL, RATES.chanceOf(Rarity.DDD), 0x1p-51);
+        assertEquals(1 - D.VAL - DD.VAL - DDD.VAL, RATES.chanceOf(Rarity.C), 0x1p-50);
+        assertEquals(Rarity.D, RATES.draw(0.0));
+        assertEquals(Rarity.C, RATES.draw(0.5));
+    }
+}
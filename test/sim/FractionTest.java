@@ -0,0 +1,69 @@
+package sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the arithmetic and comparisons of {@code Fraction}.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+class FractionTest {
+    private static final long PRIME1 = 1_000_000_007;
+    private static final long PRIME2 = 998_244_353;
+    private static final long PRIME3 = 1_000_000_009;
+
+    @Test
+    void lcmOfDivisibleDenominatorsIsTheLarger(){
+        assertEquals(120, Fraction.lcm(new Fraction(1, 60), new Fraction(1, 120)));
+        assertEquals(120, Fraction.lcm(new Fraction(1, 120), new Fraction(1, 60)));
+        assertEquals(360, Fraction.lcm(new Fraction(1, 40), new Fraction(1, 90)));
+    }
+
+    @Test
+    void reduceDividesByTheGcd(){
+        final Fraction REDUCED = Fraction.reduce(new Fraction(60, 120));
+        assertEquals(1, REDUCED.NUM);
+        assertEquals(2, REDUCED.DEN);
+
+        final Fraction SUM = Fraction.add(new Fraction(1, 60), new Fraction(1, 120));
+        assertEquals(1, SUM.NUM);
+        assertEquals(40, SUM.DEN);
+    }
+
+    @Test
+    void bigLcmIsExactBeyondLong(){
+        final Fraction[] FRACTIONS = {new Fraction(1, PRIME1), new Fraction(1, PRIME2), new Fraction(1, PRIME3)};
+        assertThrows(ArithmeticException.class, () -> Fraction.lcm(FRACTIONS));
+        assertEquals(BigInteger.valueOf(PRIME1).multiply(BigInteger.valueOf(PRIME2)).multiply(BigInteger.valueOf(PRIME3)),
+                Fraction.bigLcm(FRACTIONS));
+        assertEquals(BigInteger.valueOf(120), Fraction.bigLcm(new Fraction(1, 60), new Fraction(1, 120)));
+    }
+
+    @Test
+    void comparisonsOrderValues(){
+        final Fraction HALF = new Fraction(1, 2);
+        final Fraction ALSO_HALF = new Fraction(2, 4);
+        final Fraction THIRD = new Fraction(1, 3);
+
+        assertTrue(HALF.isGreaterThanOrEqualTo(ALSO_HALF));
+        assertTrue(HALF.isGreaterThanOrEqualTo(THIRD));
+        assertFalse(THIRD.isGreaterThanOrEqualTo(HALF));
+
+        assertTrue(HALF.isLessThanOrEqualTo(ALSO_HALF));
+        assertTrue(THIRD.isLessThanOrEqualTo(HALF));
+        assertFalse(HALF.isLessThanOrEqualTo(THIRD));
+
+        assertTrue(HALF.isGreaterThan(THIRD));
+        assertFalse(HALF.isGreaterThan(ALSO_HALF));
+        assertTrue(THIRD.isLessThan(HALF));
+        assertFalse(HALF.isLessThan(ALSO_HALF));
+        assertTrue(HALF.isEqualTo(ALSO_HALF));
+        assertTrue(HALF.isNotEqual(THIRD));
+    }
+}
@@ -0,0 +1,28 @@
+package sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the simulated clock of {@code Profile}.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+class ProfileTest {
+    @Test
+    void premiumPassLastsThirtyDaysFromTheCurrentExpiration(){
+        final Profile PROFILE = new Profile("player", new SplittableRandom(1));
+        assertNull(PROFILE.premiumExpiration());
+
+        PROFILE.simulateMinuteJump(90);
+        PROFILE.subscribeToPremium();
+        assertEquals(Duration.ofDays(30), Duration.between(PROFILE.currentTime(), PROFILE.premiumExpiration()));
+
+        PROFILE.subscribeToPremium();
+        assertEquals(Duration.ofDays(60), Duration.between(PROFILE.currentTime(), PROFILE.premiumExpiration()));
+    }
+}
@@ -0,0 +1,114 @@
+package sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests that runs written by {@code RunFileWriter} are read back by {@code
+ * RunFileReader}.
+ * @author Michael Dillinger
+ * @since 0.1.0
+ */
+class RunFileTest {
+    private static final Milestone[] MILESTONES = Milestone.values();
+    private static final double[] PERCENTILES = {5, 50, 95};
+    private static final int WINDOW_RUNS = 50_000;
+    //Neither a multiple of the block nor of the window, so both the last block and the last window are partial
+    private static final int TOTAL_RUNS = 2 * RunFileWriter.BLOCK_RUNS + 12_345;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void windowedRunsRoundTrip() throws IOException {
+        final Path FILE = directory.resolve("runs.bin");
+        final Scenario SCENARIO = new Scenario(new ArrayList<>(Arrays.asList(SetName.GENETIC_APEX, SetName.MYTHICAL_ISLAND)), TOTAL_RUNS,
+                true, false, new RandomStreams(42), 1, false, VarianceReduction.STRATIFIED, null, Strategies.RANDOM);
+
+        final Histogram[] EXPECTED = new Histogram[MILESTONES.length];
+        for(int i = 0; i < EXPECTED.length; i++){
+            EXPECTED[i] = new Histogram();
+        }
+        try(RunFileWriter writer = new RunFileWriter(FILE, SCENARIO)){
+            //One set of columns is reused for every window, as SimulationEngine.runToFile does
+            final RunColumns COLUMNS = new RunColumns(WINDOW_RUNS, false);
+            for(int firstRun = 0; firstRun < TOTAL_RUNS; firstRun += WINDOW_RUNS){
+                final int RUNS = Math.min(WINDOW_RUNS, TOTAL_RUNS - firstRun);
+                for(int i = 0; i < RUNS; i++){
+                    final SimulationPacket PACKET = packetOf(firstRun + i);
+                    COLUMNS.set(i, PACKET);
+                    for(Milestone milestone : MILESTONES){
+                        EXPECTED[milestone.ordinal()].record(milestone.of(PACKET));
+                    }
+                }
+                writer.write(COLUMNS, RUNS);
+            }
+            assertEquals(TOTAL_RUNS, writer.runs());
+        }
+
+        try(RunFileReader reader = new RunFileReader(FILE)){
+            assertEquals(TOTAL_RUNS, reader.RUNS);
+            assertEquals(SCENARIO.setNames(), reader.setNames());
+            assertEquals(SCENARIO.USE_PACK_POINTS, reader.USE_PACK_POINTS);
+            assertEquals(SCENARIO.USE_WONDER_PICKS, reader.USE_WONDER_PICKS);
+            assertEquals(42, reader.MASTER_SEED);
+            assertEquals(VarianceReduction.STRATIFIED, reader.VARIANCE_REDUCTION);
+            assertEquals(Strategies.RANDOM, reader.STRATEGY);
+
+            for(int run : new int[]{0, 1, WINDOW_RUNS - 1, WINDOW_RUNS, RunFileWriter.BLOCK_RUNS - 1, RunFileWriter.BLOCK_RUNS,
+                    2 * RunFileWriter.BLOCK_RUNS, TOTAL_RUNS - 1}){
+                final SimulationPacket PACKET = packetOf(run);
+                for(Milestone milestone : MILESTONES){
+                    assertEquals(milestone.of(PACKET), reader.get(run, milestone), "run " + run + ", " + milestone);
+                }
+            }
+
+            for(Milestone milestone : MILESTONES){
+                final Histogram ACTUAL = reader.of(milestone);
+                assertEquals(TOTAL_RUNS, ACTUAL.count());
+                for(double percent : PERCENTILES){
+                    assertEquals(EXPECTED[milestone.ordinal()].percentile(percent), ACTUAL.percentile(percent), milestone + " p" + percent);
+                }
+            }
+        }
+    }
+
+    @Test
+    void simulatedRunsRoundTrip() throws IOException {
+        final Path FILE = directory.resolve("simulated.bin");
+        final Scenario SCENARIO = new Scenario(new ArrayList<>(Arrays.asList(SetName.MYTHICAL_ISLAND)), 150, false, false,
+                new RandomStreams(7), 1);
+
+        final SimulationStatistics STATISTICS = SCENARIO.runToFile(FILE);
+        try(RunFileReader reader = new RunFileReader(FILE)){
+            assertEquals(150, reader.RUNS);
+            for(Milestone milestone : MILESTONES){
+                for(double percent : PERCENTILES){
+                    assertEquals(STATISTICS.of(milestone).percentile(percent), reader.of(milestone).percentile(percent), milestone + " p" + percent);
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method that returns the results of a synthetic run, distinct
+     * for every run and milestone.
+     * @param run the index of the run.
+     * @return the results of the run.
+     */
+    private static SimulationPacket packetOf(int run){
+        final int[] ATTEMPTS = new int[MILESTONES.length];
+        for(int i = 0; i < ATTEMPTS.length; i++){
+            ATTEMPTS[i] = 1 + (int) (((long) run * 7919 + i * 104_729L) % 5000);
+        }
+
+        return new SimulationPacket(ATTEMPTS[0], ATTEMPTS[1], ATTEMPTS[2], ATTEMPTS[3], ATTEMPTS[4], ATTEMPTS[5], ATTEMPTS[6],
+                ATTEMPTS[7], ATTEMPTS[8], ATTEMPTS[9], ATTEMPTS[10], ATTEMPTS[11], ATTEMPTS[12], ATTEMPTS[13]);
+    }
+}